@@ -0,0 +1,43 @@
+package com.daybreak.cleandar.benchmark;
+
+import com.daybreak.cleandar.CleandarServerApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.context.support.GenericWebApplicationContext;
+
+import java.util.UUID;
+
+/**
+ * 벤치마크마다 웹 서버 없이 애플리케이션 컨텍스트를 띄운다.
+ * fork 마다 별도의 in-memory H2 를 쓰므로 측정끼리 데이터가 섞이지 않는다.
+ */
+public final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext start() {
+        return builder().web(WebApplicationType.NONE).run();
+    }
+
+    /**
+     * MockMvc 로 컨트롤러부터 렌더링까지 잴 수 있도록 mock 서블릿 컨텍스트 위에 웹 애플리케이션 컨텍스트를 띄운다. 서버는 뜨지 않는다.
+     */
+    public static ConfigurableApplicationContext startWeb() {
+        return builder().web(WebApplicationType.SERVLET)
+                .contextFactory(type -> new GenericWebApplicationContext(new MockServletContext()))
+                .run();
+    }
+
+    private static SpringApplicationBuilder builder() {
+        return new SpringApplicationBuilder(CleandarServerApplication.class)
+                .logStartupInfo(false)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "logging.level.root=warn");
+    }
+}
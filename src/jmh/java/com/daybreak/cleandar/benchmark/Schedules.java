@@ -0,0 +1,50 @@
+package com.daybreak.cleandar.benchmark;
+
+import com.daybreak.cleandar.builder.ScheduleBuilder;
+import com.daybreak.cleandar.builder.UserBuilder;
+import com.daybreak.cleandar.domain.schedule.Schedule;
+import com.daybreak.cleandar.domain.user.User;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 저장하지 않은 일정 목록을 만든다. 응답 변환에 필요한 생성/수정 시각은 직접 채운다.
+ */
+public final class Schedules {
+
+    public static final LocalDateTime WEEK_START = LocalDateTime.of(2022, 3, 7, 0, 0);
+    public static final LocalDateTime WEEK_END = WEEK_START.plusDays(7);
+
+    private Schedules() {
+    }
+
+    public static List<Schedule> randomWeek(int size, int members, long seed) {
+        Random random = new Random(seed);
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < members; i++) {
+            User user = new UserBuilder().withEmail("member" + i + "@bench.com").withName("member" + i).build();
+            ReflectionTestUtils.setField(user, "id", (long) i + 1);
+            users.add(user);
+        }
+
+        List<Schedule> schedules = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            // 일주일 안에서 30분 단위로 시작하고 30분 ~ 3시간 길이를 가진다.
+            LocalDateTime start = WEEK_START.plusMinutes(30L * random.nextInt(7 * 48 - 6));
+            LocalDateTime end = start.plusMinutes(30L * (1 + random.nextInt(6)));
+            Schedule schedule = new ScheduleBuilder()
+                    .withStartAndEnd(start, end)
+                    .withUser(users.get(random.nextInt(members)))
+                    .build();
+            ReflectionTestUtils.setField(schedule, "id", (long) i + 1);
+            ReflectionTestUtils.setField(schedule, "createdAt", start.minusDays(1));
+            ReflectionTestUtils.setField(schedule, "updatedAt", start.minusDays(1));
+            schedules.add(schedule);
+        }
+        return schedules;
+    }
+}
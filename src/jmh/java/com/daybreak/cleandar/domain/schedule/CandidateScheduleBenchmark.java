@@ -0,0 +1,37 @@
+package com.daybreak.cleandar.domain.schedule;
+
+import com.daybreak.cleandar.benchmark.Schedules;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 팀원 일정에서 빈 시간 후보를 계산하는 부분만 잰다. 저장소 조회는 포함하지 않는다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CandidateScheduleBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int schedules;
+
+    @Param({"10", "100"})
+    private int members;
+
+    private List<Schedule> teamSchedules;
+
+    @Setup
+    public void setUp() {
+        teamSchedules = Schedules.randomWeek(schedules, members, 42L);
+    }
+
+    @Benchmark
+    public List<ScheduleDto.Response> findCandidates() {
+        return ScheduleService.findCandidates(Schedules.WEEK_START, Schedules.WEEK_END, teamSchedules);
+    }
+}
@@ -0,0 +1,88 @@
+package com.daybreak.cleandar.domain.schedule;
+
+import com.daybreak.cleandar.benchmark.BenchmarkContext;
+import com.daybreak.cleandar.builder.ScheduleBuilder;
+import com.daybreak.cleandar.builder.UserBuilder;
+import com.daybreak.cleandar.domain.user.User;
+import com.daybreak.cleandar.domain.user.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 같은 일정 목록 조회를 readOnly 트랜잭션과 일반 트랜잭션에서 돌려 비교한다.
+ * 일반 트랜잭션은 불러온 엔티티마다 스냅샷을 만들고 커밋 때 flush 하며 변경을 검사한다.
+ * 할당량은 -prof gc 의 gc.alloc.rate.norm 으로 본다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadOnlyTransactionBenchmark {
+
+    private static final String EMAIL = "reader@bench.com";
+
+    @Param({"100", "1000"})
+    private int schedules;
+
+    private ConfigurableApplicationContext context;
+    private ScheduleService scheduleService;
+    private UserRepository userRepository;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        scheduleService = context.getBean(ScheduleService.class);
+        userRepository = context.getBean(UserRepository.class);
+        ScheduleRepository scheduleRepository = context.getBean(ScheduleRepository.class);
+
+        readWrite = context.getBean(TransactionTemplate.class);
+        readOnly = new TransactionTemplate(readWrite.getTransactionManager());
+        readOnly.setReadOnly(true);
+
+        User user = userRepository.save(new UserBuilder().withEmail(EMAIL).build());
+        LocalDateTime start = LocalDateTime.of(2022, 3, 7, 9, 0);
+        List<Schedule> list = new ArrayList<>();
+        for (int i = 0; i < schedules; i++) {
+            list.add(new ScheduleBuilder().withStartAndEnd(start.plusHours(i), start.plusHours(i + 1)).withUser(user).build());
+        }
+        scheduleRepository.saveAll(list);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ScheduleDto.Response> readOnlyTransaction() {
+        return readOnly.execute(status -> load());
+    }
+
+    @Benchmark
+    public List<ScheduleDto.Response> readWriteTransaction() {
+        return readWrite.execute(status -> load());
+    }
+
+    @Benchmark
+    public List<ScheduleDto.Response> getSchedules() {
+        return scheduleService.getSchedules(EMAIL);
+    }
+
+    private List<ScheduleDto.Response> load() {
+        List<ScheduleDto.Response> responses = new ArrayList<>();
+        for (Schedule schedule : userRepository.findUserByEmail(EMAIL).getSchedules()) {
+            responses.add(new ScheduleDto.Response(schedule));
+        }
+        return responses;
+    }
+}
@@ -0,0 +1,88 @@
+package com.daybreak.cleandar.domain.schedule;
+
+import com.daybreak.cleandar.benchmark.BenchmarkContext;
+import com.daybreak.cleandar.builder.ScheduleBuilder;
+import com.daybreak.cleandar.builder.UserBuilder;
+import com.daybreak.cleandar.domain.user.User;
+import com.daybreak.cleandar.domain.user.UserRepository;
+import com.daybreak.cleandar.security.UserPrincipal;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * 같은 일정 목록을 Thymeleaf 페이지(/schedules)와 JSON API(/api/v1/schedules)로 받아 비교한다.
+ * 한 스레드에서 돌리므로 요청 하나의 평균 시간이 곧 요청 하나의 CPU 시간이다. 할당량은 -prof gc 의 gc.alloc.rate.norm 으로 본다.
+ * 응답 크기(원본, gzip)는 setUp 에서 한 번 출력한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScheduleApiBenchmark {
+
+    private static final String EMAIL = "api@bench.com";
+
+    @Param({"10", "100", "1000"})
+    private int schedules;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private UserPrincipal principal;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = BenchmarkContext.startWeb();
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).apply(springSecurity()).build();
+
+        User user = context.getBean(UserRepository.class).save(new UserBuilder().withEmail(EMAIL).build());
+        LocalDateTime start = LocalDateTime.of(2022, 3, 7, 9, 0);
+        List<Schedule> list = new ArrayList<>();
+        for (int i = 0; i < schedules; i++) {
+            list.add(new ScheduleBuilder().withStartAndEnd(start.plusHours(i), start.plusHours(i + 1)).withUser(user).build());
+        }
+        context.getBean(ScheduleRepository.class).saveAll(list);
+        principal = new UserPrincipal(user);
+
+        System.out.printf("%nschedules=%d page bytes=%s api bytes=%s%n", schedules, sizes(page()), sizes(api()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] page() throws Exception {
+        return mockMvc.perform(get("/schedules").with(user(principal))).andReturn().getResponse().getContentAsByteArray();
+    }
+
+    @Benchmark
+    public byte[] api() throws Exception {
+        return mockMvc.perform(get("/api/v1/schedules").with(user(principal))).andReturn().getResponse().getContentAsByteArray();
+    }
+
+    private static String sizes(byte[] body) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body);
+        }
+        return body.length + " (gzip " + compressed.size() + ")";
+    }
+}
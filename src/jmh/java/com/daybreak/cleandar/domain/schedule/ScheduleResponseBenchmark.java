@@ -0,0 +1,39 @@
+package com.daybreak.cleandar.domain.schedule;
+
+import com.daybreak.cleandar.benchmark.Schedules;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 엔티티를 ScheduleDto.Response 로 바꾸는 비용. 날짜 포맷과 UserDto 생성이 포함된다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScheduleResponseBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    private int schedules;
+
+    private List<Schedule> userSchedules;
+
+    @Setup
+    public void setUp() {
+        userSchedules = Schedules.randomWeek(schedules, 1, 7L);
+    }
+
+    @Benchmark
+    public List<ScheduleDto.Response> toResponses() {
+        List<ScheduleDto.Response> responses = new ArrayList<>(userSchedules.size());
+        for (Schedule schedule : userSchedules) {
+            responses.add(new ScheduleDto.Response(schedule));
+        }
+        return responses;
+    }
+}
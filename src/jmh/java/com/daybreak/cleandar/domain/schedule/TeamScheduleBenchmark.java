@@ -0,0 +1,94 @@
+package com.daybreak.cleandar.domain.schedule;
+
+import com.daybreak.cleandar.benchmark.BenchmarkContext;
+import com.daybreak.cleandar.builder.TeamBuilder;
+import com.daybreak.cleandar.builder.UserBuilder;
+import com.daybreak.cleandar.domain.team.Team;
+import com.daybreak.cleandar.domain.team.TeamRepository;
+import com.daybreak.cleandar.domain.teamuser.TeamUserRepository;
+import com.daybreak.cleandar.domain.user.User;
+import com.daybreak.cleandar.domain.user.UserRepository;
+import com.daybreak.cleandar.outbox.OutboxWorker;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 팀장이 팀 일정을 만들 때 요청이 기다리는 비용(outbox 기록)과 worker 가 팀원 수만큼 일정을 저장하는 비용.
+ * 매 호출을 롤백해서 일정 테이블이 커지지 않게 한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TeamScheduleBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int members;
+
+    private ConfigurableApplicationContext context;
+    private ScheduleService scheduleService;
+    private OutboxWorker outboxWorker;
+    private TransactionTemplate transactionTemplate;
+    private User leader;
+    private Long teamId;
+    private ScheduleDto.Request request;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        scheduleService = context.getBean(ScheduleService.class);
+        outboxWorker = context.getBean(OutboxWorker.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        TeamRepository teamRepository = context.getBean(TeamRepository.class);
+        TeamUserRepository teamUserRepository = context.getBean(TeamUserRepository.class);
+
+        leader = userRepository.save(new UserBuilder().withEmail("leader@bench.com").build());
+        Team team = teamRepository.save(new TeamBuilder().withName("bench-team").build(leader));
+        teamId = team.getId();
+
+        List<User> users = new ArrayList<>();
+        for (int i = 1; i < members; i++) {
+            users.add(new UserBuilder().withEmail("member" + i + "@bench.com").withName("member" + i).build());
+        }
+        userRepository.insertAll(users);
+        teamUserRepository.insertAll(teamId, userRepository.findAll().stream().map(User::getId).collect(Collectors.toList()));
+
+        request = ScheduleDto.Request.builder()
+                .start("2022-03-07T10:00")
+                .end("2022-03-07T11:00")
+                .title("weekly")
+                .description("team schedule")
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ScheduleDto.Response createTeamSchedule() {
+        return transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            return scheduleService.createTeamSchedule(leader, request, teamId);
+        });
+    }
+
+    @Benchmark
+    public int createAndFanOut() {
+        return transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            scheduleService.createTeamSchedule(leader, request, teamId);
+            return outboxWorker.drain();
+        });
+    }
+}
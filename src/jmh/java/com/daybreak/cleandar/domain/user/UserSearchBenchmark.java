@@ -0,0 +1,66 @@
+package com.daybreak.cleandar.domain.user;
+
+import com.daybreak.cleandar.benchmark.BenchmarkContext;
+import com.daybreak.cleandar.builder.UserBuilder;
+import com.daybreak.cleandar.security.UserPrincipalDetailsService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * /users/search 가 쓰는 이름/이메일 앞부분 검색. 접두어는 짧은 것부터 긴 것까지 섞는다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserSearchBenchmark {
+
+    private static final String[] SYLLABLES = {"kim", "lee", "park", "choi", "jung", "kang", "cho", "yoon", "jang", "lim"};
+    private static final String[] PREFIXES = {"k", "ki", "kim", "lee1", "park12", "cho", "yoon3", "none"};
+
+    @Param({"1000", "10000", "100000"})
+    private int users;
+
+    private ConfigurableApplicationContext context;
+    private UserPrincipalDetailsService userService;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        userService = context.getBean(UserPrincipalDetailsService.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+
+        Random random = new Random(42L);
+        List<User> chunk = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            String name = SYLLABLES[random.nextInt(SYLLABLES.length)] + i;
+            chunk.add(new UserBuilder().withEmail(name + "@bench.com").withName(name).build());
+            if (chunk.size() == 1000) {
+                userRepository.insertAll(chunk);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            userRepository.insertAll(chunk);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<UserDto.Response> searchByWord() {
+        next = (next + 1) % PREFIXES.length;
+        return userService.searchByWord(PREFIXES[next]);
+    }
+}
@@ -0,0 +1,49 @@
+package com.daybreak.cleandar.metrics;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 저장소 호출마다 더해지는 LatencyRecorder.record 비용. 여러 스레드가 같은 메서드를 기록하는 경우를 본다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LatencyRecorderBenchmark {
+
+    private LatencyRecorder latencyRecorder;
+    private LatencyRecorder.Probe probe;
+
+    @Setup
+    public void setUp() {
+        latencyRecorder = new LatencyRecorder(Duration.ofMinutes(1), 6, 20);
+        probe = latencyRecorder.probe(LatencyRecorder.Kind.REPOSITORY, "UserRepository.findUserByEmail");
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean record() {
+        return recordOnce();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean recordContended() {
+        return recordOnce();
+    }
+
+    private boolean recordOnce() {
+        long nanos = ThreadLocalRandom.current().nextLong(50_000, 5_000_000);
+        if (latencyRecorder.record(probe, nanos)) {
+            latencyRecorder.slow(probe, nanos, "\"user@example.com\"");
+            return true;
+        }
+        return false;
+    }
+}
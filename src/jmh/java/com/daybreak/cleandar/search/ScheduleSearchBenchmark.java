@@ -0,0 +1,72 @@
+package com.daybreak.cleandar.search;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 일정이 많은 사용자 한 명의 색인에서 검색하는 시간. 색인을 만드는 시간은 들어가지 않는다.
+ * 흔한 검색어(회의)는 일정의 1/4 쯤, 드문 검색어는 몇백 개와 맞는다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScheduleSearchBenchmark {
+
+    private static final String[] WORDS = {"주간", "회의", "코드", "리뷰", "점심", "약속", "운동", "병원", "출장", "발표",
+            "면접", "교육", "세미나", "워크숍", "저녁", "스터디", "standup", "planning", "retro", "sync"};
+    private static final LocalDateTime BASE = LocalDateTime.of(2022, 1, 1, 9, 0);
+
+    @Param({"10000", "100000"})
+    private int schedules;
+
+    private UserScheduleIndex index;
+    private List<ScheduleTokenizer.Term> common;
+    private List<ScheduleTokenizer.Term> two;
+    private List<ScheduleTokenizer.Term> prefix;
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42L);
+        index = new UserScheduleIndex();
+        for (int i = 0; i < schedules; i++) {
+            LocalDateTime start = BASE.plusHours(i);
+            String title = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+            String description = WORDS[random.nextInt(WORDS.length)] + "실 " + random.nextInt(1000) + "번";
+            index.put(new UserScheduleIndex.Document(i, start, start.plusHours(1), title, description));
+        }
+        common = ScheduleTokenizer.query("회의");
+        two = ScheduleTokenizer.query("코드 리뷰");
+        prefix = ScheduleTokenizer.query("plan");
+        from = BASE.plusHours(schedules / 2);
+        to = from.plusDays(30);
+    }
+
+    @Benchmark
+    public Object commonByRelevance() {
+        return index.search(common, null, null, false, 0, 20);
+    }
+
+    @Benchmark
+    public Object commonByDate() {
+        return index.search(common, null, null, true, 0, 20);
+    }
+
+    @Benchmark
+    public Object twoTermsInMonth() {
+        return index.search(two, from, to, false, 0, 20);
+    }
+
+    @Benchmark
+    public Object prefix() {
+        return index.search(prefix, null, null, false, 0, 20);
+    }
+}
@@ -0,0 +1,143 @@
+package com.daybreak.cleandar.async;
+
+import com.daybreak.cleandar.datasource.ReadWriteRoutingDataSource;
+import com.daybreak.cleandar.metrics.RequestTiming;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * 후보 일정 계산처럼 오래 걸리는 요청을 Tomcat 스레드 밖에서 처리한다.
+ * 스레드와 큐 크기가 정해져 있어서 넘치면 바로 503 을 돌려주고, 한 사용자가 동시에 돌릴 수 있는 작업 수도 제한한다(429).
+ * 실행 중인 스레드, 큐 길이는 executor.* 메트릭(name=cleandar.compute)으로, 거절과 타임아웃은 cleandar.compute.rejected 로 본다.
+ */
+@Slf4j
+@Component
+public class ComputeExecutor implements DisposableBean {
+
+    static final String NAME = "cleandar.compute";
+
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    private final Map<String, Integer> running = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final int perUserLimit;
+    private final long timeoutMillis;
+
+    public ComputeExecutor(MeterRegistry meterRegistry,
+                           @Value("${cleandar.compute.pool-size:8}") int poolSize,
+                           @Value("${cleandar.compute.queue-capacity:64}") int queueCapacity,
+                           @Value("${cleandar.compute.per-user-limit:2}") int perUserLimit,
+                           @Value("${cleandar.compute.timeout:PT10S}") Duration timeout) {
+        this.meterRegistry = meterRegistry;
+        this.perUserLimit = perUserLimit;
+        this.timeoutMillis = timeout.toMillis();
+
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("compute-");
+        executor.initialize();
+        ExecutorServiceMetrics.monitor(meterRegistry, executor.getThreadPoolExecutor(), NAME, Collections.emptyList());
+    }
+
+    /**
+     * task 를 compute 스레드에서 돌리고 결과를 DeferredResult 로 돌려준다.
+     * 요청 스레드의 SecurityContext, 세션, RequestTiming 을 그대로 넘겨서 replica 라우팅과 Server-Timing 이 요청 단위로 유지된다.
+     */
+    public <T> DeferredResult<T> submit(String user, Supplier<T> task) {
+        DeferredResult<T> result = new DeferredResult<>(timeoutMillis);
+
+        if (!acquire(user)) {
+            reject(result, "user", HttpStatus.TOO_MANY_REQUESTS);
+            return result;
+        }
+
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable releaseOnce = () -> {
+            if (released.compareAndSet(false, true)) {
+                release(user);
+            }
+        };
+
+        // 결과를 넘기기 전에 compute 스레드의 측정값을 요청에 합친다.
+        Supplier<T> timed = RequestTiming.propagate(task);
+        Runnable work = () -> {
+            try {
+                result.setResult(timed.get());
+            } catch (Exception exception) {
+                result.setErrorResult(exception);
+            } finally {
+                releaseOnce.run();
+            }
+        };
+
+        AtomicReference<Future<?>> future = new AtomicReference<>();
+        result.onTimeout(() -> {
+            reject(result, "timeout", HttpStatus.SERVICE_UNAVAILABLE);
+            Future<?> submitted = future.get();
+            if (submitted != null) {
+                submitted.cancel(true);
+            }
+            releaseOnce.run();
+        });
+
+        try {
+            future.set(executor.submit(new DelegatingSecurityContextRunnable(ReadWriteRoutingDataSource.propagate(work))));
+        } catch (RejectedExecutionException exception) {
+            releaseOnce.run();
+            reject(result, "queue", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        return result;
+    }
+
+    int running(String user) {
+        return running.getOrDefault(user, 0);
+    }
+
+    private boolean acquire(String user) {
+        AtomicBoolean acquired = new AtomicBoolean();
+        running.compute(user, (key, count) -> {
+            int current = count == null ? 0 : count;
+            if (current >= perUserLimit) {
+                return count;
+            }
+            acquired.set(true);
+            return current + 1;
+        });
+        return acquired.get();
+    }
+
+    private void release(String user) {
+        running.computeIfPresent(user, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private void reject(DeferredResult<?> result, String reason, HttpStatus status) {
+        meterRegistry.counter(NAME + ".rejected", "reason", reason).increment();
+        log.warn("compute rejected reason={} active={} queued={}", reason,
+                executor.getActiveCount(), executor.getThreadPoolExecutor().getQueue().size());
+        result.setErrorResult(new ResponseStatusException(status, "compute " + reason));
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,22 @@
+package com.daybreak.cleandar.audit;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class AuditEvent {
+
+    public enum Entity {SCHEDULE, TEAM}
+
+    public enum Action {CREATE, UPDATE, DELETE, INVITE}
+
+    // epoch millis
+    private long time;
+    private Long actorId;
+    private Entity entity;
+    private Long entityId;
+    private Action action;
+}
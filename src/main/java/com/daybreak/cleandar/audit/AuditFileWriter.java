@@ -0,0 +1,85 @@
+package com.daybreak.cleandar.audit;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+/**
+ * 감사 로그 파일 하나에 이어 쓴다.
+ * <pre>
+ * "CLAU" 형식버전
+ * (시각 행위자 종류 대상)*
+ * </pre>
+ * 시각은 앞 이벤트와의 차이를 zigzag varint 로, 행위자는 null 을 0 으로 두고 1 을 더한 varint 로 쓴다.
+ * 종류는 상위 4비트가 대상 종류, 하위 4비트가 동작인 한 바이트이고 대상 id 는 varint 다. 이벤트 하나가 보통 10 바이트 안쪽이다.
+ * 파일은 매번 새로 만들어 쓰므로 비정상 종료로 잘린 이벤트는 파일 끝에만 생기고, 읽을 때 버린다.
+ */
+class AuditFileWriter implements Closeable {
+
+    static final byte[] MAGIC = {'C', 'L', 'A', 'U'};
+    static final int VERSION = 1;
+
+    private final FileOutputStream file;
+    private final FileChannel channel;
+    private final OutputStream out;
+
+    private long previousTime;
+    private long size;
+
+    AuditFileWriter(Path path) throws IOException {
+        this.file = new FileOutputStream(path.toFile());
+        this.channel = file.getChannel();
+        this.out = new BufferedOutputStream(file, 64 * 1024);
+        out.write(MAGIC);
+        out.write(VERSION);
+        size = MAGIC.length + 1;
+    }
+
+    void write(AuditEvent event) throws IOException {
+        writeVarint(zigzag(event.getTime() - previousTime));
+        previousTime = event.getTime();
+        writeVarint(event.getActorId() == null ? 0 : event.getActorId() + 1);
+        out.write(event.getEntity().ordinal() << 4 | event.getAction().ordinal());
+        size++;
+        writeVarint(event.getEntityId());
+    }
+
+    /**
+     * 버퍼를 비우고 디스크까지 내린다.
+     */
+    void sync() throws IOException {
+        out.flush();
+        channel.force(false);
+    }
+
+    long size() {
+        return size;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            sync();
+        } finally {
+            file.close();
+        }
+    }
+
+    private void writeVarint(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+            size++;
+        }
+        out.write((int) value);
+        size++;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+}
@@ -0,0 +1,237 @@
+package com.daybreak.cleandar.audit;
+
+import com.daybreak.cleandar.transaction.TransactionHooks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 일정, 팀 변경을 감사 로그 파일에 남긴다.
+ * 요청 스레드는 커밋 후에 링 버퍼에 넣기만 하고, audit-writer 스레드 하나가 꺼내 파일에 쓴다.
+ * fsync 는 sync-interval 이 지나거나 sync-events 개가 쌓일 때 한 번에 한다(group commit).
+ * 파일은 시작할 때와 max-file-size 를 넘을 때 새로 연다. 형식은 AuditFileWriter, 조회는 AuditLogReader.
+ */
+@Slf4j
+@Component
+public class AuditLog implements SmartLifecycle {
+
+    static final String FILE_GLOB = "audit-*.log";
+    private static final String FILE_FORMAT = "audit-%013d.log";
+    private static final long IDLE_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Counter written;
+    private final Counter full;
+    private final Counter lost;
+    private final Timer sync;
+
+    @Value("${cleandar.audit.dir:audit}")
+    private String directory;
+
+    @Value("${cleandar.audit.buffer-size:65536}")
+    private int bufferSize;
+
+    @Value("${cleandar.audit.sync-interval:PT0.05S}")
+    private Duration syncInterval;
+
+    @Value("${cleandar.audit.sync-events:512}")
+    private int syncEvents;
+
+    @Value("${cleandar.audit.max-file-size:64MB}")
+    private DataSize maxFileSize;
+
+    private AuditRingBuffer buffer;
+    private Thread writer;
+    private AuditFileWriter file;
+    private volatile boolean running;
+
+    // 디스크까지 내려간 이벤트 순번
+    private volatile long durable;
+
+    public AuditLog(MeterRegistry meterRegistry) {
+        this.written = meterRegistry.counter("cleandar.audit.written");
+        this.full = meterRegistry.counter("cleandar.audit.buffer.full");
+        this.lost = meterRegistry.counter("cleandar.audit.lost");
+        this.sync = Timer.builder("cleandar.audit.sync")
+                .description("time to flush and fsync one group of audit events")
+                .register(meterRegistry);
+        Gauge.builder("cleandar.audit.backlog", this, audit -> audit.backlog())
+                .description("audit events waiting to be written")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public synchronized void start() {
+        try {
+            Files.createDirectories(Paths.get(directory));
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        buffer = new AuditRingBuffer(bufferSize);
+        running = true;
+        writer = new Thread(this::run, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // 버퍼에 남은 이벤트를 다 쓸 때까지 기다린다.
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (writer != null) {
+            LockSupport.unpark(writer);
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // 웹 서버가 요청을 다 끝낸 뒤에 멈춘다.
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    /**
+     * 트랜잭션 안이면 커밋된 뒤에 남긴다. 롤백된 변경은 남지 않는다.
+     */
+    public void record(Long actorId, AuditEvent.Entity entity, Long entityId, AuditEvent.Action action) {
+        TransactionHooks.afterCommit(() -> enqueue(new AuditEvent(System.currentTimeMillis(), actorId, entity, entityId, action)));
+    }
+
+    /**
+     * 지금까지 넣은 이벤트가 디스크에 내려갈 때까지 기다린다.
+     */
+    public boolean awaitDurable(Duration timeout) {
+        long target = buffer.claimed();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (durable < target) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(IDLE_WAIT_NANOS);
+        }
+        return true;
+    }
+
+    public Path directory() {
+        return Paths.get(directory);
+    }
+
+    static long openedAt(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring("audit-".length(), name.length() - ".log".length()));
+    }
+
+    // 가득 차면 writer 가 비울 때까지 기다린다. 감사 로그는 버리지 않는다.
+    private void enqueue(AuditEvent event) {
+        while (!buffer.offer(event)) {
+            if (!running) {
+                lost.increment();
+                log.warn("audit event lost after shutdown {}", event);
+                return;
+            }
+            full.increment();
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(IDLE_WAIT_NANOS);
+        }
+    }
+
+    private void run() {
+        long syncIntervalNanos = syncInterval.toNanos();
+        long lastSync = System.nanoTime();
+        int unsynced = 0;
+        while (running || buffer.consumed() < buffer.claimed()) {
+            try {
+                if (file == null || file.size() >= maxFileSize.toBytes()) {
+                    rotate();
+                }
+                int drained = buffer.drain(this::write, syncEvents);
+                unsynced += drained;
+
+                long now = System.nanoTime();
+                if (unsynced > 0 && (unsynced >= syncEvents || now - lastSync >= syncIntervalNanos || !running)) {
+                    long started = System.nanoTime();
+                    file.sync();
+                    sync.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                    durable = buffer.consumed();
+                    unsynced = 0;
+                    lastSync = now;
+                } else if (drained == 0) {
+                    LockSupport.parkNanos(unsynced > 0 ? Math.min(IDLE_WAIT_NANOS, syncIntervalNanos - (now - lastSync)) : IDLE_WAIT_NANOS);
+                }
+            } catch (IOException | UncheckedIOException exception) {
+                // 쓰다 만 이벤트는 잃는다. 다음 이벤트는 새 파일에 쓴다.
+                lost.increment(unsynced);
+                log.error("audit log write failed, unsynced={}", unsynced, exception);
+                unsynced = 0;
+                durable = buffer.consumed();
+                closeQuietly();
+                LockSupport.parkNanos(TimeUnit.SECONDS.toNanos(1));
+            }
+        }
+        closeQuietly();
+    }
+
+    private void write(AuditEvent event) {
+        try {
+            file.write(event);
+            written.increment();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private void rotate() throws IOException {
+        if (file != null) {
+            file.close();
+            file = null;
+        }
+        long openedAt = System.currentTimeMillis();
+        Path path = directory().resolve(String.format(FILE_FORMAT, openedAt));
+        while (Files.exists(path)) {
+            path = directory().resolve(String.format(FILE_FORMAT, ++openedAt));
+        }
+        file = new AuditFileWriter(path);
+        log.debug("audit log opened {}", path);
+    }
+
+    private void closeQuietly() {
+        if (file == null) {
+            return;
+        }
+        try {
+            file.close();
+        } catch (IOException exception) {
+            log.warn("audit log close failed", exception);
+        }
+        file = null;
+    }
+
+    private long backlog() {
+        AuditRingBuffer current = buffer;
+        return current == null ? 0 : current.claimed() - current.consumed();
+    }
+}
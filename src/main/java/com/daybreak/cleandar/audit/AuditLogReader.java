@@ -0,0 +1,130 @@
+package com.daybreak.cleandar.audit;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * AuditLog 가 남긴 파일을 처음부터 읽어 조건에 맞는 이벤트를 찾는다.
+ * 파일 이름의 시각은 그 파일을 연 시각이라, 다음 파일이 from 보다 먼저 열렸으면 그 파일은 읽지 않는다.
+ */
+public class AuditLogReader {
+
+    private AuditLogReader() {
+    }
+
+    @Getter
+    @Builder
+    public static class Query {
+        private Long actorId;
+        private AuditEvent.Entity entity;
+        private Long entityId;
+        // epoch millis, from 이상 to 미만
+        private Long from;
+        private Long to;
+
+        boolean matches(AuditEvent event) {
+            return (actorId == null || actorId.equals(event.getActorId()))
+                    && (entity == null || entity == event.getEntity())
+                    && (entityId == null || entityId.equals(event.getEntityId()))
+                    && (from == null || event.getTime() >= from)
+                    && (to == null || event.getTime() < to);
+        }
+    }
+
+    public static List<AuditEvent> query(Path directory, Query query) throws IOException {
+        List<AuditEvent> events = new ArrayList<>();
+        read(directory, query, events::add);
+        return events;
+    }
+
+    public static void read(Path directory, Query query, Consumer<AuditEvent> consumer) throws IOException {
+        List<Path> files = files(directory);
+        for (int i = 0; i < files.size(); i++) {
+            if (query.getFrom() != null && i + 1 < files.size() && AuditLog.openedAt(files.get(i + 1)) < query.getFrom()) {
+                continue;
+            }
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(files.get(i)), 64 * 1024)) {
+                read(new DataInputStream(in), query, consumer);
+            }
+        }
+    }
+
+    static List<Path> files(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return Collections.emptyList();
+        }
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, AuditLog.FILE_GLOB)) {
+            stream.forEach(files::add);
+        }
+        Collections.sort(files);
+        return files;
+    }
+
+    private static void read(DataInputStream in, Query query, Consumer<AuditEvent> consumer) throws IOException {
+        byte[] magic = new byte[AuditFileWriter.MAGIC.length];
+        try {
+            in.readFully(magic);
+            if (!Arrays.equals(magic, AuditFileWriter.MAGIC)) {
+                throw new IllegalArgumentException("not a cleandar audit log");
+            }
+            int version = in.readUnsignedByte();
+            if (version != AuditFileWriter.VERSION) {
+                throw new IllegalArgumentException("unsupported audit log version " + version);
+            }
+
+            AuditEvent.Entity[] entities = AuditEvent.Entity.values();
+            AuditEvent.Action[] actions = AuditEvent.Action.values();
+            long time = 0;
+            while (true) {
+                int first = in.read();
+                if (first < 0) {
+                    return;
+                }
+                time += unzigzag(readVarint(in, first));
+                long actor = readVarint(in, in.readUnsignedByte());
+                int kind = in.readUnsignedByte();
+                long entityId = readVarint(in, in.readUnsignedByte());
+                if ((kind >>> 4) >= entities.length || (kind & 0x0F) >= actions.length) {
+                    throw new IllegalArgumentException("unknown audit event kind " + kind);
+                }
+                AuditEvent event = new AuditEvent(time, actor == 0 ? null : actor - 1, entities[kind >>> 4], entityId, actions[kind & 0x0F]);
+                if (query.matches(event)) {
+                    consumer.accept(event);
+                }
+            }
+        } catch (EOFException truncated) {
+            // 비정상 종료로 잘린 마지막 이벤트
+        }
+    }
+
+    private static long readVarint(DataInputStream in, int first) throws IOException {
+        long value = first & 0x7F;
+        int shift = 7;
+        int b = first;
+        while ((b & 0x80) != 0) {
+            b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        }
+        return value;
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,58 @@
+package com.daybreak.cleandar.audit;
+
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 감사 로그 파일에서 조건에 맞는 이벤트를 한 줄씩 출력한다. 시각은 서버의 시간대 기준 LocalDateTime 으로 준다.
+ *
+ * <pre>
+ * ./gradlew auditQuery --args='--dir=audit --actor=1'
+ * ./gradlew auditQuery --args='--dir=audit --entity=TEAM --id=3 --from=2022-03-01T00:00 --to=2022-03-02T00:00'
+ * </pre>
+ *
+ * 배포된 인스턴스에서는 애플리케이션 jar 로 바로 돌린다. 서버를 띄우지 않는다.
+ *
+ * <pre>
+ * java -cp cleandar-server-0.0.1-SNAPSHOT.jar -Dloader.main=com.daybreak.cleandar.audit.AuditQuery \
+ *     org.springframework.boot.loader.PropertiesLauncher --dir=audit --actor=1
+ * </pre>
+ */
+public class AuditQuery {
+
+    private AuditQuery() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String directory = "audit";
+        AuditLogReader.Query.QueryBuilder query = AuditLogReader.Query.builder();
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            String value = pair.length > 1 ? pair[1] : "";
+            switch (pair[0]) {
+                case "dir": directory = value; break;
+                case "actor": query.actorId(Long.parseLong(value)); break;
+                case "entity": query.entity(AuditEvent.Entity.valueOf(value.toUpperCase())); break;
+                case "id": query.entityId(Long.parseLong(value)); break;
+                case "from": query.from(millis(value)); break;
+                case "to": query.to(millis(value)); break;
+                default: throw new IllegalArgumentException("unknown option " + arg);
+            }
+        }
+
+        AtomicLong count = new AtomicLong();
+        AuditLogReader.read(Paths.get(directory), query.build(), event -> {
+            count.incrementAndGet();
+            System.out.printf("%s actor=%s %s %s id=%d%n", LocalDateTime.ofInstant(Instant.ofEpochMilli(event.getTime()), ZoneId.systemDefault()),
+                    event.getActorId(), event.getAction(), event.getEntity(), event.getEntityId());
+        });
+        System.out.printf("%d events%n", count.get());
+    }
+
+    private static long millis(String value) {
+        return LocalDateTime.parse(value).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
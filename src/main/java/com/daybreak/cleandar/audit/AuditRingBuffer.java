@@ -0,0 +1,73 @@
+package com.daybreak.cleandar.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * 여러 스레드가 넣고 한 스레드만 꺼내는 고정 크기 링 버퍼. 락 없이 CAS 로 자리를 잡는다.
+ * 생산자는 순번을 먼저 잡은 뒤 칸을 채우므로, 소비자는 순번 순서대로 칸이 채워질 때까지만 읽는다.
+ */
+class AuditRingBuffer {
+
+    private final AtomicReferenceArray<AuditEvent> slots;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private volatile long consumed;
+
+    AuditRingBuffer(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two: " + capacity);
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * 가득 차 있으면 false.
+     */
+    boolean offer(AuditEvent event) {
+        while (true) {
+            long sequence = claimed.get();
+            if (sequence - consumed >= slots.length()) {
+                return false;
+            }
+            if (claimed.compareAndSet(sequence, sequence + 1)) {
+                slots.set((int) sequence & mask, event);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 이어서 채워진 칸을 꺼내 consumer 에 넘긴다. 소비자 스레드에서만 부른다.
+     */
+    int drain(Consumer<AuditEvent> consumer, int max) {
+        long next = consumed;
+        int count = 0;
+        try {
+            while (count < max) {
+                int index = (int) next & mask;
+                AuditEvent event = slots.get(index);
+                if (event == null) {
+                    break;
+                }
+                slots.lazySet(index, null);
+                next++;
+                count++;
+                consumer.accept(event);
+            }
+        } finally {
+            consumed = next;
+        }
+        return count;
+    }
+
+    long claimed() {
+        return claimed.get();
+    }
+
+    long consumed() {
+        return consumed;
+    }
+}
@@ -0,0 +1,80 @@
+package com.daybreak.cleandar.cache;
+
+import com.daybreak.cleandar.domain.team.Team;
+import com.daybreak.cleandar.domain.teamuser.TeamUser;
+import com.daybreak.cleandar.domain.user.User;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Hibernate 2차 캐시와 쿼리 캐시가 쓰는 ehcache region 을 코드로 만든다.
+ * region 마다 heap 항목 수로 크기를 제한한다. 이 설정이 빠지는 @DataJpaTest 에서는 Hibernate 가 기본 region 을 만든다.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String USER_QUERIES = "query.users";
+    public static final String TEAM_USER_QUERIES = "query.teamUsers";
+
+    static final String TEAM_USERS = Team.class.getName() + ".teamUsers";
+    static final String USER_TEAM_USERS = User.class.getName() + ".teamUser";
+
+    private static final String QUERY_RESULTS = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+
+    @Value("${cleandar.cache.entity-max-entries:10000}")
+    private long entityMaxEntries;
+
+    @Value("${cleandar.cache.query-max-entries:5000}")
+    private long queryMaxEntries;
+
+    @Value("${cleandar.cache.time-to-live:PT30M}")
+    private Duration timeToLive;
+
+    // 컨텍스트마다 별도의 CacheManager 를 쓰도록 URI 를 매번 새로 만든다. (테스트에서 컨텍스트가 여러 개 뜬다)
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        ConfigurationBuilder configuration = ConfigurationBuilder.newConfigurationBuilder()
+                .withCache(User.class.getName(), region(entityMaxEntries, timeToLive))
+                .withCache(Team.class.getName(), region(entityMaxEntries, timeToLive))
+                .withCache(TeamUser.class.getName(), region(entityMaxEntries, timeToLive))
+                .withCache(TEAM_USERS, region(entityMaxEntries, timeToLive))
+                .withCache(USER_TEAM_USERS, region(entityMaxEntries, timeToLive))
+                .withCache(USER_QUERIES, region(queryMaxEntries, timeToLive))
+                .withCache(TEAM_USER_QUERIES, region(queryMaxEntries, timeToLive))
+                .withCache(QUERY_RESULTS, region(queryMaxEntries, timeToLive))
+                // 테이블별 마지막 변경 시각은 쿼리 캐시의 유효성 판단에 쓰이므로 밀려나거나 만료되면 안 된다.
+                .withCache(UPDATE_TIMESTAMPS, region(1000, null));
+
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        return provider.getCacheManager(URI.create("urn:cleandar:" + UUID.randomUUID()), configuration.build());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static CacheConfigurationBuilder<Object, Object> region(long maxEntries, Duration timeToLive) {
+        CacheConfigurationBuilder<Object, Object> builder = CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(maxEntries));
+        if (timeToLive != null) {
+            builder = builder.withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(timeToLive));
+        }
+        return builder;
+    }
+}
@@ -0,0 +1,98 @@
+package com.daybreak.cleandar.cache;
+
+import com.daybreak.cleandar.domain.team.Team;
+import com.daybreak.cleandar.domain.teamuser.TeamUser;
+import com.daybreak.cleandar.domain.user.User;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * JdbcTemplate 으로 직접 쓴 변경은 Hibernate 가 모르므로 2차 캐시에서 관련 항목을 직접 지운다.
+ * JPA 로 저장/삭제한 경우는 Hibernate 가 알아서 무효화하므로 부를 필요가 없다.
+ */
+@Component
+@RequiredArgsConstructor
+public class SecondLevelCacheEvictor {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    // 없는 email 로 조회한 빈 결과가 캐시되어 있을 수 있다.
+    public void usersInserted() {
+        evict(cache -> cache.evictQueryRegion(SecondLevelCacheConfig.USER_QUERIES));
+    }
+
+    public void membershipsInserted(Long teamId, Collection<Long> userIds) {
+        evict(cache -> {
+            cache.evictCollectionData(SecondLevelCacheConfig.TEAM_USERS, teamId);
+            userIds.forEach(userId -> cache.evictCollectionData(SecondLevelCacheConfig.USER_TEAM_USERS, userId));
+            cache.evictQueryRegion(SecondLevelCacheConfig.TEAM_USER_QUERIES);
+        });
+    }
+
+    // 어떤 사용자의 소속이 바뀌었는지 모를 때는 사용자 쪽 컬렉션을 전부 지운다.
+    public void membershipsChanged(Long teamId) {
+        evict(cache -> {
+            cache.evictEntityData(TeamUser.class);
+            cache.evictCollectionData(SecondLevelCacheConfig.TEAM_USERS, teamId);
+            cache.evictCollectionData(SecondLevelCacheConfig.USER_TEAM_USERS);
+            cache.evictQueryRegion(SecondLevelCacheConfig.TEAM_USER_QUERIES);
+        });
+    }
+
+    // teams 행을 JDBC 로 고친 경우 (members_version)
+    public void teamUpdated(Long teamId) {
+        evict(cache -> cache.evictEntityData(Team.class, teamId));
+    }
+
+    // 다른 인스턴스에서 바뀐 사용자 (ChangeLogTailer)
+    public void usersChanged(Collection<Long> userIds) {
+        evict(cache -> {
+            userIds.forEach(userId -> {
+                cache.evictEntityData(User.class, userId);
+                cache.evictCollectionData(SecondLevelCacheConfig.USER_TEAM_USERS, userId);
+            });
+            cache.evictQueryRegion(SecondLevelCacheConfig.USER_QUERIES);
+            cache.evictQueryRegion(SecondLevelCacheConfig.TEAM_USER_QUERIES);
+        });
+    }
+
+    // 다른 인스턴스에서 바뀐 팀. 팀원이 바뀌었을 수 있으므로 membershipsChanged 와 같은 범위를 지운다.
+    public void teamsChanged(Collection<Long> teamIds) {
+        evict(cache -> {
+            teamIds.forEach(teamId -> {
+                cache.evictEntityData(Team.class, teamId);
+                cache.evictCollectionData(SecondLevelCacheConfig.TEAM_USERS, teamId);
+            });
+            cache.evictEntityData(TeamUser.class);
+            cache.evictCollectionData(SecondLevelCacheConfig.USER_TEAM_USERS);
+            cache.evictQueryRegion(SecondLevelCacheConfig.TEAM_USER_QUERIES);
+        });
+    }
+
+    // 스냅샷 복원처럼 테이블 전체를 바꾼 경우
+    public void everything() {
+        evict(Cache::evictAllRegions);
+    }
+
+    // 커밋 전에 다른 트랜잭션이 옛 값을 다시 캐시에 올릴 수 있으므로 커밋 후에 한 번 더 지운다.
+    private void evict(Consumer<Cache> eviction) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        eviction.accept(cache);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.accept(cache);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.daybreak.cleandar.coherence;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 다른 인스턴스의 캐시를 지우기 위해 변경된 키를 change_log 에 남긴다.
+ * 트랜잭션 안이면 모아 두었다가 커밋 직전에 같은 트랜잭션에서 한 번의 batch 로 쓴다. 롤백되면 이벤트도 남지 않는다.
+ * 커밋 중 flush 에서 불리는 엔티티 리스너에서는 쓰지 않는다. 이미 batch 를 쓴 뒤라 이벤트가 빠진다.
+ */
+@Component
+public class ChangeLog {
+
+    static final String INSERT = "INSERT INTO change_log (change_type, entity_id, node_id, created_at) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public ChangeLog(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void append(ChangeType type, Long id) {
+        append(type, Collections.singleton(id));
+    }
+
+    public void append(ChangeType type, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            Set<Change> changes = new LinkedHashSet<>();
+            ids.forEach(id -> changes.add(new Change(type, id)));
+            insert(changes);
+            return;
+        }
+        ids.forEach(id -> pending().add(new Change(type, id)));
+    }
+
+    String nodeId() {
+        return nodeId;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<Change> pending() {
+        Set<Change> changes = (Set<Change>) TransactionSynchronizationManager.getResource(this);
+        if (changes != null) {
+            return changes;
+        }
+        Set<Change> created = new LinkedHashSet<>();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                insert(created);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ChangeLog.this);
+            }
+        });
+        return created;
+    }
+
+    private void insert(Set<Change> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(changes.size());
+        for (Change change : changes) {
+            rows.add(new Object[]{change.type.name(), change.id, nodeId, now});
+        }
+        jdbcTemplate.batchUpdate(INSERT, rows);
+    }
+
+    private static final class Change {
+        private final ChangeType type;
+        private final Long id;
+
+        private Change(ChangeType type, Long id) {
+            this.type = type;
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Change)) {
+                return false;
+            }
+            Change change = (Change) other;
+            return type == change.type && Objects.equals(id, change.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, id);
+        }
+    }
+}
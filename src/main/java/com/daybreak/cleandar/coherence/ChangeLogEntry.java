@@ -0,0 +1,36 @@
+package com.daybreak.cleandar.coherence;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 캐시 무효화 이벤트 하나. 읽고 쓰는 것은 ChangeLog, ChangeLogTailer 가 JDBC 로 하고 이 엔티티는 테이블 정의에 쓴다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "change_log", indexes = {@Index(name = "idx_change_log_created_at", columnList = "created_at")})
+public class ChangeLogEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", length = 20, nullable = false)
+    private ChangeType changeType;
+
+    @Column(name = "entity_id")
+    private Long entityId;
+
+    // 이벤트를 남긴 인스턴스. 자기가 남긴 이벤트는 이미 지웠으므로 건너뛴다.
+    @Column(name = "node_id", length = 36, nullable = false)
+    private String nodeId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,223 @@
+package com.daybreak.cleandar.coherence;
+
+import com.daybreak.cleandar.cache.SecondLevelCacheEvictor;
+import com.daybreak.cleandar.domain.teamuser.TeamMembershipCache;
+import com.daybreak.cleandar.reminder.ReminderScheduler;
+import com.daybreak.cleandar.search.ScheduleSearchIndex;
+import com.daybreak.cleandar.view.RenderedFragmentCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * change_log 를 id 순서로 따라 읽으며 다른 인스턴스가 남긴 변경의 캐시를 batch 로 지운다.
+ * 시작할 때의 마지막 id 부터 읽는다. 시작 전의 변경은 비어 있는 캐시와 상관이 없다.
+ *
+ * IDENTITY id 는 커밋 순서와 다를 수 있어서, 비어 있는 id 가 보이면 그 앞까지만 커서를 옮기고 뒤의 행은 다음에 다시 읽는다.
+ * gap-timeout 이 지나도 채워지지 않은 id 는 롤백된 것으로 보고 건너뛴다. 다시 읽은 행을 또 지워도 결과는 같다.
+ */
+@Slf4j
+@Component
+public class ChangeLogTailer {
+
+    private static final String SELECT = "SELECT id, change_type, entity_id, node_id, created_at FROM change_log WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String MAX_ID = "SELECT COALESCE(MAX(id), 0) FROM change_log";
+    private static final String PURGE_CHUNK = "DELETE FROM change_log WHERE created_at < ? LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ChangeLog changeLog;
+    private final SecondLevelCacheEvictor secondLevelCacheEvictor;
+    private final TeamMembershipCache teamMembershipCache;
+    private final RenderedFragmentCache renderedFragmentCache;
+    private final ScheduleSearchIndex scheduleSearchIndex;
+    private final ReminderScheduler reminderScheduler;
+    private final MeterRegistry meterRegistry;
+    private final Timer lag;
+
+    @Value("${cleandar.change-log.batch-size:500}")
+    private int batchSize;
+
+    @Value("${cleandar.change-log.gap-timeout:PT10S}")
+    private Duration gapTimeout;
+
+    @Value("${cleandar.change-log.retention:PT1H}")
+    private Duration retention;
+
+    private long cursor = -1;
+    private long gapId;
+    private long gapSeenAt;
+    private volatile long lastPolledAt = System.currentTimeMillis();
+
+    public ChangeLogTailer(JdbcTemplate jdbcTemplate, ChangeLog changeLog, SecondLevelCacheEvictor secondLevelCacheEvictor,
+                           TeamMembershipCache teamMembershipCache, RenderedFragmentCache renderedFragmentCache,
+                           ScheduleSearchIndex scheduleSearchIndex, ReminderScheduler reminderScheduler, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.changeLog = changeLog;
+        this.secondLevelCacheEvictor = secondLevelCacheEvictor;
+        this.teamMembershipCache = teamMembershipCache;
+        this.renderedFragmentCache = renderedFragmentCache;
+        this.scheduleSearchIndex = scheduleSearchIndex;
+        this.reminderScheduler = reminderScheduler;
+        this.meterRegistry = meterRegistry;
+        this.lag = Timer.builder("cleandar.change-log.lag")
+                .description("time from a change being logged to its eviction on this node")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("cleandar.change-log.poll.age", this, tailer -> (System.currentTimeMillis() - tailer.lastPolledAt) / 1000.0)
+                .description("seconds since this node last finished reading the change log")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${cleandar.change-log.poll-interval:PT1S}", initialDelayString = "${cleandar.change-log.poll-interval:PT1S}")
+    public void scheduledPoll() {
+        try {
+            poll();
+        } catch (RuntimeException exception) {
+            log.warn("change log poll failed", exception);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${cleandar.change-log.purge-interval:PT10M}", initialDelayString = "${cleandar.change-log.purge-interval:PT10M}")
+    public void scheduledPurge() {
+        try {
+            purge(LocalDateTime.now().minus(retention));
+        } catch (RuntimeException exception) {
+            log.warn("change log purge failed", exception);
+        }
+    }
+
+    /**
+     * 따라잡을 때까지 batch-size 씩 읽는다. 지운 이벤트 수를 돌려준다.
+     */
+    public synchronized int poll() {
+        if (cursor < 0) {
+            cursor = jdbcTemplate.queryForObject(MAX_ID, Long.class);
+        }
+
+        int applied = 0;
+        while (true) {
+            List<Row> rows = jdbcTemplate.query(SELECT, (rs, rowNum) -> new Row(rs.getLong(1), ChangeType.valueOf(rs.getString(2)),
+                    (Long) rs.getObject(3), rs.getString(4), rs.getTimestamp(5)), cursor, batchSize);
+            applied += evict(rows);
+            long next = advance(rows);
+            if (rows.size() < batchSize || next == cursor) {
+                cursor = next;
+                break;
+            }
+            cursor = next;
+        }
+        lastPolledAt = System.currentTimeMillis();
+        return applied;
+    }
+
+    public int purge(LocalDateTime before) {
+        int total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(PURGE_CHUNK, Timestamp.valueOf(before), batchSize);
+            total += deleted;
+        } while (deleted == batchSize);
+        return total;
+    }
+
+    synchronized long cursor() {
+        return cursor;
+    }
+
+    private int evict(List<Row> rows) {
+        Map<ChangeType, Set<Long>> keys = new EnumMap<>(ChangeType.class);
+        for (Row row : rows) {
+            if (row.nodeId.equals(changeLog.nodeId())) {
+                continue;
+            }
+            keys.computeIfAbsent(row.type, type -> new LinkedHashSet<>()).add(row.entityId);
+        }
+
+        Set<Long> schedules = ids(keys.get(ChangeType.SCHEDULE));
+        schedules.forEach(renderedFragmentCache::evictSchedule);
+        reminderScheduler.refresh(schedules);
+
+        Set<Long> teams = ids(keys.get(ChangeType.TEAM));
+        if (!teams.isEmpty()) {
+            secondLevelCacheEvictor.teamsChanged(teams);
+            teams.forEach(teamMembershipCache::evictTeam);
+            teams.forEach(renderedFragmentCache::evictTeam);
+        }
+
+        Set<Long> users = ids(keys.get(ChangeType.USER));
+        if (!users.isEmpty()) {
+            secondLevelCacheEvictor.usersChanged(users);
+            teamMembershipCache.evictUsers(users);
+        }
+
+        ids(keys.get(ChangeType.USER_SCHEDULES)).forEach(scheduleSearchIndex::evictUser);
+
+        int applied = 0;
+        for (Map.Entry<ChangeType, Set<Long>> entry : keys.entrySet()) {
+            meterRegistry.counter("cleandar.change-log.applied", "type", entry.getKey().name().toLowerCase())
+                    .increment(entry.getValue().size());
+            applied += entry.getValue().size();
+        }
+        return applied;
+    }
+
+    // 이어지는 id 까지만 커서를 옮긴다. 지연은 커서가 지나간 행에 대해서만 잰다.
+    private long advance(List<Row> rows) {
+        long now = System.currentTimeMillis();
+        long next = cursor;
+        for (Row row : rows) {
+            if (row.id != next + 1) {
+                if (gapId != next + 1) {
+                    gapId = next + 1;
+                    gapSeenAt = now;
+                    break;
+                }
+                if (now - gapSeenAt < gapTimeout.toMillis()) {
+                    break;
+                }
+                log.debug("change log gap skipped from={} to={}", next + 1, row.id - 1);
+            }
+            next = row.id;
+            lag.record(Math.max(0, now - row.createdAt.getTime()), TimeUnit.MILLISECONDS);
+        }
+        return next;
+    }
+
+    private static Set<Long> ids(Set<Long> ids) {
+        if (ids == null) {
+            return Collections.emptySet();
+        }
+        Set<Long> nonNull = new LinkedHashSet<>(ids);
+        nonNull.remove(null);
+        return nonNull;
+    }
+
+    private static final class Row {
+        private final long id;
+        private final ChangeType type;
+        private final Long entityId;
+        private final String nodeId;
+        private final Timestamp createdAt;
+
+        private Row(long id, ChangeType type, Long entityId, String nodeId, Timestamp createdAt) {
+            this.id = id;
+            this.type = type;
+            this.entityId = entityId;
+            this.nodeId = nodeId;
+            this.createdAt = createdAt;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.daybreak.cleandar.coherence;
+
+/**
+ * change_log 에 남기는 변경 종류. 다른 인스턴스는 종류에 따라 지울 캐시를 고른다(ChangeLogTailer).
+ */
+public enum ChangeType {
+    // 일정 카드, 알림. 새로 만든 일정도 남겨서 다른 인스턴스의 알림 휠에 올린다.
+    SCHEDULE,
+    // 팀 엔티티, 팀원 목록, 팀원 조각
+    TEAM,
+    // 사용자 엔티티, 이메일 조회 결과, 소속 팀
+    USER,
+    // 사용자의 일정 검색 색인. id 는 사용자 id 다.
+    USER_SCHEDULES
+}
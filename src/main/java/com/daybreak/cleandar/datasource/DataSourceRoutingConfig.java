@@ -0,0 +1,78 @@
+package com.daybreak.cleandar.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * cleandar.datasource.replica.url 이 있을 때만 켜진다. 없으면 spring.datasource 하나만 쓴다.
+ * primary 는 spring.datasource.* 설정을 그대로 쓰고, 애플리케이션에는 둘을 감싼 dataSource 빈 하나만 보인다.
+ * 풀 크기, 타임아웃 같은 spring.datasource.hikari.* 는 Boot 의 DataSourceConfiguration 처럼 두 풀에 모두 바인딩한다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "cleandar.datasource.replica", name = "url")
+public class DataSourceRoutingConfig {
+
+    @Value("${cleandar.datasource.replica.url}")
+    private String replicaUrl;
+
+    // 비워 두면 primary 와 같은 계정을 쓴다.
+    @Value("${cleandar.datasource.replica.username:}")
+    private String replicaUsername;
+
+    @Value("${cleandar.datasource.replica.password:}")
+    private String replicaPassword;
+
+    @Value("${cleandar.datasource.replica.lag-window:PT2S}")
+    private Duration lagWindow;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(ReadWriteRoutingDataSource.PRIMARY);
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(replicaUrl)
+                .username(replicaUsername.isEmpty() ? properties.determineUsername() : replicaUsername)
+                .password(replicaUsername.isEmpty() ? properties.determinePassword() : replicaPassword)
+                .build();
+        dataSource.setPoolName(ReadWriteRoutingDataSource.REPLICA);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(ReadWriteRoutingDataSource.PRIMARY, primary);
+        targets.put(ReadWriteRoutingDataSource.REPLICA, replica);
+
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(lagWindow);
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
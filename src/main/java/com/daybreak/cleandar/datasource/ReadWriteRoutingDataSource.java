@@ -0,0 +1,104 @@
+package com.daybreak.cleandar.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.http.HttpSession;
+import java.time.Duration;
+
+/**
+ * readOnly 트랜잭션은 replica 로, 나머지는 primary 로 보낸다.
+ * 사용자가 방금 쓴 내용이 replica 에 아직 반영되지 않았을 수 있으므로
+ * 쓰기 트랜잭션이 커밋된 뒤 lagWindow 동안은 같은 세션의 읽기도 primary 로 보낸다.
+ * 그 시각은 세션(SPRING_SESSION)에 두므로 다음 요청이 다른 인스턴스로 가도 지켜진다.
+ *
+ * 트랜잭션이 시작된 뒤에 커넥션을 꺼내야 readOnly 여부를 알 수 있으므로 LazyConnectionDataSourceProxy 로 감싸서 쓴다.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+
+    // 이 시각(epoch millis) 전까지는 primary 에서 읽는다. 인스턴스 사이에 비교하므로 nanoTime 을 쓰지 않는다.
+    static final String PRIMARY_UNTIL = ReadWriteRoutingDataSource.class.getName() + ".PRIMARY_UNTIL";
+
+    private static final ThreadLocal<HttpSession> PROPAGATED = new ThreadLocal<>();
+
+    private final long lagWindowMillis;
+
+    public ReadWriteRoutingDataSource(Duration lagWindow) {
+        this.lagWindowMillis = lagWindow.toMillis();
+    }
+
+    /**
+     * 요청을 다른 스레드에서 이어 처리할 때 쓴다. 그 스레드의 쓰기와 읽기도 요청의 세션을 따른다.
+     * 요청 객체는 타임아웃 뒤에 재사용될 수 있으므로 세션만 넘긴다.
+     */
+    public static Runnable propagate(Runnable task) {
+        HttpSession session = currentSession();
+        if (session == null) {
+            return task;
+        }
+        return () -> {
+            PROPAGATED.set(session);
+            try {
+                task.run();
+            } finally {
+                PROPAGATED.remove();
+            }
+        };
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        HttpSession session = currentSession();
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return recentlyWrote(session) ? PRIMARY : REPLICA;
+        }
+        if (session != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recordWrite(session);
+                }
+            });
+        }
+        return PRIMARY;
+    }
+
+    private void recordWrite(HttpSession session) {
+        try {
+            session.setAttribute(PRIMARY_UNTIL, System.currentTimeMillis() + lagWindowMillis);
+        } catch (IllegalStateException exception) {
+            // 그 사이 로그아웃 등으로 세션이 무효화됐다.
+        }
+    }
+
+    private static boolean recentlyWrote(HttpSession session) {
+        if (session == null) {
+            return false;
+        }
+        try {
+            Long until = (Long) session.getAttribute(PRIMARY_UNTIL);
+            return until != null && until > System.currentTimeMillis();
+        } catch (IllegalStateException exception) {
+            return false;
+        }
+    }
+
+    private static HttpSession currentSession() {
+        HttpSession propagated = PROPAGATED.get();
+        if (propagated != null) {
+            return propagated;
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes)) {
+            return null;
+        }
+        return ((ServletRequestAttributes) attributes).getRequest().getSession(false);
+    }
+}
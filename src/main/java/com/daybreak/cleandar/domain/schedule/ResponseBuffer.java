@@ -0,0 +1,66 @@
+package com.daybreak.cleandar.domain.schedule;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 응답 본문을 limit 바이트까지 메모리에 모았다가 close 할 때 Content-Length 와 함께 한 번에 보낸다.
+ * 본문이 limit 을 넘으면 모은 것을 내보내고 그 뒤로는 응답에 바로 쓰므로 그때부터 응답이 commit 된다.
+ * close 전에 실패하면 모은 것은 버려지고, 아직 commit 되지 않았으니 오류 상태로 답할 수 있다.
+ */
+class ResponseBuffer extends OutputStream {
+
+    private final HttpServletResponse response;
+    private final int limit;
+    private ByteArrayOutputStream buffer;
+    private OutputStream out;
+
+    ResponseBuffer(HttpServletResponse response, int limit) {
+        this.response = response;
+        this.limit = limit;
+        this.buffer = new ByteArrayOutputStream(Math.min(limit, 8192));
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        if (out == null && buffer.size() + length > limit) {
+            out = response.getOutputStream();
+            buffer.writeTo(out);
+            buffer = null;
+        }
+        if (out != null) {
+            out.write(bytes, offset, length);
+        } else {
+            buffer.write(bytes, offset, length);
+        }
+    }
+
+    boolean isStreaming() {
+        return out != null;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (out != null) {
+            out.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (out == null) {
+            response.setContentLength(buffer.size());
+            out = response.getOutputStream();
+            buffer.writeTo(out);
+            buffer = null;
+        }
+        out.flush();
+    }
+}
@@ -16,7 +16,7 @@ import java.time.format.DateTimeFormatter;
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-@Table(name = "schedules")
+@Table(name = "schedules", indexes = {@Index(name = "idx_schedules_start", columnList = "start")})
 public class Schedule {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,71 @@
+package com.daybreak.cleandar.domain.schedule;
+
+import com.daybreak.cleandar.security.UserPrincipal;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/schedules")
+public class ScheduleApiController {
+
+    private final ScheduleService scheduleService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${cleandar.schedule.response-buffer-size:1MB}")
+    private DataSize responseBufferSize;
+
+    /**
+     * 본문이 response-buffer-size 안이면 트랜잭션과 커넥션을 돌려준 뒤에 한 번에 보내므로 느린 클라이언트가 커넥션을 잡지 않고,
+     * 도중에 실패하면 500 으로 답한다. 넘으면 그때부터 바로 내보내므로 커넥션을 보내는 동안 잡고 있고,
+     * 그 뒤에 실패하면 상태는 이미 200 으로 나가서 JSON 배열이 중간에 잘린다. 클라이언트는 파싱 오류를 실패로 봐야 한다.
+     */
+    @GetMapping
+    public void getSchedules(@AuthenticationPrincipal UserPrincipal principal, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        ResponseBuffer body = new ResponseBuffer(response, (int) responseBufferSize.toBytes());
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(body);
+        scheduleService.writeSummaries(principal.getUsername(), generator);
+        // 실패했으면 여기까지 오지 않으므로 모은 본문은 보내지 않는다.
+        generator.close();
+    }
+
+    /**
+     * GET /api/v1/schedules/search?q=회의&from=2022-03-01T00:00&to=2022-04-01T00:00&sort=date&page=0&size=20
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ScheduleDto.SearchResult> search(@AuthenticationPrincipal UserPrincipal principal,
+                                                           @RequestParam String q,
+                                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                           @RequestParam(defaultValue = "relevance") String sort,
+                                                           @RequestParam(defaultValue = "0") int page,
+                                                           @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(scheduleService.search(principal.getUser(), q, from, to, sort, page, size));
+        } catch (IllegalArgumentException exception) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ScheduleDto.Summary> getSchedule(@AuthenticationPrincipal UserPrincipal principal, @PathVariable Long id) {
+        return ResponseEntity.of(scheduleService.getSummary(principal.getUsername(), id));
+    }
+}
@@ -0,0 +1,17 @@
+package com.daybreak.cleandar.domain.schedule;
+
+import java.util.List;
+
+public interface ScheduleBatchRepository {
+
+    /**
+     * 일정을 JDBC batch 로 저장하고 만들어진 id 를 요청 순서대로 돌려준다.
+     * IDENTITY 전략에서는 Hibernate 가 insert 를 batch 로 묶지 못하기 때문에 영속성 컨텍스트를 거치지 않는다.
+     */
+    List<Long> insertAll(Long userId, List<ScheduleDto.Request> requests);
+
+    /**
+     * 요청의 id 로 일정의 시간, 제목, 설명을 바꾼다. 하나의 batch 로 전송된다.
+     */
+    int updateAll(List<ScheduleDto.Request> requests);
+}
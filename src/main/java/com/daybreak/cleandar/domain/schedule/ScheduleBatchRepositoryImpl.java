@@ -0,0 +1,82 @@
+package com.daybreak.cleandar.domain.schedule;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ScheduleBatchRepositoryImpl implements ScheduleBatchRepository {
+
+    private static final String INSERT = "INSERT INTO schedules (created_at, updated_at, start, end, title, description, user_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE = "UPDATE schedules SET updated_at = ?, start = ?, end = ?, title = ?, description = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // JdbcTemplate.batchUpdate 는 생성된 키를 돌려주지 않으므로 PreparedStatement 를 직접 쓴다.
+    @Override
+    public List<Long> insertAll(Long userId, List<ScheduleDto.Request> requests) {
+        if (requests.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS)) {
+                for (ScheduleDto.Request request : requests) {
+                    ps.setTimestamp(1, now);
+                    ps.setTimestamp(2, now);
+                    ps.setTimestamp(3, Timestamp.valueOf(LocalDateTime.parse(request.getStart())));
+                    ps.setTimestamp(4, Timestamp.valueOf(LocalDateTime.parse(request.getEnd())));
+                    ps.setString(5, request.getTitle());
+                    ps.setString(6, request.getDescription());
+                    ps.setLong(7, userId);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+
+                List<Long> ids = new ArrayList<>(requests.size());
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        ids.add(keys.getLong(1));
+                    }
+                }
+                if (ids.size() != requests.size()) {
+                    throw new IllegalStateException("expected " + requests.size() + " generated keys but got " + ids.size());
+                }
+                return ids;
+            }
+        });
+    }
+
+    @Override
+    public int updateAll(List<ScheduleDto.Request> requests) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPDATE, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ScheduleDto.Request request = requests.get(i);
+                ps.setTimestamp(1, now);
+                ps.setTimestamp(2, Timestamp.valueOf(LocalDateTime.parse(request.getStart())));
+                ps.setTimestamp(3, Timestamp.valueOf(LocalDateTime.parse(request.getEnd())));
+                ps.setString(4, request.getTitle());
+                ps.setString(5, request.getDescription());
+                ps.setLong(6, request.getId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return requests.size();
+            }
+        });
+        return requests.size();
+    }
+}
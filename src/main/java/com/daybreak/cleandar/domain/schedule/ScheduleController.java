@@ -1,13 +1,19 @@
 package com.daybreak.cleandar.domain.schedule;
 
+import com.daybreak.cleandar.async.ComputeExecutor;
 import com.daybreak.cleandar.security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 import org.springframework.web.servlet.ModelAndView;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 
 @Controller
@@ -16,6 +22,7 @@ import java.time.LocalDateTime;
 public class ScheduleController {
 
     private final ScheduleService scheduleService;
+    private final ComputeExecutor computeExecutor;
 
     @GetMapping("/new")
     public String createScheduleForm() {
@@ -44,10 +51,15 @@ public class ScheduleController {
     }
 
     @GetMapping("/candidates")
-    public ModelAndView getCandidates(String start, String end, Long teamId) {
-        ModelAndView mav = new ModelAndView("teams/candidates");
-        mav.addObject("candidates", scheduleService.getCandidateSchedules(LocalDateTime.parse(start), LocalDateTime.parse(end), teamId));
-        return mav;
+    @PreAuthorize("@teamAuthorization.isMember(authentication, #teamId)")
+    public DeferredResult<ModelAndView> getCandidates(@AuthenticationPrincipal UserPrincipal principal, String start, String end, Long teamId) {
+        LocalDateTime startDate = LocalDateTime.parse(start);
+        LocalDateTime endDate = LocalDateTime.parse(end);
+        return computeExecutor.submit(principal.getUsername(), () -> {
+            ModelAndView mav = new ModelAndView("teams/candidates");
+            mav.addObject("candidates", scheduleService.getCandidateSchedules(startDate, endDate, teamId));
+            return mav;
+        });
     }
 
     @PostMapping("/new")
@@ -57,10 +69,12 @@ public class ScheduleController {
     }
 
     @PostMapping("/team/{id}")
-    public ModelAndView createTeamSchedule(@AuthenticationPrincipal UserPrincipal principal, ScheduleDto.Request request, @PathVariable(value = "id") Long teamId) {
-        ModelAndView mav = new ModelAndView("teams/show");
-        mav.addObject("teamSchedule", scheduleService.createTeamSchedule(principal.getUser(), request, teamId));
-        return mav;
+    public DeferredResult<ModelAndView> createTeamSchedule(@AuthenticationPrincipal UserPrincipal principal, ScheduleDto.Request request, @PathVariable(value = "id") Long teamId) {
+        return computeExecutor.submit(principal.getUsername(), () -> {
+            ModelAndView mav = new ModelAndView("teams/show");
+            mav.addObject("teamSchedule", scheduleService.createTeamSchedule(principal.getUser(), request, teamId));
+            return mav;
+        });
     }
 
     @DeleteMapping("/{id}")
@@ -76,4 +90,15 @@ public class ScheduleController {
         mav.addObject("schedule", schedule);
         return mav;
     }
+
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<List<ScheduleDto.OperationResult>> applySchedules(@AuthenticationPrincipal UserPrincipal principal,
+                                                                            @RequestBody List<ScheduleDto.Operation> operations) {
+        try {
+            return ResponseEntity.ok(scheduleService.apply(principal.getUser(), operations));
+        } catch (IllegalArgumentException exception) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
 }
@@ -2,10 +2,15 @@ package com.daybreak.cleandar.domain.schedule;
 
 import com.daybreak.cleandar.domain.user.User;
 import com.daybreak.cleandar.domain.user.UserDto;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
 import lombok.*;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
 
 public class ScheduleDto {
 
@@ -53,6 +58,7 @@ public class ScheduleDto {
         private String title;
         private String description;
         private UserDto.Response user;
+        private String version;
 
         public Response(Schedule schedule) {
             id = schedule.getId();
@@ -63,6 +69,7 @@ public class ScheduleDto {
             title = schedule.getTitle();
             description = schedule.getDescription();
             user = new UserDto.Response(schedule.getUser());
+            version = String.valueOf(schedule.getUpdatedAt());
         }
 
         public Response(String start, String end) {
@@ -76,5 +83,131 @@ public class ScheduleDto {
             this.end = end;
         }
 
+        // 화면에 보여줄 기간. 일정 카드가 캐시되어 있으면 호출되지 않는다.
+        public String getStartText() {
+            return start.replace('T', ' ');
+        }
+
+        // 시작과 같은 날이면 시각만 보여준다.
+        public String getEndText() {
+            int time = end.indexOf('T');
+            if (time > 0 && end.regionMatches(0, start, 0, time + 1)) {
+                return end.substring(time + 1);
+            }
+            return end.replace('T', ' ');
+        }
+    }
+
+    /**
+     * JSON API 용 일정. 사용자, 생성/수정 시각 없이 화면에 필요한 값만 담는다.
+     */
+    @Getter
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Summary {
+        private Long id;
+        private String start;
+        private String end;
+        private String title;
+        private String description;
+
+        public Summary(Long id, LocalDateTime start, LocalDateTime end, String title, String description) {
+            this.id = id;
+            this.start = start.toString();
+            this.end = end.toString();
+            this.title = title;
+            this.description = description;
+        }
+
+        // 목록은 DTO 리스트를 만들지 않고 JsonGenerator 로 바로 쓴다. Jackson 으로 쓸 때와 같은 모양이다.
+        public void write(JsonGenerator generator) throws IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("id", id);
+            generator.writeStringField("start", start);
+            generator.writeStringField("end", end);
+            if (title != null) {
+                generator.writeStringField("title", title);
+            }
+            if (description != null) {
+                generator.writeStringField("description", description);
+            }
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * 일괄 변경 요청 하나. op 는 create, update, delete 중 하나이고 update, delete 에는 id 가 있어야 한다.
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class Operation {
+        public static final String CREATE = "create";
+        public static final String UPDATE = "update";
+        public static final String DELETE = "delete";
+
+        private String op;
+        private Long id;
+        private String start;
+        private String end;
+        private String title;
+        private String description;
+
+        @Builder
+        public Operation(String op, Long id, String start, String end, String title, String description) {
+            this.op = op;
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.title = title;
+            this.description = description;
+        }
+
+        // 잘못된 요청이면 이유를, 아니면 null 을 돌려준다.
+        public String validate() {
+            if (!CREATE.equals(op) && !UPDATE.equals(op) && !DELETE.equals(op)) {
+                return "unknown op";
+            }
+            if (!CREATE.equals(op) && id == null) {
+                return "id is required";
+            }
+            if (!DELETE.equals(op)) {
+                try {
+                    LocalDateTime.parse(start);
+                    LocalDateTime.parse(end);
+                } catch (NullPointerException | DateTimeParseException exception) {
+                    return "invalid start or end";
+                }
+            }
+            return null;
+        }
+
+        public Request toRequest() {
+            return new Request(id, start, end, title, description);
+        }
+    }
+
+    /**
+     * 일괄 변경 요청 하나의 결과. status 는 HTTP 상태 코드와 같은 뜻으로 쓴다.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class OperationResult {
+        private int index;
+        private String op;
+        private Long id;
+        private int status;
+        private String message;
+    }
+
+    /**
+     * 검색 결과 한 쪽. total 은 조건에 맞는 전체 일정 수다.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class SearchResult {
+        private int total;
+        private int page;
+        private int size;
+        private List<Summary> items;
     }
 }
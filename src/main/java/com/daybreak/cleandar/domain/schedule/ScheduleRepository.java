@@ -2,14 +2,41 @@ package com.daybreak.cleandar.domain.schedule;
 
 import com.daybreak.cleandar.domain.user.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.QueryHint;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface ScheduleRepository extends JpaRepository<Schedule, Long> {
+public interface ScheduleRepository extends JpaRepository<Schedule, Long>, ScheduleBatchRepository {
     Schedule findScheduleById(Long id);
 
     List<Schedule> findByUserInAndEndGreaterThanAndStartLessThan(List<User> users, LocalDateTime start, LocalDateTime end);
 
     List<Schedule> findByUser(User user);
+
+    @Query("select s.id as id, s.user.id as userId from Schedule s where s.id in :ids")
+    List<Owner> findOwnersByIdIn(@Param("ids") Collection<Long> ids);
+
+    // 종료, 시작 순서는 getSchedules 의 정렬과 같다. 드라이버가 결과를 한꺼번에 메모리에 올리지 않도록 fetch size 를 준다.
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("select new com.daybreak.cleandar.domain.schedule.ScheduleDto$Summary(s.id, s.start, s.end, s.title, s.description)"
+            + " from Schedule s where s.user.email = :email order by s.end, s.start")
+    Stream<ScheduleDto.Summary> streamSummariesByUserEmail(@Param("email") String email);
+
+    @Query("select new com.daybreak.cleandar.domain.schedule.ScheduleDto$Summary(s.id, s.start, s.end, s.title, s.description)"
+            + " from Schedule s where s.id = :id and s.user.email = :email")
+    Optional<ScheduleDto.Summary> findSummaryByIdAndUserEmail(@Param("id") Long id, @Param("email") String email);
+
+    interface Owner {
+        Long getId();
+
+        Long getUserId();
+    }
 }
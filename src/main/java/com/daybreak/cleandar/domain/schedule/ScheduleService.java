@@ -1,18 +1,31 @@
 package com.daybreak.cleandar.domain.schedule;
 
+import com.daybreak.cleandar.audit.AuditEvent;
+import com.daybreak.cleandar.audit.AuditLog;
+import com.daybreak.cleandar.coherence.ChangeLog;
+import com.daybreak.cleandar.coherence.ChangeType;
 import com.daybreak.cleandar.domain.team.Team;
 import com.daybreak.cleandar.domain.team.TeamRepository;
 import com.daybreak.cleandar.domain.teamuser.TeamUser;
 import com.daybreak.cleandar.domain.user.User;
 import com.daybreak.cleandar.domain.user.UserRepository;
+import com.daybreak.cleandar.outbox.OutboxPublisher;
+import com.daybreak.cleandar.reminder.Reminder;
+import com.daybreak.cleandar.reminder.ReminderScheduler;
+import com.daybreak.cleandar.search.ScheduleSearchIndex;
+import com.daybreak.cleandar.view.RenderedFragmentCache;
+import com.fasterxml.jackson.core.JsonGenerator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.List;
+import java.util.*;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -21,16 +34,39 @@ public class ScheduleService {
     private final ScheduleRepository scheduleRepository;
     private final UserRepository userRepository;
     private final TeamRepository teamRepository;
+    private final RenderedFragmentCache renderedFragmentCache;
+    private final OutboxPublisher outboxPublisher;
+    private final ReminderScheduler reminderScheduler;
+    private final ChangeLog changeLog;
+    private final AuditLog auditLog;
+    private final ScheduleSearchIndex scheduleSearchIndex;
 
+    @Value("${cleandar.schedule.batch-max-operations:500}")
+    private int batchMaxOperations;
+
+    @Transactional
     public ScheduleDto.Response create(User user, ScheduleDto.Request request) {
-        Schedule schedule = request.toEntity(user);
-        return new ScheduleDto.Response(scheduleRepository.save(schedule));
+        Schedule schedule = scheduleRepository.save(request.toEntity(user));
+        reminderScheduler.schedule(schedule);
+        auditLog.record(user.getId(), AuditEvent.Entity.SCHEDULE, schedule.getId(), AuditEvent.Action.CREATE);
+        index(schedule);
+        changeLog.append(ChangeType.SCHEDULE, schedule.getId());
+        changeLog.append(ChangeType.USER_SCHEDULES, user.getId());
+        return new ScheduleDto.Response(schedule);
     }
 
+    @Transactional
     public boolean delete(String email, Long id) {
 
-        if (isAccessPossibleUser(email, id)) {
+        Schedule schedule = scheduleRepository.findById(id).orElseThrow(IllegalArgumentException::new);
+        if (email.equals(schedule.getUser().getEmail())) {
             scheduleRepository.deleteById(id);
+            renderedFragmentCache.evictSchedule(id);
+            changeLog.append(ChangeType.SCHEDULE, id);
+            reminderScheduler.cancel(id);
+            auditLog.record(schedule.getUser().getId(), AuditEvent.Entity.SCHEDULE, id, AuditEvent.Action.DELETE);
+            scheduleSearchIndex.remove(schedule.getUser().getId(), id);
+            changeLog.append(ChangeType.USER_SCHEDULES, schedule.getUser().getId());
         }
         return !scheduleRepository.existsById(id);
     }
@@ -40,17 +76,149 @@ public class ScheduleService {
                 .orElseThrow(IllegalArgumentException::new).getUser().getEmail());
     }
 
+    @Transactional
     public ScheduleDto.Response update(String email, ScheduleDto.Request request) {
 
         if (isAccessPossibleUser(email, request.getId())) {
             Schedule schedule = scheduleRepository.findById(request.getId())
                     .orElseThrow(IllegalArgumentException::new);
             schedule.update(request);
-            return new ScheduleDto.Response(scheduleRepository.save(schedule));
+            schedule = scheduleRepository.save(schedule);
+            changeLog.append(ChangeType.SCHEDULE, schedule.getId());
+            reminderScheduler.schedule(schedule);
+            auditLog.record(schedule.getUser().getId(), AuditEvent.Entity.SCHEDULE, schedule.getId(), AuditEvent.Action.UPDATE);
+            index(schedule);
+            changeLog.append(ChangeType.USER_SCHEDULES, schedule.getUser().getId());
+            return new ScheduleDto.Response(schedule);
         }
         return null;
     }
 
+    /**
+     * 여러 일정의 생성, 수정, 삭제를 한 트랜잭션에서 처리한다.
+     * 수정, 삭제할 일정의 소유자는 한 번의 쿼리로 확인하고, 잘못되었거나 권한이 없는 요청은 건너뛰고 결과에만 남긴다.
+     * 종류별로 묶어 생성, 수정, 삭제 순서로 적용한다.
+     */
+    @Transactional
+    public List<ScheduleDto.OperationResult> apply(User user, List<ScheduleDto.Operation> operations) {
+        if (operations.size() > batchMaxOperations) {
+            throw new IllegalArgumentException("too many operations");
+        }
+
+        ScheduleDto.OperationResult[] results = new ScheduleDto.OperationResult[operations.size()];
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < operations.size(); i++) {
+            ScheduleDto.Operation operation = operations.get(i);
+            String error = operation.validate();
+            if (error != null) {
+                results[i] = result(i, operation, operation.getId(), HttpStatus.BAD_REQUEST, error);
+            } else if (!ScheduleDto.Operation.CREATE.equals(operation.getOp())) {
+                ids.add(operation.getId());
+            }
+        }
+
+        Map<Long, Long> owners = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (ScheduleRepository.Owner owner : scheduleRepository.findOwnersByIdIn(ids)) {
+                owners.put(owner.getId(), owner.getUserId());
+            }
+        }
+
+        List<Integer> creates = new ArrayList<>();
+        List<Integer> updates = new ArrayList<>();
+        List<Long> deletes = new ArrayList<>();
+        for (int i = 0; i < operations.size(); i++) {
+            ScheduleDto.Operation operation = operations.get(i);
+            if (results[i] != null) {
+                continue;
+            }
+            if (ScheduleDto.Operation.CREATE.equals(operation.getOp())) {
+                creates.add(i);
+                continue;
+            }
+            Long owner = owners.get(operation.getId());
+            if (owner == null) {
+                results[i] = result(i, operation, operation.getId(), HttpStatus.NOT_FOUND, "schedule not found");
+            } else if (!owner.equals(user.getId())) {
+                results[i] = result(i, operation, operation.getId(), HttpStatus.FORBIDDEN, "not owner");
+            } else if (ScheduleDto.Operation.UPDATE.equals(operation.getOp())) {
+                updates.add(i);
+            } else {
+                deletes.add(operation.getId());
+                results[i] = result(i, operation, operation.getId(), HttpStatus.OK, null);
+            }
+        }
+
+        List<Long> created = scheduleRepository.insertAll(user.getId(), requests(operations, creates));
+        for (int i = 0; i < creates.size(); i++) {
+            ScheduleDto.Operation operation = operations.get(creates.get(i));
+            results[creates.get(i)] = result(creates.get(i), operation, created.get(i), HttpStatus.CREATED, null);
+            reminderScheduler.schedule(reminder(user, created.get(i), operation));
+            auditLog.record(user.getId(), AuditEvent.Entity.SCHEDULE, created.get(i), AuditEvent.Action.CREATE);
+            index(user, created.get(i), operation);
+        }
+
+        if (!updates.isEmpty()) {
+            scheduleRepository.updateAll(requests(operations, updates));
+        }
+        for (Integer index : updates) {
+            ScheduleDto.Operation operation = operations.get(index);
+            results[index] = result(index, operation, operation.getId(), HttpStatus.OK, null);
+            renderedFragmentCache.evictSchedule(operation.getId());
+            reminderScheduler.schedule(reminder(user, operation.getId(), operation));
+            auditLog.record(user.getId(), AuditEvent.Entity.SCHEDULE, operation.getId(), AuditEvent.Action.UPDATE);
+            index(user, operation.getId(), operation);
+        }
+
+        if (!deletes.isEmpty()) {
+            scheduleRepository.deleteAllByIdInBatch(deletes);
+        }
+        for (Long id : deletes) {
+            renderedFragmentCache.evictSchedule(id);
+            reminderScheduler.cancel(id);
+            auditLog.record(user.getId(), AuditEvent.Entity.SCHEDULE, id, AuditEvent.Action.DELETE);
+            scheduleSearchIndex.remove(user.getId(), id);
+        }
+
+        Set<Long> changed = new LinkedHashSet<>(created);
+        changed.addAll(deletes);
+        for (Integer index : updates) {
+            changed.add(operations.get(index).getId());
+        }
+        changeLog.append(ChangeType.SCHEDULE, changed);
+        if (!changed.isEmpty()) {
+            changeLog.append(ChangeType.USER_SCHEDULES, user.getId());
+        }
+        return Arrays.asList(results);
+    }
+
+    private static List<ScheduleDto.Request> requests(List<ScheduleDto.Operation> operations, List<Integer> indexes) {
+        List<ScheduleDto.Request> requests = new ArrayList<>(indexes.size());
+        for (Integer index : indexes) {
+            requests.add(operations.get(index).toRequest());
+        }
+        return requests;
+    }
+
+    private static ScheduleDto.OperationResult result(int index, ScheduleDto.Operation operation, Long id, HttpStatus status, String message) {
+        return new ScheduleDto.OperationResult(index, operation.getOp(), id, status.value(), message);
+    }
+
+    private void index(Schedule schedule) {
+        scheduleSearchIndex.put(schedule.getUser().getId(), schedule.getId(), schedule.getStart(), schedule.getEnd(),
+                schedule.getTitle(), schedule.getDescription());
+    }
+
+    private void index(User user, Long id, ScheduleDto.Operation operation) {
+        scheduleSearchIndex.put(user.getId(), id, LocalDateTime.parse(operation.getStart()), LocalDateTime.parse(operation.getEnd()),
+                operation.getTitle(), operation.getDescription());
+    }
+
+    private static Reminder reminder(User user, Long id, ScheduleDto.Operation operation) {
+        return new Reminder(id, user.getId(), operation.getTitle(), LocalDateTime.parse(operation.getStart()));
+    }
+
+    @Transactional(readOnly = true)
     public List<ScheduleDto.Response> getSchedules(String email) {
         List<ScheduleDto.Response> list = new ArrayList<>();
         for (Schedule schedule : userRepository.findUserByEmail(email).getSchedules()) {
@@ -61,20 +229,62 @@ public class ScheduleService {
         return list;
     }
 
+    /**
+     * 사용자의 일정을 JSON 배열로 쓴다. 커서로 한 행씩 읽어 바로 쓰므로 엔티티와 DTO 목록을 만들지 않는다.
+     * generator 가 클라이언트에 바로 쓰면 다 쓸 때까지 트랜잭션과 커넥션을 잡으므로 호출하는 쪽에서 버퍼에 받는다.
+     */
+    @Transactional(readOnly = true)
+    public int writeSummaries(String email, JsonGenerator generator) throws IOException {
+        int count = 0;
+        generator.writeStartArray();
+        try (Stream<ScheduleDto.Summary> summaries = scheduleRepository.streamSummariesByUserEmail(email)) {
+            Iterator<ScheduleDto.Summary> iterator = summaries.iterator();
+            while (iterator.hasNext()) {
+                iterator.next().write(generator);
+                count++;
+            }
+        }
+        generator.writeEndArray();
+        return count;
+    }
+
+    /**
+     * 제목, 설명에서 검색어를 모두 가진 일정. sort 는 relevance 또는 date.
+     */
+    public ScheduleDto.SearchResult search(User user, String query, LocalDateTime from, LocalDateTime to, String sort, int page, int size) {
+        if (!"relevance".equals(sort) && !"date".equals(sort)) {
+            throw new IllegalArgumentException("sort must be relevance or date");
+        }
+        return scheduleSearchIndex.search(user.getId(), query, from, to, "date".equals(sort), page, size);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<ScheduleDto.Summary> getSummary(String email, Long id) {
+        return scheduleRepository.findSummaryByIdAndUserEmail(id, email);
+    }
+
+    @Transactional(readOnly = true)
     public ScheduleDto.Response getSchedule(Long id) {
         return new ScheduleDto.Response(scheduleRepository.findById(id).orElse(null));
     }
 
+    @Transactional(readOnly = true)
     public List<ScheduleDto.Response> getCandidateSchedules(LocalDateTime startDate, LocalDateTime endDate, Long teamId) {
 
-        List<ScheduleDto.Response> candidate = new ArrayList<>();
-        List<ScheduleDto.Response> teamSchedules = new ArrayList<>();
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
-
         List<TeamUser> teamUser = teamRepository.findById(teamId).get().getTeamUsers();
         List<User> users = userRepository.findByTeamUserIn(teamUser);
         List<Schedule> schedules = scheduleRepository.findByUserInAndEndGreaterThanAndStartLessThan(users, startDate, endDate);
 
+        return findCandidates(startDate, endDate, schedules);
+    }
+
+    // 팀원 일정 사이의 빈 시간을 후보로 만든다. 저장소 조회와 분리해 두어 벤치마크에서 따로 잴 수 있다.
+    static List<ScheduleDto.Response> findCandidates(LocalDateTime startDate, LocalDateTime endDate, List<Schedule> schedules) {
+
+        List<ScheduleDto.Response> candidate = new ArrayList<>();
+        List<ScheduleDto.Response> teamSchedules = new ArrayList<>();
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
         for (Schedule schedule : schedules) {
             candidate.add(new ScheduleDto.Response(schedule));
         }
@@ -98,13 +308,18 @@ public class ScheduleService {
     }
 
 
+    /**
+     * 팀원마다 일정을 저장하는 일은 outbox 에 남기고 바로 돌아간다. 실제 저장은 TeamScheduleFanOut 이 한다.
+     */
+    @Transactional
     public ScheduleDto.Response createTeamSchedule(User user, ScheduleDto.Request request, Long teamId) {
 
         Team team = teamRepository.getById(teamId);
-        if (user.getName().equals(team.getLeader())) { // TeamUser에서 leader의 type을 User로 바꾼다면 변경할 부분.
-            for (TeamUser member : team.getTeamUsers()) {
-                create(member.getUser(), request);
-            }
+        if (user.getId().equals(team.getLeader().getId())) {
+            // 잘못된 날짜는 worker 에서 재시도하지 않도록 여기서 거른다.
+            LocalDateTime.parse(request.getStart());
+            LocalDateTime.parse(request.getEnd());
+            outboxPublisher.publish(TeamScheduleFanOut.TYPE, teamId, request);
         }
         return new ScheduleDto.Response(teamId, request.getStart(), request.getEnd());
     }
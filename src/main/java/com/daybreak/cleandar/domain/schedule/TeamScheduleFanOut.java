@@ -0,0 +1,69 @@
+package com.daybreak.cleandar.domain.schedule;
+
+import com.daybreak.cleandar.audit.AuditEvent;
+import com.daybreak.cleandar.audit.AuditLog;
+import com.daybreak.cleandar.coherence.ChangeLog;
+import com.daybreak.cleandar.coherence.ChangeType;
+import com.daybreak.cleandar.domain.team.Team;
+import com.daybreak.cleandar.domain.team.TeamRepository;
+import com.daybreak.cleandar.domain.teamuser.TeamUser;
+import com.daybreak.cleandar.outbox.OutboxHandler;
+import com.daybreak.cleandar.outbox.OutboxMessage;
+import com.daybreak.cleandar.outbox.OutboxPublisher;
+import com.daybreak.cleandar.reminder.ReminderScheduler;
+import com.daybreak.cleandar.search.ScheduleSearchIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 팀 일정을 팀원마다 저장한다. outbox 행과 같은 트랜잭션에서 저장되므로 팀원 일부에게만 일정이 생기지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class TeamScheduleFanOut implements OutboxHandler {
+
+    public static final String TYPE = "team-schedule";
+
+    private final TeamRepository teamRepository;
+    private final ScheduleRepository scheduleRepository;
+    private final OutboxPublisher outboxPublisher;
+    private final ReminderScheduler reminderScheduler;
+    private final AuditLog auditLog;
+    private final ScheduleSearchIndex scheduleSearchIndex;
+    private final ChangeLog changeLog;
+
+    @Override
+    public String type() {
+        return TYPE;
+    }
+
+    @Override
+    public void handle(OutboxMessage message) {
+        // 그 사이 팀이 지워졌으면 만들 일정이 없다.
+        Team team = teamRepository.findById(message.getAggregateId()).orElse(null);
+        if (team == null) {
+            return;
+        }
+
+        ScheduleDto.Request request = outboxPublisher.read(message, ScheduleDto.Request.class);
+        List<Schedule> schedules = new ArrayList<>();
+        List<Long> members = new ArrayList<>();
+        List<Long> created = new ArrayList<>();
+        for (TeamUser member : team.getTeamUsers()) {
+            schedules.add(request.toEntity(member.getUser()));
+            members.add(member.getUser().getId());
+        }
+        for (Schedule schedule : scheduleRepository.saveAll(schedules)) {
+            created.add(schedule.getId());
+            reminderScheduler.schedule(schedule);
+            auditLog.record(team.getLeader().getId(), AuditEvent.Entity.SCHEDULE, schedule.getId(), AuditEvent.Action.CREATE);
+            scheduleSearchIndex.put(schedule.getUser().getId(), schedule.getId(), schedule.getStart(), schedule.getEnd(),
+                    schedule.getTitle(), schedule.getDescription());
+        }
+        changeLog.append(ChangeType.SCHEDULE, created);
+        changeLog.append(ChangeType.USER_SCHEDULES, members);
+    }
+}
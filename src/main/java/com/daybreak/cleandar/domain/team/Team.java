@@ -6,6 +6,9 @@ import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -16,6 +19,7 @@ import java.util.List;
 
 @Entity
 @Getter
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Table(name = "teams", uniqueConstraints = {@UniqueConstraint(columnNames = {"leader_id", "name"})})
 public class Team {
@@ -32,10 +36,16 @@ public class Team {
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
+    // 팀원이 들어오거나 빠질 때마다 TeamUserBatchRepository.touchMembers 가 JDBC 로 올린다. 엔티티 update 로 덮어쓰지 않는다.
+    @Column(nullable = false, updatable = false, columnDefinition = "bigint default 0")
+    private long membersVersion;
+
     @ManyToOne
     @JoinColumn(name = "leader_id")
     private User leader;
 
+    @BatchSize(size = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @OneToMany(mappedBy = "team")
     private List<TeamUser> teamUsers = new ArrayList<>();
 
@@ -0,0 +1,33 @@
+package com.daybreak.cleandar.domain.team;
+
+import com.daybreak.cleandar.security.UserPrincipal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Optional;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/teams")
+public class TeamApiController {
+
+    private final TeamService teamService;
+
+    @GetMapping
+    public List<TeamDto.Summary> index(@AuthenticationPrincipal UserPrincipal principal) {
+        return teamService.summaries(principal.getUser());
+    }
+
+    @GetMapping("/{id}")
+    @PreAuthorize("@teamAuthorization.isMember(authentication, #id)")
+    public ResponseEntity<TeamDto.Detail> show(@PathVariable Long id) {
+        return ResponseEntity.of(Optional.ofNullable(teamService.detail(id)));
+    }
+}
@@ -1,9 +1,9 @@
 package com.daybreak.cleandar.domain.team;
 
-import com.daybreak.cleandar.domain.teamuser.TeamUser;
 import com.daybreak.cleandar.security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
@@ -28,9 +28,10 @@ public class TeamController {
     }
 
     @GetMapping("{id}")
+    @PreAuthorize("@teamAuthorization.isMember(authentication, #id)")
     public ModelAndView show(@PathVariable Long id) {
         ModelAndView mav = new ModelAndView("teams/show");
-        Team team = teamService.show(id);
+        TeamDto.Detail team = teamService.detail(id);
         if (team == null) {
             mav.setStatus(HttpStatus.NOT_FOUND);
         } else {
@@ -47,6 +48,7 @@ public class TeamController {
     }
 
     @GetMapping("{id}/edit")
+    @PreAuthorize("@teamAuthorization.isMember(authentication, #id)")
     public ModelAndView teamEditForm(@PathVariable Long id) {
         ModelAndView mav = new ModelAndView("teams/edit");
         Team team = teamService.show(id);
@@ -78,16 +80,16 @@ public class TeamController {
         }
     }
 
-    //TODO 초대 구현
     @PostMapping("{id}/invite")
-    public String invite(@PathVariable Long id) { //, List<TeamUser> teamUsers
-//        teamService.invite(teamUsers);
-        return "redirect:teams";
+    public String invite(@AuthenticationPrincipal UserPrincipal userPrincipal, @PathVariable Long id,
+                         @RequestParam(required = false, defaultValue = "") List<Long> userIds) {
+        teamService.invite(userPrincipal.getUser(), id, userIds);
+        return "redirect:/teams/" + id;
     }
 
     @PutMapping("{id}")
-    public String update(@ModelAttribute TeamDto.Request request) {
-        Team team = teamService.update(request);
+    public String update(@AuthenticationPrincipal UserPrincipal userPrincipal, @ModelAttribute TeamDto.Request request) {
+        Team team = teamService.update(userPrincipal.getUser(), request);
         if (team == null) {
             return "redirect:edit";
         } else {
@@ -96,8 +98,13 @@ public class TeamController {
     }
 
     @DeleteMapping("{id}")
-    public String delete(@AuthenticationPrincipal UserPrincipal userPrincipal, @PathVariable Long id) {
-        teamService.delete(userPrincipal.getUser(), id);
+    public String delete(@AuthenticationPrincipal UserPrincipal userPrincipal, @PathVariable Long id,
+                         @RequestParam(defaultValue = "false") boolean async) {
+        if (async) {
+            teamService.deleteAsync(userPrincipal.getUser(), id);
+        } else {
+            teamService.delete(userPrincipal.getUser(), id);
+        }
         return "redirect:/teams";
     }
 }
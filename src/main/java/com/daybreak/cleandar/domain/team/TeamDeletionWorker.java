@@ -0,0 +1,44 @@
+package com.daybreak.cleandar.domain.team;
+
+import com.daybreak.cleandar.coherence.ChangeLog;
+import com.daybreak.cleandar.coherence.ChangeType;
+import com.daybreak.cleandar.domain.teamuser.TeamMembershipCache;
+import com.daybreak.cleandar.domain.teamuser.TeamUserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TeamDeletionWorker {
+
+    private final TeamRepository teamRepository;
+    private final TeamUserRepository teamUserRepository;
+    private final TeamMembershipCache teamMembershipCache;
+    private final ChangeLog changeLog;
+
+    @Value("${cleandar.team.delete-chunk-size:1000}")
+    private int chunkSize;
+
+    /**
+     * 팀 멤버를 chunk 단위로 나눠 커밋하면서 지우고 마지막에 팀을 지운다.
+     * 한 트랜잭션이 오래 잠금을 잡고 있지 않도록 chunk 마다 바로 커밋한다.
+     */
+    @Async
+    public void delete(Long teamId) {
+        long started = System.currentTimeMillis();
+        int total = 0;
+        int deleted;
+        do {
+            deleted = teamUserRepository.deleteChunkByTeamId(teamId, chunkSize);
+            total += deleted;
+        } while (deleted > 0);
+        teamMembershipCache.evictTeam(teamId);
+        teamRepository.deleteById(teamId);
+        changeLog.append(ChangeType.TEAM, teamId);
+        log.info("deleted team id={} members={} elapsedMs={}", teamId, total, System.currentTimeMillis() - started);
+    }
+}
@@ -4,6 +4,8 @@ import com.daybreak.cleandar.domain.user.User;
 import com.daybreak.cleandar.domain.user.UserDto;
 import lombok.*;
 
+import java.util.List;
+
 public class TeamDto {
 
     @Getter
@@ -35,4 +37,47 @@ public class TeamDto {
             leader = new UserDto.Response(team.getLeader());
         }
     }
+
+    // JSON API 용 팀 목록 항목
+    @Getter
+    @AllArgsConstructor
+    public static class Summary {
+        private Long id;
+        private String name;
+        private Long leaderId;
+
+        public Summary(Team team) {
+            id = team.getId();
+            name = team.getName();
+            leaderId = team.getLeader().getId();
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Detail {
+        private Long id;
+        private String name;
+        private UserDto.Response leader;
+        private List<Member> members;
+        private long membersVersion;
+
+        public Detail(Team team, List<Member> members) {
+            id = team.getId();
+            name = team.getName();
+            leader = new UserDto.Response(team.getLeader());
+            this.members = members;
+            membersVersion = team.getMembersVersion();
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Member {
+        private Long id;
+        private Long userId;
+        private String name;
+        private String email;
+        private String status;
+    }
 }
@@ -2,9 +2,19 @@ package com.daybreak.cleandar.domain.team;
 
 import com.daybreak.cleandar.domain.user.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface TeamRepository extends JpaRepository<Team, Long> {
     List<Team> findTeamsByLeader(User leader);
+
+    @Query("select t from Team t join fetch t.leader " +
+            "where exists (select tu.id from TeamUser tu where tu.team = t and tu.user = :user) order by t.id")
+    List<Team> findAllByMember(@Param("user") User user);
+
+    @Query("select t from Team t join fetch t.leader where t.id = :id")
+    Optional<Team> findWithLeaderById(@Param("id") Long id);
 }
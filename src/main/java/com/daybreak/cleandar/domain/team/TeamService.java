@@ -1,63 +1,109 @@
 package com.daybreak.cleandar.domain.team;
 
+import com.daybreak.cleandar.audit.AuditEvent;
+import com.daybreak.cleandar.audit.AuditLog;
+import com.daybreak.cleandar.coherence.ChangeLog;
+import com.daybreak.cleandar.coherence.ChangeType;
+import com.daybreak.cleandar.domain.teamuser.TeamMembershipCache;
 import com.daybreak.cleandar.domain.teamuser.TeamUser;
 import com.daybreak.cleandar.domain.teamuser.TeamUserRepository;
 import com.daybreak.cleandar.domain.user.User;
+import com.daybreak.cleandar.view.RenderedFragmentCache;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.RequestBody;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class TeamService {
 
     private final TeamRepository teamRepository;
     private final TeamUserRepository teamUserRepository;
+    private final TeamDeletionWorker teamDeletionWorker;
+    private final TeamMembershipCache teamMembershipCache;
+    private final TransactionTemplate transactionTemplate;
+    private final RenderedFragmentCache renderedFragmentCache;
+    private final ChangeLog changeLog;
+    private final AuditLog auditLog;
 
+    @Transactional(readOnly = true)
     public List<Team> index(User user) {
-        return teamUserRepository.findTeamUserByUser(user).stream().map(TeamUser::getTeam).collect(Collectors.toList());
+        return teamRepository.findAllByMember(user);
     }
 
+    @Transactional(readOnly = true)
+    public List<TeamDto.Summary> summaries(User user) {
+        List<TeamDto.Summary> summaries = new ArrayList<>();
+        for (Team team : teamRepository.findAllByMember(user)) {
+            summaries.add(new TeamDto.Summary(team));
+        }
+        return summaries;
+    }
+
+    @Transactional(readOnly = true)
+    public TeamDto.Detail detail(Long id) {
+        return teamRepository.findWithLeaderById(id)
+                .map(team -> new TeamDto.Detail(team, teamUserRepository.findMembersByTeamId(id)))
+                .orElse(null);
+    }
+
+    @Transactional(readOnly = true)
     public Team show(Long id) {
         Optional<Team> team = teamRepository.findById(id);
         return team.orElse(null);
     }
 
+    // 중복 이름이면 null 을 돌려줘야 하므로 예외를 트랜잭션 바깥에서 잡는다.
     public Team create(@RequestBody TeamDto.Request request) {
         try {
-            Team team = teamRepository.save(Team.builder().name(request.getName()).leader(request.getLeader()).build());
-            teamUserRepository.save(TeamUser.builder().team(team).user(request.getLeader()).build());
-            return team;
+            return transactionTemplate.execute(status -> {
+                Team team = teamRepository.save(Team.builder().name(request.getName()).leader(request.getLeader()).build());
+                teamUserRepository.save(TeamUser.builder().team(team).user(request.getLeader()).build());
+                changeLog.append(ChangeType.USER, request.getLeader().getId());
+                auditLog.record(request.getLeader().getId(), AuditEvent.Entity.TEAM, team.getId(), AuditEvent.Action.CREATE);
+                return team;
+            });
         } catch (DataIntegrityViolationException exception) {
             return null;
         }
     }
 
-    public Team update(@RequestBody TeamDto.Request request) {
+    @Transactional
+    public Team update(User user, @RequestBody TeamDto.Request request) {
         try {
             Team team = teamRepository.findById(request.getId()).orElseThrow(() -> new IllegalArgumentException("Not Found Entity"));
             team.update(request.getName());
-            return teamRepository.save(team);
+            team = teamRepository.save(team);
+            changeLog.append(ChangeType.TEAM, team.getId());
+            auditLog.record(user.getId(), AuditEvent.Entity.TEAM, team.getId(), AuditEvent.Action.UPDATE);
+            return team;
         } catch (IllegalArgumentException exception) {
             return null;
         }
     }
 
+    @Transactional
     public Team delete(User leader, Long id) {
         try {
-            Team team = teamRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("Not Found Entity"));
-            if (!team.getLeader().getId().equals(leader.getId())) {
-                throw new IllegalArgumentException("is not leader");
-            }
+            Team team = findLedTeam(leader, id);
 
-            List<TeamUser> teamUsers = teamUserRepository.findByTeam(team);
-            teamUserRepository.deleteAll(teamUsers);
+            teamUserRepository.deleteAllByTeamId(id);
             teamRepository.delete(team);
+            teamMembershipCache.evictTeam(id);
+            renderedFragmentCache.evictTeam(id);
+            changeLog.append(ChangeType.TEAM, id);
+            auditLog.record(leader.getId(), AuditEvent.Entity.TEAM, id, AuditEvent.Action.DELETE);
 
             return team;
         } catch (IllegalArgumentException exception) {
@@ -66,8 +112,51 @@ public class TeamService {
         }
     }
 
-    //TODO 초대 로직 작성
-    public void invite() { //List<TeamUser> teamUsers
+    /**
+     * 팀원이 많은 팀은 삭제를 백그라운드에서 chunk 단위로 진행하고 바로 반환한다.
+     */
+    public boolean deleteAsync(User leader, Long id) {
+        try {
+            findLedTeam(leader, id);
+            teamDeletionWorker.delete(id);
+            renderedFragmentCache.evictTeam(id);
+            auditLog.record(leader.getId(), AuditEvent.Entity.TEAM, id, AuditEvent.Action.DELETE);
+            return true;
+        } catch (IllegalArgumentException exception) {
+            log.warn("team delete rejected teamId={} leaderId={} reason={}", id, leader.getId(), exception.getMessage());
+            return false;
+        }
+    }
+
+    @Transactional
+    public List<Long> invite(User leader, Long id, List<Long> userIds) {
+        try {
+            findLedTeam(leader, id);
+            if (userIds.isEmpty()) {
+                return userIds;
+            }
+
+            List<Long> invitees = teamUserRepository.findInvitableUserIds(id, new LinkedHashSet<>(userIds));
+            if (!invitees.isEmpty()) {
+                teamUserRepository.insertAll(id, invitees);
+                teamMembershipCache.evictUsers(invitees);
+                changeLog.append(ChangeType.USER, invitees);
+                changeLog.append(ChangeType.TEAM, id);
+                auditLog.record(leader.getId(), AuditEvent.Entity.TEAM, id, AuditEvent.Action.INVITE);
+            }
+            return invitees;
+        } catch (IllegalArgumentException | DataIntegrityViolationException exception) {
+            log.warn("team invite rejected teamId={} leaderId={} reason={}", id, leader.getId(), exception.getMessage());
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            return null;
+        }
+    }
 
+    private Team findLedTeam(User leader, Long id) {
+        Team team = teamRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("Not Found Entity"));
+        if (!team.getLeader().getId().equals(leader.getId())) {
+            throw new IllegalArgumentException("is not leader");
+        }
+        return team;
     }
 }
@@ -0,0 +1,34 @@
+package com.daybreak.cleandar.domain.teamuser;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * 한 사용자가 속한 팀 id 집합. 정렬된 long 배열 하나로 들고 있어서 id 당 8 byte 만 쓰고, 이진 탐색으로 조회한다.
+ * 변경하지 않고 새로 만들어 교체하므로 여러 스레드에서 그대로 읽어도 된다.
+ */
+public final class TeamIdSet {
+
+    public static final TeamIdSet EMPTY = new TeamIdSet(new long[0]);
+
+    private final long[] ids;
+
+    private TeamIdSet(long[] ids) {
+        this.ids = ids;
+    }
+
+    public static TeamIdSet of(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return EMPTY;
+        }
+        return new TeamIdSet(ids.stream().mapToLong(Long::longValue).sorted().distinct().toArray());
+    }
+
+    public boolean contains(long id) {
+        return Arrays.binarySearch(ids, id) >= 0;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+}
@@ -0,0 +1,97 @@
+package com.daybreak.cleandar.domain.teamuser;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 사용자별 소속 팀 id 를 메모리에 들고 있는다. 권한 검사마다 teamsusers 를 조회하지 않기 위한 캐시.
+ * teamsusers 에 insert / delete 가 일어나면 해당 사용자(또는 팀)의 항목을 지운다.
+ */
+@Component
+@RequiredArgsConstructor
+public class TeamMembershipCache {
+
+    private final TeamUserRepository teamUserRepository;
+
+    private final Map<Long, TeamIdSet> teamIdsByUser = new ConcurrentHashMap<>();
+
+    // 조회 도중 무효화가 일어나면 조회 결과를 버리기 위한 세대 번호
+    private final AtomicLong generation = new AtomicLong();
+
+    @Value("${cleandar.membership-cache.max-users:100000}")
+    private int maxUsers;
+
+    public boolean isMember(Long userId, Long teamId) {
+        return teamIds(userId).contains(teamId);
+    }
+
+    public TeamIdSet teamIds(Long userId) {
+        TeamIdSet teamIds = teamIdsByUser.get(userId);
+        if (teamIds != null) {
+            return teamIds;
+        }
+
+        long loadedAt = generation.get();
+        teamIds = TeamIdSet.of(teamUserRepository.findTeamIdsByUserId(userId));
+        if (generation.get() != loadedAt) {
+            return teamIds;
+        }
+        if (teamIdsByUser.size() >= maxUsers) {
+            shrink();
+        }
+        // 넣은 뒤에 세대를 다시 본다. evict 는 세대를 먼저 올리고 지우므로, 확인과 put 사이의 무효화도 놓치지 않는다.
+        teamIdsByUser.put(userId, teamIds);
+        if (generation.get() != loadedAt) {
+            teamIdsByUser.remove(userId, teamIds);
+        }
+        return teamIds;
+    }
+
+    public void evictUser(Long userId) {
+        evict(() -> teamIdsByUser.remove(userId));
+    }
+
+    public void evictUsers(Collection<Long> userIds) {
+        evict(() -> teamIdsByUser.keySet().removeAll(userIds));
+    }
+
+    public void evictTeam(Long teamId) {
+        evict(() -> teamIdsByUser.values().removeIf(teamIds -> teamIds.contains(teamId)));
+    }
+
+    public void evictAll() {
+        evict(teamIdsByUser::clear);
+    }
+
+    // 트랜잭션 안이면 커밋 전에 다시 읽힌 값이 남지 않도록 커밋 후에 한 번 더 지운다.
+    private void evict(Runnable eviction) {
+        generation.incrementAndGet();
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    generation.incrementAndGet();
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    private void shrink() {
+        Iterator<Long> iterator = teamIdsByUser.keySet().iterator();
+        for (int i = maxUsers / 10; i >= 0 && iterator.hasNext(); i--) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+}
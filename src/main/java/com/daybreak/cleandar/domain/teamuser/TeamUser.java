@@ -6,15 +6,21 @@ import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 
 @Entity
 @Getter
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-@Table(name = "teamsusers")
+@EntityListeners(TeamUserListener.class)
+@Table(name = "teamsusers", uniqueConstraints = {@UniqueConstraint(columnNames = {"teams_id", "users_id"})})
 public class TeamUser {
 
+    public static final String WAIT = "wait";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -33,7 +39,7 @@ public class TeamUser {
     public TeamUser(Team team, User user) {
         this.team = team;
         this.user = user;
-        this.status = "wait";
+        this.status = WAIT;
         this.team.getTeamUsers().add(this);
     }
 }
@@ -0,0 +1,26 @@
+package com.daybreak.cleandar.domain.teamuser;
+
+import java.util.List;
+
+public interface TeamUserBatchRepository {
+
+    /**
+     * 이메일로 사용자를 찾아 팀 멤버(wait)로 추가한다. 이메일마다 insert ... select 한 건이 batch 로 묶인다.
+     */
+    int insertAllByEmail(Long teamId, List<String> emails);
+
+    /**
+     * 사용자 id 목록을 팀 멤버(wait)로 추가한다. 하나의 batch 로 전송된다.
+     */
+    int insertAll(Long teamId, List<Long> userIds);
+
+    /**
+     * 팀 멤버를 최대 limit 건까지 삭제한다. 트랜잭션 밖에서 호출하면 chunk 마다 바로 커밋된다.
+     */
+    int deleteChunkByTeamId(Long teamId, int limit);
+
+    /**
+     * 팀의 members_version 을 올린다. 렌더링해 둔 팀원 목록은 이 값이 바뀌면 다시 그린다.
+     */
+    void touchMembers(Long teamId);
+}
@@ -0,0 +1,80 @@
+package com.daybreak.cleandar.domain.teamuser;
+
+import com.daybreak.cleandar.cache.SecondLevelCacheEvictor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class TeamUserBatchRepositoryImpl implements TeamUserBatchRepository {
+
+    private static final String INSERT_BY_EMAIL = "INSERT INTO teamsusers (teams_id, users_id, status) SELECT ?, id, ? FROM users WHERE email = ?";
+    private static final String INSERT = "INSERT INTO teamsusers (teams_id, users_id, status) VALUES (?, ?, ?)";
+    private static final String DELETE_CHUNK = "DELETE FROM teamsusers WHERE teams_id = ? LIMIT ?";
+    private static final String TOUCH_MEMBERS = "UPDATE teams SET members_version = members_version + 1 WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    // @DataJpaTest 처럼 evictor 가 없는 컨텍스트에서도 쓸 수 있도록 ObjectProvider 로 받는다.
+    private final ObjectProvider<SecondLevelCacheEvictor> secondLevelCacheEvictor;
+
+    @Override
+    public int insertAllByEmail(Long teamId, List<String> emails) {
+        jdbcTemplate.batchUpdate(INSERT_BY_EMAIL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setLong(1, teamId);
+                ps.setString(2, TeamUser.WAIT);
+                ps.setString(3, emails.get(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return emails.size();
+            }
+        });
+        touchMembers(teamId);
+        secondLevelCacheEvictor.ifAvailable(evictor -> evictor.membershipsChanged(teamId));
+        return emails.size();
+    }
+
+    @Override
+    public int insertAll(Long teamId, List<Long> userIds) {
+        jdbcTemplate.batchUpdate(INSERT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setLong(1, teamId);
+                ps.setLong(2, userIds.get(i));
+                ps.setString(3, TeamUser.WAIT);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return userIds.size();
+            }
+        });
+        touchMembers(teamId);
+        secondLevelCacheEvictor.ifAvailable(evictor -> evictor.membershipsInserted(teamId, userIds));
+        return userIds.size();
+    }
+
+    @Override
+    public int deleteChunkByTeamId(Long teamId, int limit) {
+        int deleted = jdbcTemplate.update(DELETE_CHUNK, teamId, limit);
+        if (deleted > 0) {
+            touchMembers(teamId);
+        }
+        secondLevelCacheEvictor.ifAvailable(evictor -> evictor.membershipsChanged(teamId));
+        return deleted;
+    }
+
+    @Override
+    public void touchMembers(Long teamId) {
+        jdbcTemplate.update(TOUCH_MEMBERS, teamId);
+        secondLevelCacheEvictor.ifAvailable(evictor -> evictor.teamUpdated(teamId));
+    }
+}
@@ -0,0 +1,24 @@
+package com.daybreak.cleandar.domain.teamuser;
+
+import org.springframework.beans.factory.ObjectProvider;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+
+public class TeamUserListener {
+
+    private final ObjectProvider<TeamMembershipCache> teamMembershipCache;
+    private final ObjectProvider<TeamUserRepository> teamUserRepository;
+
+    public TeamUserListener(ObjectProvider<TeamMembershipCache> teamMembershipCache, ObjectProvider<TeamUserRepository> teamUserRepository) {
+        this.teamMembershipCache = teamMembershipCache;
+        this.teamUserRepository = teamUserRepository;
+    }
+
+    @PostPersist
+    @PostRemove
+    public void evict(TeamUser teamUser) {
+        teamMembershipCache.ifAvailable(cache -> cache.evictUser(teamUser.getUser().getId()));
+        teamUserRepository.ifAvailable(repository -> repository.touchMembers(teamUser.getTeam().getId()));
+    }
+}
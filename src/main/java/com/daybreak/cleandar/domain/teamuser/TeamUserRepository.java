@@ -1,12 +1,41 @@
 package com.daybreak.cleandar.domain.teamuser;
 
+import com.daybreak.cleandar.cache.SecondLevelCacheConfig;
 import com.daybreak.cleandar.domain.team.Team;
+import com.daybreak.cleandar.domain.team.TeamDto;
 import com.daybreak.cleandar.domain.user.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
+
+import java.util.Collection;
 import java.util.List;
 
-public interface TeamUserRepository extends JpaRepository<TeamUser, Long> {
+public interface TeamUserRepository extends JpaRepository<TeamUser, Long>, TeamUserBatchRepository {
+    @QueryHints({@QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = SecondLevelCacheConfig.TEAM_USER_QUERIES)})
     List<TeamUser> findByTeam(Team team);
+
+    @QueryHints({@QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = SecondLevelCacheConfig.TEAM_USER_QUERIES)})
     List<TeamUser> findTeamUserByUser(User user);
+
+    @Query("select new com.daybreak.cleandar.domain.team.TeamDto$Member(tu.id, u.id, u.name, u.email, tu.status) " +
+            "from TeamUser tu join tu.user u where tu.team.id = :teamId order by tu.id")
+    List<TeamDto.Member> findMembersByTeamId(@Param("teamId") Long teamId);
+
+    @Query("select tu.team.id from TeamUser tu where tu.user.id = :userId")
+    List<Long> findTeamIdsByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("delete from TeamUser tu where tu.team.id = :teamId")
+    int deleteAllByTeamId(@Param("teamId") Long teamId);
+
+    @Query("select u.id from User u where u.id in :userIds " +
+            "and not exists (select tu.id from TeamUser tu where tu.team.id = :teamId and tu.user = u)")
+    List<Long> findInvitableUserIds(@Param("teamId") Long teamId, @Param("userIds") Collection<Long> userIds);
 }
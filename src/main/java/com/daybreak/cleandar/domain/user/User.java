@@ -6,6 +6,9 @@ import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -16,6 +19,7 @@ import java.util.List;
 
 @Entity
 @Getter
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Table(name = "users")
 public class User {
@@ -37,10 +41,13 @@ public class User {
 
     private String name;
 
+    @BatchSize(size = 100)
     @OneToMany(fetch = FetchType.EAGER, mappedBy = "user")
     private List<Schedule> schedules = new ArrayList<>();
 
     //찾아볼내용 테이블과 테이블 연결시(N:M)
+    @BatchSize(size = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @OneToMany(fetch = FetchType.LAZY, mappedBy = "user")
     private List<TeamUser> teamUser = new ArrayList<>();
 
@@ -51,6 +58,15 @@ public class User {
         this.name = name;
     }
 
+    /**
+     * 세션의 UserPrincipal 값으로 만든 참조. 영속 상태가 아니고 id, email, name 만 채워지므로 저장하거나 병합하지 않는다.
+     */
+    public static User reference(Long id, String email, String name) {
+        User user = new User(email, null, name);
+        user.id = id;
+        return user;
+    }
+
     public void updateName(String name) {
         this.name = name;
     }
@@ -0,0 +1,23 @@
+package com.daybreak.cleandar.domain.user;
+
+import com.daybreak.cleandar.security.UserPrincipalDetailsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/users")
+public class UserApiController {
+
+    private final UserPrincipalDetailsService userService;
+
+    @GetMapping("/search")
+    public List<UserDto.Response> search(@RequestParam String word) {
+        return userService.searchByWord(word);
+    }
+}
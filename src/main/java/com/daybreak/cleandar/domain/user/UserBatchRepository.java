@@ -0,0 +1,12 @@
+package com.daybreak.cleandar.domain.user;
+
+import java.util.List;
+
+public interface UserBatchRepository {
+
+    /**
+     * JDBC batch 로 사용자를 한 번에 저장한다.
+     * IDENTITY 전략에서는 Hibernate 가 insert 를 batch 로 묶지 못하기 때문에 영속성 컨텍스트를 거치지 않는다.
+     */
+    int insertAll(List<User> users);
+}
@@ -1,10 +1,16 @@
 package com.daybreak.cleandar.domain.user;
 
+import com.daybreak.cleandar.security.UserPrincipal;
 import com.daybreak.cleandar.security.UserPrincipalDetailsService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.List;
 
 @Controller
@@ -12,6 +18,7 @@ import java.util.List;
 public class UserController {
 
     private final UserPrincipalDetailsService userService;
+    private final UserProvisioningService provisioningService;
 
     @GetMapping("/login")
     public String loginForm() {
@@ -40,6 +47,26 @@ public class UserController {
         return userService.searchByWord(word);
     }
 
+    @PostMapping(value = "users/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<UserDto.ProvisionResult> provision(@AuthenticationPrincipal UserPrincipal principal,
+                                                             @RequestBody List<UserDto.Request> requests,
+                                                             @RequestParam(required = false) Long teamId) {
+        try {
+            return ResponseEntity.ok(provisioningService.provision(principal.getUser(), requests, teamId));
+        } catch (IllegalArgumentException exception) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping(value = "users/bulk", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @ResponseBody
+    public ResponseEntity<UserDto.ProvisionResult> provisionCsv(@AuthenticationPrincipal UserPrincipal principal,
+                                                                @RequestParam MultipartFile file,
+                                                                @RequestParam(required = false) Long teamId) throws IOException {
+        return provision(principal, provisioningService.readCsv(file.getInputStream()), teamId);
+    }
+
     // TODO 미사용 코드
     // @GetMapping("/users")
     // public ModelAndView updateForm(@AuthenticationPrincipal UserPrincipal userPrincipal) {
@@ -2,6 +2,8 @@ package com.daybreak.cleandar.domain.user;
 
 import lombok.*;
 
+import java.util.List;
+
 public class UserDto {
 
     @Getter
@@ -35,4 +37,23 @@ public class UserDto {
             name = user.getName();
         }
     }
+
+    @Getter
+    @AllArgsConstructor
+    public static class ProvisionResult {
+        private int requested;
+        private int created;
+        private int attached;
+        private long elapsedMillis;
+        private double usersPerSecond;
+        private List<RowError> errors;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class RowError {
+        private int row;
+        private String email;
+        private String message;
+    }
 }
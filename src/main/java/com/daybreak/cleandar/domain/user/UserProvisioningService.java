@@ -0,0 +1,268 @@
+package com.daybreak.cleandar.domain.user;
+
+import com.daybreak.cleandar.audit.AuditEvent;
+import com.daybreak.cleandar.audit.AuditLog;
+import com.daybreak.cleandar.coherence.ChangeLog;
+import com.daybreak.cleandar.coherence.ChangeType;
+import com.daybreak.cleandar.domain.team.Team;
+import com.daybreak.cleandar.domain.team.TeamRepository;
+import com.daybreak.cleandar.domain.teamuser.TeamMembershipCache;
+import com.daybreak.cleandar.domain.teamuser.TeamUserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 여러 사용자를 한 번에 만든다. 한 요청의 행 수는 max-rows 로 제한하고,
+ * BCrypt 해시는 hash-threads 개의 전용 스레드에서만 돌려서 동시에 여러 요청이 와도 다른 작업의 CPU 를 뺏지 않는다.
+ */
+@Slf4j
+@Service
+public class UserProvisioningService implements DisposableBean {
+
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+$");
+
+    private final UserRepository userRepository;
+    private final TeamRepository teamRepository;
+    private final TeamUserRepository teamUserRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+    private final TeamMembershipCache teamMembershipCache;
+    private final ChangeLog changeLog;
+    private final AuditLog auditLog;
+
+    private final ThreadPoolTaskExecutor hashExecutor = new ThreadPoolTaskExecutor();
+    private final int hashThreads;
+
+    @Value("${cleandar.provisioning.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${cleandar.provisioning.max-rows:5000}")
+    private int maxRows;
+
+    public UserProvisioningService(UserRepository userRepository, TeamRepository teamRepository,
+                                   TeamUserRepository teamUserRepository, PasswordEncoder passwordEncoder,
+                                   TransactionTemplate transactionTemplate, TeamMembershipCache teamMembershipCache,
+                                   ChangeLog changeLog, AuditLog auditLog,
+                                   @Value("${cleandar.provisioning.hash-threads:2}") int hashThreads) {
+        this.userRepository = userRepository;
+        this.teamRepository = teamRepository;
+        this.teamUserRepository = teamUserRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.transactionTemplate = transactionTemplate;
+        this.teamMembershipCache = teamMembershipCache;
+        this.changeLog = changeLog;
+        this.auditLog = auditLog;
+        this.hashThreads = hashThreads;
+
+        hashExecutor.setCorePoolSize(hashThreads);
+        hashExecutor.setMaxPoolSize(hashThreads);
+        hashExecutor.setThreadNamePrefix("provisioning-hash-");
+        hashExecutor.initialize();
+    }
+
+    public UserDto.ProvisionResult provision(User requester, List<UserDto.Request> requests, Long teamId) {
+        if (requests.size() > maxRows) {
+            throw new IllegalArgumentException("too many rows");
+        }
+        if (teamId != null) {
+            Team team = teamRepository.findById(teamId).orElseThrow(() -> new IllegalArgumentException("Not Found Entity"));
+            if (!team.getLeader().getId().equals(requester.getId())) {
+                throw new IllegalArgumentException("is not leader");
+            }
+        }
+
+        long started = System.nanoTime();
+        List<UserDto.RowError> errors = new ArrayList<>();
+        List<Row> rows = validate(requests, errors);
+
+        hash(rows);
+
+        int created = 0;
+        for (int from = 0; from < rows.size(); from += chunkSize) {
+            created += insertChunk(requester, rows.subList(from, Math.min(from + chunkSize, rows.size())), teamId, errors);
+        }
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        double usersPerSecond = created * 1000.0 / Math.max(elapsedMillis, 1);
+        errors.sort(Comparator.comparingInt(UserDto.RowError::getRow));
+        log.info("provisioned users requested={} created={} failed={} elapsedMs={} usersPerSecond={}",
+                requests.size(), created, errors.size(), elapsedMillis, String.format("%.1f", usersPerSecond));
+
+        return new UserDto.ProvisionResult(requests.size(), created, teamId == null ? 0 : created,
+                elapsedMillis, usersPerSecond, errors);
+    }
+
+    /**
+     * email,password,name 순서의 CSV 를 읽는다. 첫 줄이 email 로 시작하면 헤더로 보고 건너뛴다.
+     * 따옴표로 감싼 값은 지원하지 않는다.
+     */
+    public List<UserDto.Request> readCsv(InputStream inputStream) throws IOException {
+        List<UserDto.Request> requests = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        String line;
+        boolean first = true;
+        while ((line = reader.readLine()) != null) {
+            if (first && line.trim().toLowerCase().startsWith("email")) {
+                first = false;
+                continue;
+            }
+            first = false;
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            String[] columns = line.split(",", -1);
+            requests.add(UserDto.Request.builder()
+                    .email(columns[0])
+                    .password(columns.length > 1 ? columns[1] : null)
+                    .name(columns.length > 2 ? columns[2] : null)
+                    .build());
+        }
+        return requests;
+    }
+
+    // BCrypt 가 대부분의 시간을 차지하므로 전용 스레드 수만큼 나눠서 해시한다.
+    private void hash(List<Row> rows) {
+        int slices = Math.min(hashThreads, rows.size());
+        List<Future<?>> futures = new ArrayList<>(slices);
+        for (int i = 0; i < slices; i++) {
+            List<Row> slice = rows.subList(rows.size() * i / slices, rows.size() * (i + 1) / slices);
+            futures.add(hashExecutor.submit(() -> slice.forEach(row -> row.user = User.builder()
+                    .email(row.email)
+                    .password(passwordEncoder.encode(row.password))
+                    .name(row.name)
+                    .build())));
+        }
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException exception) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("provisioning interrupted", exception);
+        } catch (ExecutionException exception) {
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("password hashing failed", exception.getCause());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        hashExecutor.shutdown();
+    }
+
+    private List<Row> validate(List<UserDto.Request> requests, List<UserDto.RowError> errors) {
+        List<Row> rows = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            Row row = new Row(i + 1, requests.get(i));
+            String message = row.validate();
+            if (message == null && !seen.add(row.email)) {
+                message = "duplicate email in upload";
+            }
+            if (message == null) {
+                rows.add(row);
+            } else {
+                errors.add(new UserDto.RowError(row.index, row.email, message));
+            }
+        }
+
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < rows.size(); from += chunkSize) {
+            List<String> emails = rows.subList(from, Math.min(from + chunkSize, rows.size())).stream()
+                    .map(row -> row.email).collect(Collectors.toList());
+            existing.addAll(userRepository.findEmailsByEmailIn(emails));
+        }
+        rows.removeIf(row -> {
+            if (existing.contains(row.email)) {
+                errors.add(new UserDto.RowError(row.index, row.email, "email already exists"));
+                return true;
+            }
+            return false;
+        });
+        return rows;
+    }
+
+    private int insertChunk(User requester, List<Row> chunk, Long teamId, List<UserDto.RowError> errors) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(requester, chunk, teamId));
+            return chunk.size();
+        } catch (DataAccessException exception) {
+            // chunk 전체가 롤백되었으니 한 행씩 다시 넣어서 실패한 행만 골라낸다.
+            int created = 0;
+            for (Row row : chunk) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert(requester, Collections.singletonList(row), teamId));
+                    created++;
+                } catch (DataAccessException rowException) {
+                    errors.add(new UserDto.RowError(row.index, row.email, rowException.getMostSpecificCause().getMessage()));
+                }
+            }
+            return created;
+        }
+    }
+
+    // 팀에 붙이는 경우 TeamService.invite 와 같이 다른 인스턴스의 캐시를 지우고 감사 로그를 남긴다.
+    private void insert(User requester, List<Row> rows, Long teamId) {
+        userRepository.insertAll(rows.stream().map(row -> row.user).collect(Collectors.toList()));
+        if (teamId != null) {
+            List<String> emails = rows.stream().map(row -> row.email).collect(Collectors.toList());
+            teamUserRepository.insertAllByEmail(teamId, emails);
+            List<Long> userIds = userRepository.findIdsByEmailIn(emails);
+            teamMembershipCache.evictUsers(userIds);
+            changeLog.append(ChangeType.USER, userIds);
+            changeLog.append(ChangeType.TEAM, teamId);
+            auditLog.record(requester.getId(), AuditEvent.Entity.TEAM, teamId, AuditEvent.Action.INVITE);
+        }
+    }
+
+    private static class Row {
+        private final int index;
+        private final String email;
+        private final String password;
+        private final String name;
+        private User user;
+
+        Row(int index, UserDto.Request request) {
+            this.index = index;
+            this.email = trim(request.getEmail());
+            this.password = request.getPassword();
+            this.name = trim(request.getName());
+        }
+
+        String validate() {
+            if (email == null || !EMAIL.matcher(email).matches()) {
+                return "invalid email";
+            }
+            if (password == null || password.isEmpty()) {
+                return "password is required";
+            }
+            if (name == null || name.isEmpty()) {
+                return "name is required";
+            }
+            return null;
+        }
+
+        private static String trim(String value) {
+            return value == null ? null : value.trim();
+        }
+    }
+}
@@ -1,14 +1,29 @@
 package com.daybreak.cleandar.domain.user;
 
+import com.daybreak.cleandar.cache.SecondLevelCacheConfig;
 import com.daybreak.cleandar.domain.teamuser.TeamUser;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
+
+import java.util.Collection;
 import java.util.List;
 
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserBatchRepository {
+    @QueryHints({@QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = SecondLevelCacheConfig.USER_QUERIES)})
     User findUserByEmail(String email);
 
     List<User> findByTeamUserIn(List<TeamUser> teamUsers);
 
     List<User> findAllByNameStartingWithOrEmailStartingWith(String word, String sameWord);
+
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findEmailsByEmailIn(@Param("emails") Collection<String> emails);
+
+    @Query("select u.id from User u where u.email in :emails")
+    List<Long> findIdsByEmailIn(@Param("emails") Collection<String> emails);
 }
@@ -0,0 +1,27 @@
+package com.daybreak.cleandar.metrics;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * 애플리케이션이 쓰는 dataSource 빈을 datasource-proxy 로 감싸서 요청별 SQL 수와 시간을 센다.
+ */
+@Component
+public class DataSourceProxyPostProcessor implements BeanPostProcessor {
+
+    static final String DATA_SOURCE = "dataSource";
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource && DATA_SOURCE.equals(beanName)) {
+            return ProxyDataSourceBuilder.create((DataSource) bean)
+                    .name(beanName)
+                    .listener(new RequestTimingQueryListener())
+                    .build();
+        }
+        return bean;
+    }
+}
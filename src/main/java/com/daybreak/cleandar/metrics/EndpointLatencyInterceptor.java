@@ -0,0 +1,52 @@
+package com.daybreak.cleandar.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 컨트롤러 메서드별로 핸들러 시작부터 응답 완료까지의 시간을 LatencyRecorder 에 남긴다. 뷰 렌더링도 들어간다.
+ * 비동기 요청은 처음 들어온 시점부터 결과를 쓰고 끝날 때까지 잰다.
+ */
+@RequiredArgsConstructor
+public class EndpointLatencyInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String STARTED = EndpointLatencyInterceptor.class.getName() + ".started";
+
+    private final LatencyRecorder latencyRecorder;
+    private final Map<Method, LatencyRecorder.Probe> probes = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod && request.getAttribute(STARTED) == null) {
+            request.setAttribute(STARTED, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object started = request.getAttribute(STARTED);
+        if (!(handler instanceof HandlerMethod) || started == null) {
+            return;
+        }
+        long elapsed = System.nanoTime() - (Long) started;
+        Method method = ((HandlerMethod) handler).getMethod();
+        LatencyRecorder.Probe probe = probes.get(method);
+        if (probe == null) {
+            probe = probes.computeIfAbsent(method, key -> latencyRecorder.probe(LatencyRecorder.Kind.ENDPOINT,
+                    request.getMethod() + " " + request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE)));
+        }
+        if (latencyRecorder.record(probe, elapsed)) {
+            String query = request.getQueryString();
+            latencyRecorder.slow(probe, elapsed, query == null ? request.getRequestURI() : request.getRequestURI() + "?" + query);
+        }
+    }
+}
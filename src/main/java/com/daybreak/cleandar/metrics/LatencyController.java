@@ -0,0 +1,20 @@
+package com.daybreak.cleandar.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 최근 window 동안 저장소 메서드, 엔드포인트별 지연 분포와 가장 느렸던 호출. /admin/** 은 localhost 에서만 열린다.
+ */
+@RestController
+@RequiredArgsConstructor
+public class LatencyController {
+
+    private final LatencyRecorder latencyRecorder;
+
+    @GetMapping("/admin/latency")
+    public LatencyRecorder.Report latency() {
+        return latencyRecorder.report();
+    }
+}
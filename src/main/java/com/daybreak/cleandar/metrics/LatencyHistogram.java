@@ -0,0 +1,143 @@
+package com.daybreak.cleandar.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 최근 구간의 지연 분포를 마이크로초 단위로 센다. 락 없이 칸마다 원자적으로 더한다.
+ * 16 미만은 1 단위로, 그 위는 2 의 거듭제곱 구간을 8 칸으로 나눠 센다(HdrHistogram 과 같은 방식, 상대 오차 12.5% 이하).
+ * 시간 축은 slots 개의 구간을 돌려 쓴다. 구간이 바뀌면 그 칸을 처음 쓰는 스레드가 비운다.
+ * 비우는 동안 옛 구간 값으로 들어온 기록 몇 개는 새 구간에 섞이거나 빠질 수 있다.
+ */
+class LatencyHistogram {
+
+    private static final int LINEAR = 16;
+    private static final int SUB_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int MAX_EXPONENT = 40;
+    static final int BUCKETS = LINEAR + (MAX_EXPONENT - 3) * SUB_BUCKETS;
+
+    private final Slot[] slots;
+
+    LatencyHistogram(int slots) {
+        this.slots = new Slot[slots];
+        for (int i = 0; i < slots; i++) {
+            this.slots[i] = new Slot();
+        }
+    }
+
+    void record(long micros, long interval) {
+        Slot slot = slot(interval);
+        slot.counts.incrementAndGet(bucket(micros));
+        long max;
+        while (micros > (max = slot.max.get()) && !slot.max.compareAndSet(max, micros)) {
+            // 더 큰 값이 먼저 들어왔으면 다시 비교한다.
+        }
+    }
+
+    /**
+     * interval 을 포함해 최근 slots 개 구간을 합친다.
+     */
+    Snapshot snapshot(long interval) {
+        long[] counts = new long[BUCKETS];
+        long max = 0;
+        for (Slot slot : slots) {
+            long epoch = slot.epoch;
+            if (epoch > interval || epoch <= interval - slots.length) {
+                continue;
+            }
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] += slot.counts.get(i);
+            }
+            max = Math.max(max, slot.max.get());
+        }
+        return new Snapshot(counts, max);
+    }
+
+    private Slot slot(long interval) {
+        Slot slot = slots[(int) (interval % slots.length)];
+        if (slot.epoch != interval) {
+            synchronized (slot) {
+                if (slot.epoch != interval) {
+                    for (int i = 0; i < BUCKETS; i++) {
+                        slot.counts.set(i, 0);
+                    }
+                    slot.max.set(0);
+                    slot.epoch = interval;
+                }
+            }
+        }
+        return slot;
+    }
+
+    static int bucket(long micros) {
+        if (micros < LINEAR) {
+            return (int) Math.max(0, micros);
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        int sub = (int) (micros >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR + (exponent - 4) * SUB_BUCKETS + sub;
+    }
+
+    // 칸에 들어가는 가장 큰 값
+    static long upperBound(int bucket) {
+        if (bucket < LINEAR) {
+            return bucket;
+        }
+        int exponent = (bucket - LINEAR) / SUB_BUCKETS + 4;
+        int sub = (bucket - LINEAR) % SUB_BUCKETS;
+        long lower = (long) (SUB_BUCKETS + sub) << (exponent - SUB_BITS);
+        return lower + (1L << (exponent - SUB_BITS)) - 1;
+    }
+
+    private static final class Slot {
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+        private final AtomicLong max = new AtomicLong();
+        private volatile long epoch = -1;
+    }
+
+    static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long max;
+
+        private Snapshot(long[] counts, long max) {
+            this.counts = counts;
+            long count = 0;
+            for (long c : counts) {
+                count += c;
+            }
+            this.count = count;
+            this.max = max;
+        }
+
+        long count() {
+            return count;
+        }
+
+        long max() {
+            return max;
+        }
+
+        /**
+         * 분위수의 상한. 가장 큰 값보다 크게 돌려주지 않는다.
+         */
+        long percentile(double quantile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(quantile * count);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(upperBound(i), max);
+                }
+            }
+            return max;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.daybreak.cleandar.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 저장소 메서드와 컨트롤러 엔드포인트의 최근 window 동안의 지연 분포와 가장 느린 호출을 프로세스 안에 모은다.
+ * Micrometer 타이머는 외부로 내보내는 용도이고, 이 기록은 지연이 튈 때 /admin/latency 에서 바로 원인을 찾는 용도다.
+ * 느린 호출 목록에 들어갈 때만 파라미터를 문자열로 만든다.
+ */
+@Component
+public class LatencyRecorder {
+
+    public enum Kind {REPOSITORY, ENDPOINT}
+
+    private static final int MAX_PARAMETERS_LENGTH = 200;
+
+    private final Map<String, Probe> probes = new ConcurrentHashMap<>();
+    private final Map<Kind, SlowInvocations> slowest = new EnumMap<>(Kind.class);
+    private final int slots;
+    private final long slotMillis;
+
+    public LatencyRecorder(@Value("${cleandar.latency.window:PT1M}") Duration window,
+                           @Value("${cleandar.latency.slots:6}") int slots,
+                           @Value("${cleandar.latency.top:20}") int top) {
+        this.slots = slots;
+        this.slotMillis = Math.max(1, window.toMillis() / slots);
+        for (Kind kind : Kind.values()) {
+            slowest.put(kind, new SlowInvocations(slots, top));
+        }
+    }
+
+    public Probe probe(Kind kind, String name) {
+        return probes.computeIfAbsent(kind + " " + name, key -> new Probe(kind, name, new LatencyHistogram(slots)));
+    }
+
+    /**
+     * 느린 호출 목록에 들어갈 만큼 느렸으면 true. 그러면 호출한 쪽이 파라미터를 만들어 slow 를 부른다.
+     */
+    public boolean record(Probe probe, long nanos) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+        long interval = System.currentTimeMillis() / slotMillis;
+        probe.histogram.record(micros, interval);
+        return slowest.get(probe.kind).qualifies(micros, interval);
+    }
+
+    public void slow(Probe probe, long nanos, String parameters) {
+        long now = System.currentTimeMillis();
+        if (parameters != null && parameters.length() > MAX_PARAMETERS_LENGTH) {
+            parameters = parameters.substring(0, MAX_PARAMETERS_LENGTH) + "...";
+        }
+        slowest.get(probe.kind).offer(new SlowInvocations.Invocation(probe.name, TimeUnit.NANOSECONDS.toMicros(nanos), now, parameters),
+                now / slotMillis);
+    }
+
+    public Report report() {
+        long interval = System.currentTimeMillis() / slotMillis;
+        Map<Kind, List<Stats>> stats = new EnumMap<>(Kind.class);
+        for (Kind kind : Kind.values()) {
+            stats.put(kind, new ArrayList<>());
+        }
+        for (Probe probe : probes.values()) {
+            LatencyHistogram.Snapshot snapshot = probe.histogram.snapshot(interval);
+            if (snapshot.count() > 0) {
+                stats.get(probe.kind).add(new Stats(probe.name, snapshot.count(), millis(snapshot.percentile(0.5)),
+                        millis(snapshot.percentile(0.9)), millis(snapshot.percentile(0.99)), millis(snapshot.max())));
+            }
+        }
+        stats.values().forEach(list -> list.sort(Comparator.comparingDouble(Stats::getP99).reversed()));
+        return new Report(slotMillis * slots / 1000.0, stats.get(Kind.REPOSITORY), stats.get(Kind.ENDPOINT),
+                slow(Kind.REPOSITORY, interval), slow(Kind.ENDPOINT, interval));
+    }
+
+    private List<Slow> slow(Kind kind, long interval) {
+        List<Slow> slow = new ArrayList<>();
+        for (SlowInvocations.Invocation invocation : slowest.get(kind).snapshot(interval)) {
+            slow.add(new Slow(invocation.getName(), millis(invocation.getMicros()),
+                    LocalDateTime.ofInstant(Instant.ofEpochMilli(invocation.getAt()), ZoneId.systemDefault()).toString(),
+                    invocation.getParameters()));
+        }
+        return slow;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    public static final class Probe {
+        private final Kind kind;
+        private final String name;
+        private final LatencyHistogram histogram;
+
+        private Probe(Kind kind, String name, LatencyHistogram histogram) {
+            this.kind = kind;
+            this.name = name;
+            this.histogram = histogram;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Report {
+        private double windowSeconds;
+        private List<Stats> repositories;
+        private List<Stats> endpoints;
+        private List<Slow> slowestRepositories;
+        private List<Slow> slowestEndpoints;
+    }
+
+    // 밀리초
+    @Getter
+    @AllArgsConstructor
+    public static class Stats {
+        private String name;
+        private long count;
+        private double p50;
+        private double p90;
+        private double p99;
+        private double max;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Slow {
+        private String name;
+        private double millis;
+        private String at;
+        private String parameters;
+    }
+}
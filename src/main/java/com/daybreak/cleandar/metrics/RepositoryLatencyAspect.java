@@ -0,0 +1,84 @@
+package com.daybreak.cleandar.metrics;
+
+import com.daybreak.cleandar.domain.schedule.ScheduleRepository;
+import com.daybreak.cleandar.domain.team.TeamRepository;
+import com.daybreak.cleandar.domain.user.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.time.temporal.Temporal;
+import java.util.Collection;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ScheduleRepository, TeamRepository, UserRepository 호출 시간을 LatencyRecorder 에 남긴다.
+ * 물려받은 save, findById 도 저장소별로 따로 센다. Stream 을 돌려주는 메서드는 Stream 을 만들 때까지만 잰다.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RepositoryLatencyAspect {
+
+    private final LatencyRecorder latencyRecorder;
+
+    private final Map<Method, LatencyRecorder.Probe> schedules = new ConcurrentHashMap<>();
+    private final Map<Method, LatencyRecorder.Probe> teams = new ConcurrentHashMap<>();
+    private final Map<Method, LatencyRecorder.Probe> users = new ConcurrentHashMap<>();
+
+    @Around("this(com.daybreak.cleandar.domain.schedule.ScheduleRepository)")
+    public Object schedule(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, schedules, ScheduleRepository.class);
+    }
+
+    @Around("this(com.daybreak.cleandar.domain.team.TeamRepository)")
+    public Object team(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, teams, TeamRepository.class);
+    }
+
+    @Around("this(com.daybreak.cleandar.domain.user.UserRepository)")
+    public Object user(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, users, UserRepository.class);
+    }
+
+    private Object time(ProceedingJoinPoint joinPoint, Map<Method, LatencyRecorder.Probe> probes, Class<?> repository) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        LatencyRecorder.Probe probe = probes.get(method);
+        if (probe == null) {
+            probe = probes.computeIfAbsent(method, key -> latencyRecorder.probe(LatencyRecorder.Kind.REPOSITORY,
+                    repository.getSimpleName() + "." + key.getName()));
+        }
+        long started = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            long elapsed = System.nanoTime() - started;
+            if (latencyRecorder.record(probe, elapsed)) {
+                latencyRecorder.slow(probe, elapsed, describe(joinPoint.getArgs()));
+            }
+        }
+    }
+
+    // 엔티티의 toString 은 지연 로딩을 부를 수 있어서 값 타입만 그대로 쓰고 나머지는 타입 이름만 남긴다.
+    static String describe(Object[] args) {
+        StringJoiner joiner = new StringJoiner(", ");
+        for (Object arg : args) {
+            if (arg == null || arg instanceof Number || arg instanceof Boolean || arg instanceof Enum || arg instanceof Temporal) {
+                joiner.add(String.valueOf(arg));
+            } else if (arg instanceof CharSequence) {
+                joiner.add("\"" + arg + "\"");
+            } else if (arg instanceof Collection) {
+                joiner.add("[" + ((Collection<?>) arg).size() + " items]");
+            } else {
+                joiner.add(arg.getClass().getSimpleName());
+            }
+        }
+        return joiner.toString();
+    }
+}
@@ -0,0 +1,143 @@
+package com.daybreak.cleandar.metrics;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 요청 하나의 시간 분해(컨트롤러, 서비스, SQL, 렌더링)를 모은다.
+ * 요청을 처리하는 스레드에 묶어두고 서블릿 필터가 요청이 끝날 때 Server-Timing 헤더와 로그로 내보낸다.
+ */
+public class RequestTiming {
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startedAt = System.nanoTime();
+    private final Map<String, Integer> statements = new HashMap<>();
+
+    private int sqlCount;
+    private long sqlNanos;
+    private long serviceNanos;
+    private int serviceDepth;
+    private long handlerStartedAt;
+    private long handlerNanos;
+    private long handlerEndedAt;
+    private long renderNanos;
+    private boolean completed;
+
+    public static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    static void bind(RequestTiming timing) {
+        CURRENT.set(timing);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    /**
+     * 요청을 다른 스레드에서 이어 처리할 때 쓴다. 그 스레드는 자기 RequestTiming 에 모으고, task 가 끝나면 요청의 것에 더한다.
+     * 요청 스레드가 아직 기록하는 중일 수 있어서 기록과 합치기는 잠금 아래서 한다. 요청이 먼저 끝났으면(타임아웃) 합치지 않는다.
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        RequestTiming request = CURRENT.get();
+        if (request == null) {
+            return task;
+        }
+        return () -> {
+            RequestTiming timing = new RequestTiming();
+            CURRENT.set(timing);
+            try {
+                return task.get();
+            } finally {
+                CURRENT.remove();
+                request.merge(timing);
+            }
+        };
+    }
+
+    private synchronized void merge(RequestTiming other) {
+        if (completed) {
+            return;
+        }
+        sqlCount += other.sqlCount;
+        sqlNanos += other.sqlNanos;
+        serviceNanos += other.serviceNanos;
+        other.statements.forEach((sql, count) -> statements.merge(sql, count, Integer::sum));
+    }
+
+    synchronized void recordStatement(String sql, long elapsedMillis) {
+        sqlCount++;
+        sqlNanos += TimeUnit.MILLISECONDS.toNanos(elapsedMillis);
+        statements.merge(sql, 1, Integer::sum);
+    }
+
+    // 서비스가 다른 서비스를 부르는 경우 바깥 호출 시간만 센다.
+    synchronized void enterService() {
+        serviceDepth++;
+    }
+
+    synchronized void exitService(long elapsedNanos) {
+        if (--serviceDepth == 0) {
+            serviceNanos += elapsedNanos;
+        }
+    }
+
+    synchronized void handlerStarted() {
+        handlerStartedAt = System.nanoTime();
+    }
+
+    synchronized void handlerEnded() {
+        handlerEndedAt = System.nanoTime();
+        handlerNanos += handlerEndedAt - handlerStartedAt;
+    }
+
+    synchronized void completed() {
+        completed = true;
+        if (handlerEndedAt != 0) {
+            renderNanos += System.nanoTime() - handlerEndedAt;
+        }
+    }
+
+    public int getSqlCount() {
+        return sqlCount;
+    }
+
+    double totalMillis() {
+        return millis(System.nanoTime() - startedAt);
+    }
+
+    double controllerMillis() {
+        return millis(Math.max(handlerNanos - serviceNanos, 0));
+    }
+
+    double serviceMillis() {
+        return millis(serviceNanos);
+    }
+
+    double sqlMillis() {
+        return millis(sqlNanos);
+    }
+
+    double renderMillis() {
+        return millis(renderNanos);
+    }
+
+    String serverTiming() {
+        return String.format(Locale.ROOT,
+                "total;dur=%.1f, controller;dur=%.1f, service;dur=%.1f, sql;dur=%.1f;desc=\"%d statements\", render;dur=%.1f",
+                totalMillis(), controllerMillis(), serviceMillis(), sqlMillis(), sqlCount, renderMillis());
+    }
+
+    List<Map.Entry<String, Integer>> topStatements(int limit) {
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>(statements.entrySet());
+        entries.sort(Map.Entry.<String, Integer>comparingByValue().reversed());
+        return entries.subList(0, Math.min(limit, entries.size()));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
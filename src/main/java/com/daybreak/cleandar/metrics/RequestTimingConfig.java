@@ -0,0 +1,19 @@
+package com.daybreak.cleandar.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class RequestTimingConfig implements WebMvcConfigurer {
+
+    private final LatencyRecorder latencyRecorder;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestTimingInterceptor());
+        registry.addInterceptor(new EndpointLatencyInterceptor(latencyRecorder));
+    }
+}
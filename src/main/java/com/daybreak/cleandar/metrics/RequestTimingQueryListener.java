@@ -0,0 +1,26 @@
+package com.daybreak.cleandar.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * datasource-proxy 가 실행한 statement 를 현재 요청의 RequestTiming 에 더한다. 요청 밖(배치, 비동기 작업)의 쿼리는 무시한다.
+ */
+public class RequestTimingQueryListener implements QueryExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestTiming timing = RequestTiming.current();
+        if (timing == null || queryInfoList.isEmpty()) {
+            return;
+        }
+        timing.recordStatement(queryInfoList.get(0).getQuery(), execInfo.getElapsedTime());
+    }
+}
@@ -0,0 +1,101 @@
+package com.daybreak.cleandar.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * 요청마다 RequestTiming 을 만들고, 응답 본문을 잠시 버퍼링해 렌더링이 끝난 뒤에 Server-Timing 헤더를 붙인다.
+ * /admin, /api 아래는 응답을 스트리밍하므로 버퍼링하지 않고 측정값을 로그로만 남긴다.
+ * statement 수가 임계값을 넘으면 가장 많이 실행된 쿼리를 경고 로그로 남긴다.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    static final String ATTRIBUTE = RequestTiming.class.getName();
+    private static final String[] STREAMING_PATHS = {"/admin/", "/api/"};
+
+    @Value("${cleandar.request-timing.statement-alarm:50}")
+    private int statementAlarm;
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestTiming timing = (RequestTiming) request.getAttribute(ATTRIBUTE);
+        if (timing == null) {
+            timing = new RequestTiming();
+            request.setAttribute(ATTRIBUTE, timing);
+            if (!isStreaming(request)) {
+                response = new ContentCachingResponseWrapper(response);
+            }
+        }
+
+        RequestTiming.bind(timing);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestTiming.unbind();
+            if (!isAsyncStarted(request)) {
+                complete(request, response, timing);
+            }
+        }
+    }
+
+    private void complete(HttpServletRequest request, HttpServletResponse response, RequestTiming timing) throws IOException {
+        timing.completed();
+        ContentCachingResponseWrapper wrapper = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+        if (wrapper != null) {
+            if (!wrapper.isCommitted()) {
+                wrapper.setHeader("Server-Timing", timing.serverTiming());
+            }
+            wrapper.copyBodyToResponse();
+        }
+
+        log.info("request method={} uri={} status={} totalMs={} controllerMs={} serviceMs={} sqlCount={} sqlMs={} renderMs={}",
+                request.getMethod(), request.getRequestURI(), response.getStatus(),
+                format(timing.totalMillis()), format(timing.controllerMillis()), format(timing.serviceMillis()),
+                timing.getSqlCount(), format(timing.sqlMillis()), format(timing.renderMillis()));
+
+        if (timing.getSqlCount() > statementAlarm) {
+            StringBuilder signatures = new StringBuilder();
+            for (Map.Entry<String, Integer> statement : timing.topStatements(10)) {
+                signatures.append("\n  ").append(statement.getValue()).append(" x ").append(statement.getKey());
+            }
+            log.warn("statement alarm method={} uri={} sqlCount={} threshold={}{}",
+                    request.getMethod(), request.getRequestURI(), timing.getSqlCount(), statementAlarm, signatures);
+        }
+    }
+
+    private static boolean isStreaming(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String prefix : STREAMING_PATHS) {
+            if (path.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String format(double millis) {
+        return String.format("%.1f", millis);
+    }
+}
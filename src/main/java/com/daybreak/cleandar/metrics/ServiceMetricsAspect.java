@@ -0,0 +1,69 @@
+package com.daybreak.cleandar.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 모든 @Service 의 public 메서드 실행 시간을 cleandar.service 타이머(class, method, exception 태그)에 기록한다.
+ * 요청 처리 중이면 Server-Timing 의 service 구간에도 더한다.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    // 메서드마다, 그 안에서 예외 이름마다 타이머 하나
+    private final Map<Method, Map<String, Timer>> timers = new ConcurrentHashMap<>();
+
+    @Around("within(@org.springframework.stereotype.Service com.daybreak.cleandar..*) && execution(public * *(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        RequestTiming timing = RequestTiming.current();
+        if (timing != null) {
+            timing.enterService();
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable throwable) {
+            exception = throwable.getClass().getSimpleName();
+            throw throwable;
+        } finally {
+            long elapsed = sample.stop(timer(joinPoint, exception));
+            if (timing != null) {
+                timing.exitService(elapsed);
+            }
+        }
+    }
+
+    private Timer timer(ProceedingJoinPoint joinPoint, String exception) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Map<String, Timer> byException = timers.get(method);
+        if (byException == null) {
+            byException = timers.computeIfAbsent(method, key -> new ConcurrentHashMap<>());
+        }
+        Timer timer = byException.get(exception);
+        if (timer == null) {
+            timer = byException.computeIfAbsent(exception, key -> Timer.builder("cleandar.service")
+                    .description("service method latency")
+                    .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", method.getName())
+                    .tag("exception", key)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+        return timer;
+    }
+}
@@ -0,0 +1,85 @@
+package com.daybreak.cleandar.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * 최근 구간에서 가장 느렸던 호출 size 개. 구간마다 따로 모으고 볼 때 합친다.
+ * 구간이 가득 찬 뒤에는 가장 빠른 항목보다 느린 호출만 락을 잡으므로, 대부분의 호출은 volatile 읽기 한 번으로 끝난다.
+ */
+class SlowInvocations {
+
+    private static final Comparator<Invocation> FASTEST_FIRST = Comparator.comparingLong(Invocation::getMicros);
+
+    private final Slot[] slots;
+    private final int size;
+
+    SlowInvocations(int slots, int size) {
+        this.slots = new Slot[slots];
+        for (int i = 0; i < slots; i++) {
+            this.slots[i] = new Slot(size);
+        }
+        this.size = size;
+    }
+
+    boolean qualifies(long micros, long interval) {
+        Slot slot = slots[(int) (interval % slots.length)];
+        return slot.epoch != interval || micros > slot.threshold;
+    }
+
+    void offer(Invocation invocation, long interval) {
+        Slot slot = slots[(int) (interval % slots.length)];
+        synchronized (slot) {
+            if (slot.epoch != interval) {
+                slot.invocations.clear();
+                slot.threshold = -1;
+                slot.epoch = interval;
+            }
+            slot.invocations.add(invocation);
+            if (slot.invocations.size() > size) {
+                slot.invocations.poll();
+            }
+            if (slot.invocations.size() == size) {
+                slot.threshold = slot.invocations.peek().getMicros();
+            }
+        }
+    }
+
+    List<Invocation> snapshot(long interval) {
+        List<Invocation> invocations = new ArrayList<>();
+        for (Slot slot : slots) {
+            synchronized (slot) {
+                if (slot.epoch <= interval && slot.epoch > interval - slots.length) {
+                    invocations.addAll(slot.invocations);
+                }
+            }
+        }
+        invocations.sort(FASTEST_FIRST.reversed());
+        return invocations.size() > size ? new ArrayList<>(invocations.subList(0, size)) : invocations;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static class Invocation {
+        private String name;
+        private long micros;
+        // epoch millis
+        private long at;
+        private String parameters;
+    }
+
+    private static final class Slot {
+        private final PriorityQueue<Invocation> invocations;
+        private volatile long threshold = -1;
+        private volatile long epoch = -1;
+
+        private Slot(int size) {
+            this.invocations = new PriorityQueue<>(size + 1, FASTEST_FIRST);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.daybreak.cleandar.outbox;
+
+/**
+ * outbox 행의 type 별 처리기. OutboxWorker 가 행마다 트랜잭션을 열고 그 안에서 부른다.
+ * 예외를 던지면 그 행에서 한 작업은 모두 롤백되고 backoff 뒤에 다시 시도한다.
+ */
+public interface OutboxHandler {
+
+    String type();
+
+    void handle(OutboxMessage message);
+}
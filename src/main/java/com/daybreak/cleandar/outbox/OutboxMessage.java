@@ -0,0 +1,87 @@
+package com.daybreak.cleandar.outbox;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 요청 안에서 바로 처리하지 않고 OutboxWorker 가 나중에 처리할 작업 하나.
+ * 같은 행을 두 worker 가 동시에 처리하면 version 이 맞지 않는 쪽이 롤백된다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "outbox", indexes = {@Index(name = "idx_outbox_status_next_attempt", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_outbox_status_processed", columnList = "status, processed_at")})
+public class OutboxMessage {
+
+    public static final String PENDING = "pending";
+    public static final String DONE = "done";
+    public static final String FAILED = "failed";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Version
+    private Long version;
+
+    private String type;
+
+    private Long aggregateId;
+
+    @Lob
+    private String payload;
+
+    private String status;
+
+    private int attempts;
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    @Column(length = 500)
+    private String lastError;
+
+    @Builder
+    public OutboxMessage(String type, Long aggregateId, String payload) {
+        this.type = type;
+        this.aggregateId = aggregateId;
+        this.payload = payload;
+        this.status = PENDING;
+        this.nextAttemptAt = LocalDateTime.now();
+    }
+
+    public void done() {
+        status = DONE;
+        processedAt = LocalDateTime.now();
+    }
+
+    public void retry(String error, LocalDateTime nextAttemptAt) {
+        attempts++;
+        lastError = truncate(error);
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public void fail(String error) {
+        attempts++;
+        lastError = truncate(error);
+        status = FAILED;
+        processedAt = LocalDateTime.now();
+    }
+
+    private static String truncate(String error) {
+        return error == null || error.length() <= 500 ? error : error.substring(0, 500);
+    }
+}
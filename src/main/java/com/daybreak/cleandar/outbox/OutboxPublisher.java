@@ -0,0 +1,37 @@
+package com.daybreak.cleandar.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 호출한 쪽의 트랜잭션 안에서 outbox 행을 쓴다. 트랜잭션이 롤백되면 작업도 남지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxPublisher {
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    public OutboxMessage publish(String type, Long aggregateId, Object payload) {
+        try {
+            return outboxRepository.save(OutboxMessage.builder()
+                    .type(type)
+                    .aggregateId(aggregateId)
+                    .payload(objectMapper.writeValueAsString(payload))
+                    .build());
+        } catch (JsonProcessingException exception) {
+            throw new IllegalArgumentException("cannot serialize outbox payload", exception);
+        }
+    }
+
+    public <T> T read(OutboxMessage message, Class<T> type) {
+        try {
+            return objectMapper.readValue(message.getPayload(), type);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalArgumentException("cannot read outbox payload id=" + message.getId(), exception);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.daybreak.cleandar.outbox;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OutboxRepository extends JpaRepository<OutboxMessage, Long> {
+
+    List<OutboxMessage> findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(String status, LocalDateTime now, Pageable pageable);
+
+    OutboxMessage findFirstByStatusOrderByIdAsc(String status);
+
+    long countByStatus(String status);
+}
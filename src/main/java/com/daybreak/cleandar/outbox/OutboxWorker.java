@@ -0,0 +1,184 @@
+package com.daybreak.cleandar.outbox;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * outbox 에 쌓인 작업을 batch 단위로 꺼내 처리한다. 행 하나를 트랜잭션 하나로 처리해서 중간에 실패해도 일부만 반영되지 않는다.
+ * 실패한 행은 backoff 를 두 배씩 늘려 다시 시도하고 max-attempts 를 넘으면 failed 로 남긴다.
+ * 남은 행 수는 cleandar.outbox.pending, 가장 오래 기다린 행의 나이는 cleandar.outbox.lag, 처리량은 cleandar.outbox.processed 로 본다.
+ * done, failed 로 끝난 행은 retention 이 지나면 purge-interval 마다 지운다.
+ */
+@Slf4j
+@Component
+public class OutboxWorker {
+
+    private static final String PURGE_CHUNK = "DELETE FROM outbox WHERE status IN ('" + OutboxMessage.DONE + "', '"
+            + OutboxMessage.FAILED + "') AND processed_at < ? LIMIT ?";
+
+    private final OutboxRepository outboxRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, OutboxHandler> handlers = new HashMap<>();
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    @Value("${cleandar.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${cleandar.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${cleandar.outbox.backoff:PT1S}")
+    private Duration backoff;
+
+    @Value("${cleandar.outbox.max-backoff:PT5M}")
+    private Duration maxBackoff;
+
+    @Value("${cleandar.outbox.retention:P7D}")
+    private Duration retention;
+
+    public OutboxWorker(OutboxRepository outboxRepository, JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                        MeterRegistry meterRegistry, List<OutboxHandler> handlers) {
+        this.outboxRepository = outboxRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        for (OutboxHandler handler : handlers) {
+            this.handlers.put(handler.type(), handler);
+        }
+        Gauge.builder("cleandar.outbox.pending", pending, AtomicLong::get)
+                .description("outbox rows waiting to be processed")
+                .register(meterRegistry);
+        Gauge.builder("cleandar.outbox.lag", lagMillis, lag -> lag.get() / 1000.0)
+                .description("age of the oldest pending outbox row")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${cleandar.outbox.poll-interval:PT1S}", initialDelayString = "${cleandar.outbox.poll-interval:PT1S}")
+    public void poll() {
+        drain();
+    }
+
+    @Scheduled(fixedDelayString = "${cleandar.outbox.purge-interval:PT10M}", initialDelayString = "${cleandar.outbox.purge-interval:PT10M}")
+    public void scheduledPurge() {
+        try {
+            purge(LocalDateTime.now().minus(retention));
+        } catch (RuntimeException exception) {
+            log.warn("outbox purge failed", exception);
+        }
+    }
+
+    /**
+     * before 전에 끝난(done, failed) 행을 batch-size 씩 지운다. pending 행은 지우지 않는다.
+     */
+    public int purge(LocalDateTime before) {
+        int total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(PURGE_CHUNK, Timestamp.valueOf(before), batchSize);
+            total += deleted;
+        } while (deleted == batchSize);
+        return total;
+    }
+
+    /**
+     * 지금 처리할 수 있는 행을 모두 처리하고 처리한 수를 돌려준다.
+     */
+    public int drain() {
+        int processed = 0;
+        List<OutboxMessage> batch;
+        int done;
+        do {
+            batch = outboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+                    OutboxMessage.PENDING, LocalDateTime.now(), PageRequest.of(0, batchSize));
+            done = 0;
+            for (OutboxMessage message : batch) {
+                if (process(message.getId())) {
+                    done++;
+                }
+            }
+            processed += done;
+        } while (batch.size() == batchSize && done > 0);
+
+        updateGauges();
+        return processed;
+    }
+
+    private boolean process(Long id) {
+        String type;
+        try {
+            type = transactionTemplate.execute(status -> {
+                OutboxMessage message = outboxRepository.findById(id).orElse(null);
+                if (message == null || !OutboxMessage.PENDING.equals(message.getStatus())) {
+                    return null;
+                }
+                OutboxHandler handler = handlers.get(message.getType());
+                if (handler == null) {
+                    throw new IllegalStateException("no outbox handler for type " + message.getType());
+                }
+                handler.handle(message);
+                message.done();
+                return message.getType();
+            });
+        } catch (ObjectOptimisticLockingFailureException exception) {
+            // 다른 worker 가 먼저 처리했다.
+            return false;
+        } catch (RuntimeException exception) {
+            recordFailure(id, exception);
+            return false;
+        }
+
+        if (type == null) {
+            return false;
+        }
+        meterRegistry.counter("cleandar.outbox.processed", "type", type, "result", "done").increment();
+        return true;
+    }
+
+    private void recordFailure(Long id, RuntimeException exception) {
+        transactionTemplate.executeWithoutResult(status -> outboxRepository.findById(id).ifPresent(message -> {
+            String error = exception.getClass().getSimpleName() + ": " + exception.getMessage();
+            String result;
+            if (message.getAttempts() + 1 >= maxAttempts) {
+                message.fail(error);
+                result = "failed";
+            } else {
+                message.retry(error, LocalDateTime.now().plus(backoff(message.getAttempts())));
+                result = "retry";
+            }
+            meterRegistry.counter("cleandar.outbox.processed", "type", message.getType(), "result", result).increment();
+            log.warn("outbox {} id={} type={} attempts={} error={}", result, id, message.getType(), message.getAttempts(), error);
+        }));
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = backoff.multipliedBy(1L << Math.min(attempts, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private void updateGauges() {
+        pending.set(outboxRepository.countByStatus(OutboxMessage.PENDING));
+        OutboxMessage oldest = outboxRepository.findFirstByStatusOrderByIdAsc(OutboxMessage.PENDING);
+        lagMillis.set(oldest == null || oldest.getCreatedAt() == null ? 0
+                : Math.max(Duration.between(oldest.getCreatedAt(), LocalDateTime.now()).toMillis(), 0));
+    }
+}
@@ -0,0 +1,15 @@
+package com.daybreak.cleandar.reminder;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class LogReminderNotifier implements ReminderNotifier {
+
+    @Override
+    public void notify(Reminder reminder) {
+        log.info("reminder scheduleId={} userId={} start={} title={}",
+                reminder.getScheduleId(), reminder.getUserId(), reminder.getStart(), reminder.getTitle());
+    }
+}
@@ -0,0 +1,22 @@
+package com.daybreak.cleandar.reminder;
+
+import com.daybreak.cleandar.domain.schedule.Schedule;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class Reminder {
+    private Long scheduleId;
+    private Long userId;
+    private String title;
+    private LocalDateTime start;
+
+    public Reminder(Schedule schedule) {
+        this(schedule.getId(), schedule.getUser().getId(), schedule.getTitle(), schedule.getStart());
+    }
+}
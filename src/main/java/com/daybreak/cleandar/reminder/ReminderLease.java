@@ -0,0 +1,113 @@
+package com.daybreak.cleandar.reminder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.LongConsumer;
+
+/**
+ * 모든 인스턴스가 같은 일정을 휠에 올리므로, reminder_lease 행을 가진 인스턴스 하나만 알림을 보낸다.
+ * 가진 인스턴스는 duration 이 지나기 전에 갱신하고, 갱신이 끊기면 만료된 뒤에 다른 인스턴스가 가져간다.
+ * 만료 시각은 각 인스턴스의 시계로 비교하므로 인스턴스 사이의 시계 차이만큼 겹치거나 빌 수 있다.
+ *
+ * 가진 인스턴스는 갱신할 때마다 어디까지 알림을 보냈는지(fired_until) 남긴다. lease 를 넘겨받은 인스턴스는
+ * 그 시각부터 다시 보내서 주인이 바뀌는 사이에 알림이 빠지지 않게 한다. 앞 주인이 죽었으면 마지막 갱신 뒤에
+ * 보낸 알림은 한 번 더 나갈 수 있다.
+ */
+@Component
+public class ReminderLease {
+
+    static final String NAME = "reminder";
+    private static final String SELECT = "SELECT owner, expires_at, fired_until FROM reminder_lease WHERE name = ?";
+    private static final String EXTEND = "UPDATE reminder_lease SET expires_at = ?, fired_until = ? WHERE name = ? AND owner = ?";
+    // 읽은 뒤에 다른 인스턴스가 먼저 가져갔으면 바뀌지 않는다.
+    private static final String TAKE = "UPDATE reminder_lease SET owner = ?, expires_at = ? WHERE name = ? AND owner = ? AND expires_at = ?";
+    private static final String INSERT = "INSERT INTO reminder_lease (name, owner, expires_at, fired_until) VALUES (?, ?, ?, ?)";
+    private static final String RELEASE = "UPDATE reminder_lease SET expires_at = ?, fired_until = ? WHERE name = ? AND owner = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String owner = UUID.randomUUID().toString();
+
+    @Value("${cleandar.reminder.lease-duration:PT30S}")
+    private Duration duration;
+
+    // 이 시각 전까지는 이 인스턴스가 lease 를 가지고 있다. 갱신 전에 잰 값이라 DB 의 만료 시각보다 앞선다.
+    private volatile long heldUntil;
+
+    public ReminderLease(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 가지고 있으면 연장하면서 알림 시각이 firedUntil 전인 알림은 다 보냈다고 남긴다. 비어 있거나 만료됐으면 가져온다.
+     * 가지고 있지 않다가 가져왔으면 앞 주인(잠시 놓쳤던 자신일 수도 있다)이 남긴 시각을 takenOver 에 넘긴다.
+     */
+    boolean renew(long firedUntil, LongConsumer takenOver) {
+        long now = System.currentTimeMillis();
+        Timestamp expiresAt = new Timestamp(now + duration.toMillis());
+        boolean held;
+        Timestamp handover = null;
+        if (isHeld()) {
+            held = jdbcTemplate.update(EXTEND, expiresAt, new Timestamp(firedUntil), NAME, owner) > 0;
+        } else {
+            List<Row> rows = jdbcTemplate.query(SELECT, (rs, rowNum) ->
+                    new Row(rs.getString(1), rs.getTimestamp(2), rs.getTimestamp(3)), NAME);
+            if (rows.isEmpty()) {
+                held = insert(expiresAt, firedUntil);
+            } else {
+                Row row = rows.get(0);
+                held = (row.owner.equals(owner) || row.expiresAt.getTime() < now)
+                        && jdbcTemplate.update(TAKE, owner, expiresAt, NAME, row.owner, row.expiresAt) > 0;
+                handover = row.firedUntil;
+            }
+        }
+        heldUntil = held ? now + duration.toMillis() : 0;
+        if (held && handover != null) {
+            takenOver.accept(handover.getTime());
+        }
+        return held;
+    }
+
+    // 종료할 때 만료시켜서 다른 인스턴스가 바로 가져가게 한다.
+    void release(long firedUntil) {
+        if (heldUntil > 0) {
+            heldUntil = 0;
+            jdbcTemplate.update(RELEASE, new Timestamp(System.currentTimeMillis()), new Timestamp(firedUntil), NAME, owner);
+        }
+    }
+
+    boolean isHeld() {
+        return System.currentTimeMillis() < heldUntil;
+    }
+
+    Duration renewInterval() {
+        return duration.dividedBy(3);
+    }
+
+    private boolean insert(Timestamp expiresAt, long firedUntil) {
+        try {
+            return jdbcTemplate.update(INSERT, NAME, owner, expiresAt, new Timestamp(firedUntil)) > 0;
+        } catch (DuplicateKeyException exception) {
+            // 다른 인스턴스가 먼저 만들었다.
+            return false;
+        }
+    }
+
+    private static class Row {
+        private final String owner;
+        private final Timestamp expiresAt;
+        private final Timestamp firedUntil;
+
+        Row(String owner, Timestamp expiresAt, Timestamp firedUntil) {
+            this.owner = owner;
+            this.expiresAt = expiresAt;
+            this.firedUntil = firedUntil;
+        }
+    }
+}
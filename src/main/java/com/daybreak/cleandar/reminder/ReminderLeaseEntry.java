@@ -0,0 +1,35 @@
+package com.daybreak.cleandar.reminder;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * 알림을 보낼 인스턴스 하나를 정하는 lease 행. 읽고 쓰는 것은 ReminderLease 가 JDBC 로 하고 이 엔티티는 테이블 정의에 쓴다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "reminder_lease")
+public class ReminderLeaseEntry {
+
+    @Id
+    @Column(length = 20)
+    private String name;
+
+    @Column(length = 36, nullable = false)
+    private String owner;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    // 알림 시각이 이 시각 전인 알림은 주인이 다 보냈다. 다음 주인은 여기서부터 이어 보낸다.
+    @Column(name = "fired_until")
+    private LocalDateTime firedUntil;
+}
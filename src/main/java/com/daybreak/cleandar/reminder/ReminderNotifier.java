@@ -0,0 +1,10 @@
+package com.daybreak.cleandar.reminder;
+
+/**
+ * 알림 시각이 된 일정을 받는다. 등록된 notifier 모두에게 보낸다.
+ * 타이밍 휠 스레드에서 불리므로 오래 걸리는 전송은 따로 넘겨서 처리한다.
+ */
+public interface ReminderNotifier {
+
+    void notify(Reminder reminder);
+}
@@ -0,0 +1,22 @@
+package com.daybreak.cleandar.reminder;
+
+import com.daybreak.cleandar.domain.schedule.Schedule;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ReminderRepository extends Repository<Schedule, Long> {
+
+    // 엔티티를 불러오지 않고 알림에 필요한 값만 읽는다.
+    @Query("select new com.daybreak.cleandar.reminder.Reminder(s.id, s.user.id, s.title, s.start) " +
+            "from Schedule s where s.start >= :from and s.start < :to")
+    List<Reminder> findStartingBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("select new com.daybreak.cleandar.reminder.Reminder(s.id, s.user.id, s.title, s.start) " +
+            "from Schedule s where s.id in :ids")
+    List<Reminder> findByScheduleIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,328 @@
+package com.daybreak.cleandar.reminder;
+
+import com.daybreak.cleandar.domain.schedule.Schedule;
+import com.daybreak.cleandar.transaction.TransactionHooks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 일정 시작 lead-time 전에 ReminderNotifier 로 알림을 보낸다.
+ * 앞으로 horizon 안에 시작하는 일정만 타이밍 휠에 올려 두고, reload-interval 마다 그 다음 구간만 읽어 온다.
+ * 그 사이의 생성, 수정, 삭제는 ScheduleService 가 커밋 후에 알려 주므로 tick 마다 DB 를 보지 않는다.
+ * 다른 인스턴스의 변경은 ChangeLogTailer 가 refresh 로 알려 준다.
+ * 휠은 모든 인스턴스가 같게 유지하고, 알림은 ReminderLease 를 가진 인스턴스만 보낸다.
+ * lease 를 넘겨받으면 앞 주인이 보내지 못한 구간을 replay 로 보낸다.
+ */
+@Slf4j
+@Component
+public class ReminderScheduler implements SmartLifecycle {
+
+    private static final int WHEEL_SIZE = 60;
+    private static final int WHEEL_LEVELS = 4;
+
+    private final ReminderRepository reminderRepository;
+    private final List<ReminderNotifier> notifiers;
+    private final ReminderLease lease;
+    private final Counter fired;
+
+    @Value("${cleandar.reminder.lead-time:PT10M}")
+    private Duration leadTime;
+
+    @Value("${cleandar.reminder.horizon:PT6H}")
+    private Duration horizon;
+
+    @Value("${cleandar.reminder.reload-interval:PT30M}")
+    private Duration reloadInterval;
+
+    @Value("${cleandar.reminder.tick:PT1S}")
+    private Duration tick;
+
+    private TimingWheel<Long, Reminder> wheel;
+    private ScheduledExecutorService executor;
+
+    // 이 시각 전에 시작하는 일정은 모두 휠에 있다. 이후 일정은 다음 load 에서 읽는다.
+    private LocalDateTime loadedUntil;
+
+    // load 가 DB 를 읽는 동안 바뀐 일정. 읽은 값이 오래됐을 수 있어서 load 결과로 덮어쓰지 않는다.
+    private Set<Long> changedWhileLoading;
+
+    private volatile boolean running;
+
+    public ReminderScheduler(ReminderRepository reminderRepository, List<ReminderNotifier> notifiers, ReminderLease lease,
+                             MeterRegistry meterRegistry) {
+        this.reminderRepository = reminderRepository;
+        this.notifiers = notifiers;
+        this.lease = lease;
+        this.fired = meterRegistry.counter("cleandar.reminder.fired");
+        Gauge.builder("cleandar.reminder.pending", this, scheduler -> scheduler.pending())
+                .description("reminders waiting in the timing wheel")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public synchronized void start() {
+        LocalDateTime now = LocalDateTime.now();
+        wheel = new TimingWheel<>(tick.toMillis(), WHEEL_SIZE, WHEEL_LEVELS, millis(now));
+        loadedUntil = now.plus(leadTime);
+        running = true;
+
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reminder-wheel");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::renewLease, 0, lease.renewInterval().toMillis(), TimeUnit.MILLISECONDS);
+        executor.scheduleAtFixedRate(this::tick, tick.toMillis(), tick.toMillis(), TimeUnit.MILLISECONDS);
+        executor.scheduleWithFixedDelay(this::load, 0, reloadInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        try {
+            lease.release(firedUntil());
+        } catch (RuntimeException exception) {
+            log.warn("reminder lease release failed", exception);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 저장된 일정의 알림을 등록하거나 옮긴다. 트랜잭션 안이면 커밋된 뒤에 반영한다.
+     */
+    public void schedule(Schedule schedule) {
+        schedule(new Reminder(schedule));
+    }
+
+    // JDBC 로 바로 저장해서 엔티티가 없는 경우
+    public void schedule(Reminder reminder) {
+        TransactionHooks.afterCommit(() -> apply(reminder.getScheduleId(), reminder));
+    }
+
+    public void cancel(Long scheduleId) {
+        TransactionHooks.afterCommit(() -> apply(scheduleId, null));
+    }
+
+    /**
+     * 다른 인스턴스에서 바뀐 일정을 DB 에서 다시 읽어 휠에 반영한다. 없어진 일정은 휠에서 뺀다.
+     */
+    public void refresh(Collection<Long> scheduleIds) {
+        if (scheduleIds.isEmpty()) {
+            return;
+        }
+        Map<Long, Reminder> reminders = new HashMap<>();
+        for (Reminder reminder : reminderRepository.findByScheduleIdIn(scheduleIds)) {
+            reminders.put(reminder.getScheduleId(), reminder);
+        }
+        for (Long scheduleId : scheduleIds) {
+            apply(scheduleId, reminders.get(scheduleId));
+        }
+    }
+
+    /**
+     * 휠을 비우고 horizon 을 처음부터 다시 읽는다. 스냅샷 복원처럼 ScheduleService 를 거치지 않고 일정이 바뀐 뒤에 부른다.
+     * load 는 한 번에 하나만 돌아야 하므로 휠 스레드에서 읽는다.
+     */
+    public synchronized void reload() {
+        if (!running) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        wheel = new TimingWheel<>(tick.toMillis(), WHEEL_SIZE, WHEEL_LEVELS, millis(now));
+        loadedUntil = now.plus(leadTime);
+        changedWhileLoading = null;
+        executor.execute(this::load);
+    }
+
+    void load() {
+        try {
+            load(LocalDateTime.now().plus(horizon).plus(leadTime));
+        } catch (RuntimeException exception) {
+            log.warn("reminder load failed", exception);
+        }
+    }
+
+    /**
+     * loadedUntil 부터 until 전까지 시작하는 일정을 휠에 올린다.
+     */
+    void load(LocalDateTime until) {
+        LocalDateTime from;
+        TimingWheel<Long, Reminder> loading;
+        synchronized (this) {
+            if (!running || !until.isAfter(loadedUntil)) {
+                return;
+            }
+            from = loadedUntil;
+            loading = wheel;
+            // 먼저 올려 두어야 조회 중에 생긴 일정도 schedule() 쪽에서 휠에 들어간다.
+            loadedUntil = until;
+            changedWhileLoading = new HashSet<>();
+        }
+
+        List<Reminder> reminders;
+        try {
+            reminders = reminderRepository.findStartingBetween(from, until);
+        } catch (RuntimeException exception) {
+            // 다음 load 에서 같은 구간을 다시 읽는다.
+            synchronized (this) {
+                if (wheel == loading) {
+                    loadedUntil = from;
+                    changedWhileLoading = null;
+                }
+            }
+            throw exception;
+        }
+
+        List<Reminder> due = new ArrayList<>();
+        synchronized (this) {
+            // 읽는 동안 reload 됐으면 이 결과는 버린다.
+            if (wheel != loading) {
+                return;
+            }
+            for (Reminder reminder : reminders) {
+                if (!changedWhileLoading.contains(reminder.getScheduleId())) {
+                    put(reminder, due);
+                }
+            }
+            changedWhileLoading = null;
+        }
+        notify(due);
+        log.debug("reminders loaded from={} until={} count={}", from, until, reminders.size());
+    }
+
+    void tick() {
+        List<Reminder> due = new ArrayList<>();
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            wheel.advance(System.currentTimeMillis(), due::add);
+        }
+        notify(due);
+    }
+
+    void renewLease() {
+        try {
+            boolean held = lease.isHeld();
+            if (lease.renew(firedUntil(), this::replay) != held) {
+                log.info("reminder lease {}", held ? "lost" : "acquired");
+            }
+        } catch (RuntimeException exception) {
+            log.warn("reminder lease renew failed", exception);
+        }
+    }
+
+    /**
+     * lease 를 넘겨받았을 때 부른다. 알림 시각이 앞 주인이 남긴 시각부터 이 휠이 지나간 시각 사이인 알림은
+     * 이 인스턴스가 lease 없이 휠에서 흘려보냈으므로 DB 에서 다시 읽어 보낸다. 이미 시작한 일정은 보내지 않는다.
+     */
+    void replay(long firedUntil) {
+        long passed;
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            passed = wheel.currentTime();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime from = time(firedUntil).plus(leadTime);
+        if (from.isBefore(now)) {
+            from = now;
+        }
+        LocalDateTime to = time(passed).plus(leadTime);
+        if (!from.isBefore(to)) {
+            return;
+        }
+        List<Reminder> due = reminderRepository.findStartingBetween(from, to);
+        notify(due);
+        log.info("reminders replayed after lease takeover from={} to={} count={}", from, to, due.size());
+    }
+
+    synchronized boolean isScheduled(Long scheduleId) {
+        return wheel != null && wheel.contains(scheduleId);
+    }
+
+    synchronized LocalDateTime loadedUntil() {
+        return loadedUntil;
+    }
+
+    // 휠이 이 시각 전까지 진행했다. lease 를 가지고 있으면 그 전에 알림 시각이 온 알림은 다 보냈다.
+    private synchronized long firedUntil() {
+        return wheel == null ? System.currentTimeMillis() : wheel.currentTime();
+    }
+
+    private synchronized int pending() {
+        return wheel == null ? 0 : wheel.size();
+    }
+
+    private void apply(Long scheduleId, Reminder reminder) {
+        List<Reminder> due = new ArrayList<>();
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            if (changedWhileLoading != null) {
+                changedWhileLoading.add(scheduleId);
+            }
+            wheel.cancel(scheduleId);
+            if (reminder != null && reminder.getStart().isBefore(loadedUntil)) {
+                put(reminder, due);
+            }
+        }
+        notify(due);
+    }
+
+    // 알림 시각이 이미 지났지만 아직 시작 전이면 바로 보낸다.
+    private void put(Reminder reminder, List<Reminder> due) {
+        LocalDateTime remindAt = reminder.getStart().minus(leadTime);
+        if (!wheel.schedule(reminder.getScheduleId(), millis(remindAt), reminder)
+                && millis(remindAt) < wheel.currentTime() && reminder.getStart().isAfter(LocalDateTime.now())) {
+            due.add(reminder);
+        }
+    }
+
+    private void notify(List<Reminder> due) {
+        if (due.isEmpty() || !lease.isHeld()) {
+            return;
+        }
+        for (Reminder reminder : due) {
+            fired.increment();
+            for (ReminderNotifier notifier : notifiers) {
+                try {
+                    notifier.notify(reminder);
+                } catch (RuntimeException exception) {
+                    log.warn("reminder notifier failed scheduleId={}", reminder.getScheduleId(), exception);
+                }
+            }
+        }
+    }
+
+    private static long millis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime time(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+}
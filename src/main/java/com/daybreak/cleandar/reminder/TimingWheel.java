@@ -0,0 +1,200 @@
+package com.daybreak.cleandar.reminder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * 계층형 타이밍 휠. 가장 아래 휠은 tick 단위, 한 단계 위 휠은 아래 휠 한 바퀴 단위로 칸을 나눈다.
+ * 위 휠의 칸 시간이 되면 그 칸의 항목을 아래 휠로 내려 보내고, 가장 아래 휠의 칸 시간이 지나면 항목을 실행한다.
+ *
+ * 항목은 key 로 찾고 칸 안에서는 양방향 리스트로 이어져 있어서 추가, 취소, 재등록이 모두 O(1) 이다.
+ * 스레드 안전하지 않다. 호출하는 쪽이 동기화한다.
+ */
+class TimingWheel<K, V> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final List<Level> levels;
+    private final Map<K, Node<K, V>> nodes = new HashMap<>();
+
+    // 이 시각 이전에 만료되는 항목은 모두 실행했다. 항상 tickMillis 의 배수다.
+    private long currentTime;
+
+    TimingWheel(long tickMillis, int wheelSize, int levelCount, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.levels = new ArrayList<>(levelCount);
+        long tick = tickMillis;
+        for (int i = 0; i < levelCount; i++) {
+            levels.add(new Level(tick));
+            tick *= wheelSize;
+        }
+        this.currentTime = startMillis - startMillis % tickMillis;
+    }
+
+    /**
+     * 휠이 담을 수 있는 가장 먼 시각(제외). 이보다 뒤에 만료되는 항목은 받지 않는다.
+     */
+    long horizon() {
+        Level top = levels.get(levels.size() - 1);
+        return floor(currentTime, top.tick) + top.tick * wheelSize;
+    }
+
+    long currentTime() {
+        return currentTime;
+    }
+
+    int size() {
+        return nodes.size();
+    }
+
+    boolean contains(K key) {
+        return nodes.containsKey(key);
+    }
+
+    /**
+     * 같은 key 가 있으면 옮긴다. 이미 지난 시각이거나 horizon 밖이면 등록하지 않고 false 를 돌려준다.
+     */
+    boolean schedule(K key, long expiration, V value) {
+        cancel(key);
+        if (expiration < currentTime || expiration >= horizon()) {
+            return false;
+        }
+        Node<K, V> node = new Node<>(key, expiration, value);
+        nodes.put(key, node);
+        place(node);
+        return true;
+    }
+
+    boolean cancel(K key) {
+        Node<K, V> node = nodes.remove(key);
+        if (node == null) {
+            return false;
+        }
+        node.unlink();
+        return true;
+    }
+
+    /**
+     * now 까지 tick 을 진행하면서 만료된 항목을 만료 순서대로 expired 에 넘긴다.
+     */
+    void advance(long now, Consumer<V> expired) {
+        while (currentTime + tickMillis <= now) {
+            long time = currentTime;
+            // 위 휠부터 내려 보내야 같은 tick 에 만료될 항목이 가장 아래 휠까지 내려온다.
+            for (int i = levels.size() - 1; i > 0; i--) {
+                Level level = levels.get(i);
+                if (time % level.tick == 0) {
+                    Bucket<K, V> bucket = level.bucket(time);
+                    for (Node<K, V> node = bucket.takeAll(); node != null; ) {
+                        Node<K, V> next = node.next;
+                        node.next = null;
+                        place(node);
+                        node = next;
+                    }
+                }
+            }
+
+            currentTime = time + tickMillis;
+            for (Node<K, V> node = levels.get(0).bucket(time).takeAll(); node != null; ) {
+                Node<K, V> next = node.next;
+                node.next = null;
+                nodes.remove(node.key);
+                expired.accept(node.value);
+                node = next;
+            }
+        }
+    }
+
+    private void place(Node<K, V> node) {
+        for (Level level : levels) {
+            if (node.expiration < floor(currentTime, level.tick) + level.tick * wheelSize) {
+                level.bucket(node.expiration).add(node);
+                return;
+            }
+        }
+        throw new IllegalStateException("expiration beyond horizon " + node.expiration);
+    }
+
+    private static long floor(long time, long unit) {
+        return time - time % unit;
+    }
+
+    private class Level {
+        private final long tick;
+        private final Bucket<K, V>[] buckets;
+
+        @SuppressWarnings("unchecked")
+        Level(long tick) {
+            this.tick = tick;
+            this.buckets = new Bucket[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new Bucket<>();
+            }
+        }
+
+        Bucket<K, V> bucket(long time) {
+            return buckets[(int) ((time / tick) % wheelSize)];
+        }
+    }
+
+    private static class Bucket<K, V> {
+        private Node<K, V> head;
+
+        void add(Node<K, V> node) {
+            node.bucket = this;
+            node.prev = null;
+            node.next = head;
+            if (head != null) {
+                head.prev = node;
+            }
+            head = node;
+        }
+
+        // 칸을 비우고 리스트 머리를 돌려준다. 꺼낸 항목은 next 로만 이어져 있다.
+        Node<K, V> takeAll() {
+            Node<K, V> first = head;
+            head = null;
+            for (Node<K, V> node = first; node != null; node = node.next) {
+                node.bucket = null;
+                node.prev = null;
+            }
+            return first;
+        }
+    }
+
+    private static class Node<K, V> {
+        private final K key;
+        private final long expiration;
+        private final V value;
+        private Bucket<K, V> bucket;
+        private Node<K, V> prev;
+        private Node<K, V> next;
+
+        Node(K key, long expiration, V value) {
+            this.key = key;
+            this.expiration = expiration;
+            this.value = value;
+        }
+
+        void unlink() {
+            if (bucket == null) {
+                return;
+            }
+            if (prev != null) {
+                prev.next = next;
+            } else {
+                bucket.head = next;
+            }
+            if (next != null) {
+                next.prev = prev;
+            }
+            bucket = null;
+            prev = null;
+            next = null;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.daybreak.cleandar.search;
+
+import com.daybreak.cleandar.domain.schedule.ScheduleDto;
+import com.daybreak.cleandar.transaction.TransactionHooks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 사용자별 일정 역색인을 메모리에 들고 있는다. 처음 검색할 때 그 사용자의 일정을 한 번 읽어 만들고,
+ * 그 뒤의 생성, 수정, 삭제는 ScheduleService 가 커밋 후에 알려 주는 대로 고친다. 최근에 검색한 max-users 명까지만 둔다.
+ * 다른 인스턴스의 변경은 change_log 로 전해져 그 사용자의 색인을 버린다(ChangeLogTailer).
+ */
+@Component
+public class ScheduleSearchIndex {
+
+    private static final String SELECT = "SELECT id, start, end, title, description FROM schedules WHERE user_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Counter loads;
+    private final Timer queries;
+
+    private final Map<Long, UserScheduleIndex> indexes;
+
+    // 색인을 만드는 동안 들어온 변경. 다 읽은 뒤 적용하고 나서 indexes 에 넣는다.
+    private final Map<Long, Loading> loading = new HashMap<>();
+
+    @Value("${cleandar.search.fetch-size:1000}")
+    private int fetchSize;
+
+    @Value("${cleandar.search.max-page-size:100}")
+    private int maxPageSize;
+
+    public ScheduleSearchIndex(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+                               @Value("${cleandar.search.max-users:200}") int maxUsers) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.indexes = new LinkedHashMap<Long, UserScheduleIndex>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, UserScheduleIndex> eldest) {
+                return size() > maxUsers;
+            }
+        };
+        this.loads = meterRegistry.counter("cleandar.search.index.loads");
+        this.queries = Timer.builder("cleandar.search.query")
+                .description("schedule keyword search latency, excluding index loading")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("cleandar.search.index.users", this, index -> index.cachedUsers())
+                .description("users whose schedule index is in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 검색어를 모두 가진 일정 중 [from, to) 와 겹치는 것. byDate 가 아니면 관련도 순, 같으면 최근 일정 먼저다.
+     */
+    public ScheduleDto.SearchResult search(Long userId, String query, LocalDateTime from, LocalDateTime to, boolean byDate, int page, int size) {
+        if (page < 0 || size < 1 || size > maxPageSize) {
+            throw new IllegalArgumentException("page must be >= 0 and size between 1 and " + maxPageSize);
+        }
+        List<ScheduleTokenizer.Term> terms = ScheduleTokenizer.query(query);
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("query has no searchable characters");
+        }
+
+        UserScheduleIndex index = index(userId);
+        long started = System.nanoTime();
+        UserScheduleIndex.Result result = index.search(terms, from, to, byDate, page * size, size);
+        List<ScheduleDto.Summary> items = new ArrayList<>(result.hits.size());
+        for (UserScheduleIndex.Hit hit : result.hits) {
+            UserScheduleIndex.Document document = hit.document;
+            items.add(new ScheduleDto.Summary(document.id, document.start, document.end, document.title, document.description));
+        }
+        queries.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return new ScheduleDto.SearchResult(result.total, page, size, items);
+    }
+
+    /**
+     * 저장된 일정을 색인에 넣거나 바꾼다. 트랜잭션 안이면 커밋된 뒤에 반영한다.
+     */
+    public void put(Long userId, Long id, LocalDateTime start, LocalDateTime end, String title, String description) {
+        UserScheduleIndex.Document document = new UserScheduleIndex.Document(id, start, end, title, description);
+        TransactionHooks.afterCommit(() -> apply(userId, index -> index.put(document)));
+    }
+
+    public void remove(Long userId, Long id) {
+        TransactionHooks.afterCommit(() -> apply(userId, index -> index.remove(id)));
+    }
+
+    public void evictUser(Long userId) {
+        synchronized (indexes) {
+            indexes.remove(userId);
+            Loading current = loading.get(userId);
+            if (current != null) {
+                current.stale = true;
+            }
+        }
+    }
+
+    public void evictAll() {
+        synchronized (indexes) {
+            indexes.clear();
+            loading.values().forEach(current -> current.stale = true);
+        }
+    }
+
+    int cachedUsers() {
+        synchronized (indexes) {
+            return indexes.size();
+        }
+    }
+
+    private UserScheduleIndex index(Long userId) {
+        Loading current;
+        synchronized (indexes) {
+            UserScheduleIndex index = indexes.get(userId);
+            if (index != null) {
+                return index;
+            }
+            current = loading.containsKey(userId) ? null : new Loading();
+            if (current != null) {
+                loading.put(userId, current);
+            }
+        }
+
+        UserScheduleIndex index = new UserScheduleIndex();
+        try {
+            load(userId, index);
+        } catch (RuntimeException exception) {
+            if (current != null) {
+                synchronized (indexes) {
+                    loading.remove(userId);
+                }
+            }
+            throw exception;
+        }
+        // 같은 사용자를 먼저 읽고 있는 요청이 있으면 이 결과는 이번 검색에만 쓴다.
+        // loading 을 빼는 것과 indexes 에 넣는 것 사이에 들어온 변경을 놓치지 않도록 한 번에 한다.
+        if (current != null) {
+            synchronized (indexes) {
+                loading.remove(userId);
+                current.changes.forEach(change -> change.accept(index));
+                if (!current.stale) {
+                    indexes.put(userId, index);
+                }
+            }
+        }
+        return index;
+    }
+
+    private void load(Long userId, UserScheduleIndex index) {
+        loads.increment();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT);
+            statement.setFetchSize(fetchSize);
+            statement.setLong(1, userId);
+            return statement;
+        }, (RowCallbackHandler) rs -> index.put(new UserScheduleIndex.Document(rs.getLong(1), rs.getObject(2, LocalDateTime.class),
+                rs.getObject(3, LocalDateTime.class), rs.getString(4), rs.getString(5))));
+    }
+
+    private void apply(Long userId, Consumer<UserScheduleIndex> change) {
+        UserScheduleIndex index;
+        synchronized (indexes) {
+            index = indexes.get(userId);
+            Loading current = loading.get(userId);
+            if (current != null) {
+                current.changes.add(change);
+            }
+        }
+        if (index != null) {
+            change.accept(index);
+        }
+    }
+
+    private static final class Loading {
+        private final List<Consumer<UserScheduleIndex>> changes = new ArrayList<>();
+        private boolean stale;
+    }
+}
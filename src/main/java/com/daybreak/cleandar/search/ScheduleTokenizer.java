@@ -0,0 +1,92 @@
+package com.daybreak.cleandar.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 일정 제목과 설명을 검색어 단위로 나눈다.
+ * 한글은 띄어쓰기와 조사가 섞여 단어 경계가 믿을 만하지 않아서 이어진 한글을 2글자씩(bigram) 자르고, 한 글자면 그대로 둔다.
+ * 나머지 글자와 숫자는 단어 하나를 그대로 쓴다. 모두 NFC 로 맞추고 소문자로 바꾼다.
+ */
+final class ScheduleTokenizer {
+
+    private static final int MAX_WORD_LENGTH = 40;
+
+    private ScheduleTokenizer() {
+    }
+
+    /**
+     * 검색어 하나. prefix 면 이 문자열로 시작하는 모든 색인어와 맞는다.
+     */
+    static final class Term {
+        final String text;
+        final boolean prefix;
+
+        Term(String text, boolean prefix) {
+            this.text = text;
+            this.prefix = prefix;
+        }
+    }
+
+    static List<String> index(String text) {
+        List<String> terms = new ArrayList<>();
+        split(text, (run, hangul) -> {
+            if (hangul && run.length() > 1) {
+                for (int i = 0; i + 1 < run.length(); i++) {
+                    terms.add(run.substring(i, i + 2));
+                }
+            } else {
+                terms.add(run);
+            }
+        });
+        return terms;
+    }
+
+    // 입력 중인 마지막 단어처럼 덜 쓴 검색어도 찾도록 단어와 한 글자 한글은 접두어로 찾는다.
+    static List<Term> query(String text) {
+        List<Term> terms = new ArrayList<>();
+        split(text, (run, hangul) -> {
+            if (hangul && run.length() > 1) {
+                for (int i = 0; i + 1 < run.length(); i++) {
+                    terms.add(new Term(run.substring(i, i + 2), false));
+                }
+            } else {
+                terms.add(new Term(run, true));
+            }
+        });
+        return terms;
+    }
+
+    private interface RunConsumer {
+        void accept(String run, boolean hangul);
+    }
+
+    private static void split(String text, RunConsumer consumer) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+        int start = -1;
+        boolean hangul = false;
+        for (int i = 0; i <= normalized.length(); i++) {
+            char c = i < normalized.length() ? normalized.charAt(i) : ' ';
+            boolean isHangul = isHangul(c);
+            boolean isWord = !isHangul && Character.isLetterOrDigit(c);
+            if (start >= 0 && (hangul ? !isHangul : !isWord)) {
+                String run = normalized.substring(start, i);
+                consumer.accept(hangul || run.length() <= MAX_WORD_LENGTH ? run : run.substring(0, MAX_WORD_LENGTH), hangul);
+                start = -1;
+            }
+            if (start < 0 && (isHangul || isWord)) {
+                start = i;
+                hangul = isHangul;
+            }
+        }
+    }
+
+    private static boolean isHangul(char c) {
+        return (c >= '가' && c <= '힣') || (c >= 'ㄱ' && c <= 'ㆎ');
+    }
+}
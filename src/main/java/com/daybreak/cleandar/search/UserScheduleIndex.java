@@ -0,0 +1,191 @@
+package com.daybreak.cleandar.search;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 사용자 한 명의 일정 역색인. 일정마다 문서 번호를 붙이고, 색인어마다 문서 번호 오름차순 목록과 가중치를 둔다.
+ * 수정은 옛 문서를 지우고 새 번호로 다시 넣는다. 지운 문서는 목록에 남겨 두고 검색할 때 건너뛰며, 절반이 넘으면 새로 만든다.
+ * 모든 메서드는 이 객체로 동기화한다.
+ */
+class UserScheduleIndex {
+
+    private static final int TITLE_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private final List<Document> documents = new ArrayList<>();
+    private final Map<Long, Integer> documentById = new HashMap<>();
+    private final TreeMap<String, Postings> postings = new TreeMap<>();
+
+    static final class Document {
+        final long id;
+        final LocalDateTime start;
+        final LocalDateTime end;
+        final String title;
+        final String description;
+
+        Document(long id, LocalDateTime start, LocalDateTime end, String title, String description) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.title = title;
+            this.description = description;
+        }
+    }
+
+    static final class Hit {
+        final Document document;
+        final int score;
+
+        private Hit(Document document, int score) {
+            this.document = document;
+            this.score = score;
+        }
+    }
+
+    static final class Result {
+        final int total;
+        final List<Hit> hits;
+
+        private Result(int total, List<Hit> hits) {
+            this.total = total;
+            this.hits = hits;
+        }
+    }
+
+    private static final class Postings {
+        private int[] documents = new int[4];
+        private byte[] weights = new byte[4];
+        private int size;
+
+        private void add(int document, int weight) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            documents[size] = document;
+            weights[size] = (byte) Math.min(weight, Byte.MAX_VALUE);
+            size++;
+        }
+    }
+
+    synchronized void put(Document document) {
+        remove(document.id);
+        int number = documents.size();
+        documents.add(document);
+        documentById.put(document.id, number);
+
+        Map<String, Integer> weights = new HashMap<>();
+        for (String term : ScheduleTokenizer.index(document.title)) {
+            weights.merge(term, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String term : ScheduleTokenizer.index(document.description)) {
+            weights.merge(term, DESCRIPTION_WEIGHT, Integer::sum);
+        }
+        for (Map.Entry<String, Integer> weight : weights.entrySet()) {
+            postings.computeIfAbsent(weight.getKey(), term -> new Postings()).add(number, weight.getValue());
+        }
+    }
+
+    synchronized void remove(long id) {
+        Integer number = documentById.remove(id);
+        if (number == null) {
+            return;
+        }
+        documents.set(number, null);
+        if (documents.size() > 64 && documentById.size() < documents.size() / 2) {
+            compact();
+        }
+    }
+
+    synchronized int size() {
+        return documentById.size();
+    }
+
+    /**
+     * 모든 검색어를 가진 일정 중 [from, to) 와 겹치는 것을 score 또는 시작 시각 순으로 offset 부터 limit 개 돌려준다.
+     * score 는 맞은 색인어의 가중치 합이고 제목에서 맞으면 설명보다 두 배로 친다.
+     */
+    synchronized Result search(List<ScheduleTokenizer.Term> terms, LocalDateTime from, LocalDateTime to, boolean byDate, int offset, int limit) {
+        if (terms.isEmpty()) {
+            return new Result(0, Collections.emptyList());
+        }
+
+        List<List<Postings>> lists = new ArrayList<>(terms.size());
+        for (ScheduleTokenizer.Term term : terms) {
+            List<Postings> list = term.prefix
+                    ? new ArrayList<>(postings.subMap(term.text, true, term.text + Character.MAX_VALUE, false).values())
+                    : postings.containsKey(term.text) ? Collections.singletonList(postings.get(term.text)) : Collections.emptyList();
+            if (list.isEmpty()) {
+                return new Result(0, Collections.emptyList());
+            }
+            lists.add(list);
+        }
+        // 짧은 목록부터 맞춰 보면 뒤의 목록에서는 이미 떨어진 문서를 바로 건너뛴다.
+        lists.sort(Comparator.comparingInt(UserScheduleIndex::length));
+
+        int[] matched = new int[documents.size()];
+        int[] scores = new int[documents.size()];
+        for (int i = 0; i < lists.size(); i++) {
+            for (Postings list : lists.get(i)) {
+                for (int p = 0; p < list.size; p++) {
+                    int document = list.documents[p];
+                    if (matched[document] == i) {
+                        matched[document] = i + 1;
+                        scores[document] += list.weights[p];
+                    } else if (matched[document] == i + 1) {
+                        scores[document] += list.weights[p];
+                    }
+                }
+            }
+        }
+
+        // 앞쪽 offset + limit 개만 남기도록 가장 뒤로 갈 항목을 꼭대기에 두는 heap 을 쓴다.
+        Comparator<Hit> latestFirst = Comparator.comparing((Hit hit) -> hit.document.start).reversed();
+        Comparator<Hit> order = byDate ? latestFirst : Comparator.comparingInt((Hit hit) -> hit.score).reversed().thenComparing(latestFirst);
+        int keep = offset + limit;
+        PriorityQueue<Hit> top = new PriorityQueue<>(Math.min(keep, 1024) + 1, order.reversed());
+        int total = 0;
+        for (int number = 0; number < matched.length; number++) {
+            Document document = documents.get(number);
+            if (matched[number] != lists.size() || document == null) {
+                continue;
+            }
+            if ((from != null && !document.end.isAfter(from)) || (to != null && !document.start.isBefore(to))) {
+                continue;
+            }
+            total++;
+            top.add(new Hit(document, scores[number]));
+            if (top.size() > keep) {
+                top.poll();
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>(top);
+        hits.sort(order);
+        return new Result(total, offset < hits.size() ? new ArrayList<>(hits.subList(offset, hits.size())) : Collections.emptyList());
+    }
+
+    private static int length(List<Postings> list) {
+        int length = 0;
+        for (Postings postings : list) {
+            length += postings.size;
+        }
+        return length;
+    }
+
+    private void compact() {
+        List<Document> live = new ArrayList<>(documentById.size());
+        for (Document document : documents) {
+            if (document != null) {
+                live.add(document);
+            }
+        }
+        documents.clear();
+        documentById.clear();
+        postings.clear();
+        for (Document document : live) {
+            put(document);
+        }
+    }
+}
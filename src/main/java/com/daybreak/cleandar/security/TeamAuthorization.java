@@ -0,0 +1,24 @@
+package com.daybreak.cleandar.security;
+
+import com.daybreak.cleandar.domain.teamuser.TeamMembershipCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+/**
+ * 팀 페이지 접근 권한 검사. @PreAuthorize("@teamAuthorization.isMember(authentication, #id)") 형태로 쓴다.
+ */
+@Component
+@RequiredArgsConstructor
+public class TeamAuthorization {
+
+    private final TeamMembershipCache teamMembershipCache;
+
+    public boolean isMember(Authentication authentication, Long teamId) {
+        if (teamId == null || authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal)) {
+            return false;
+        }
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+        return teamMembershipCache.isMember(principal.getId(), teamId);
+    }
+}
@@ -1,19 +1,33 @@
 package com.daybreak.cleandar.security;
 
 import com.daybreak.cleandar.domain.user.User;
-import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
 
-@RequiredArgsConstructor
+/**
+ * 로그인한 사용자. 세션 저장소(SPRING_SESSION)에 들어가므로 엔티티 대신 id, email, name 만 가진다.
+ * 비밀번호는 로그인할 때 확인하는 데만 쓰고 세션에는 남기지 않는다.
+ */
 public class UserPrincipal implements UserDetails {
 
-    private User user;
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+    private final String email;
+    private final String name;
+    private final transient String password;
 
     public UserPrincipal(User user) {
-        this.user = user;
+        this(user.getId(), user.getEmail(), user.getName(), user.getPassword());
+    }
+
+    public UserPrincipal(Long id, String email, String name, String password) {
+        this.id = id;
+        this.email = email;
+        this.name = name;
+        this.password = password;
     }
 
     @Override
@@ -23,12 +37,12 @@ public class UserPrincipal implements UserDetails {
 
     @Override
     public String getPassword() {
-        return user.getPassword();
+        return password;
     }
 
     @Override
     public String getUsername() {
-        return user.getEmail();
+        return email;
     }
 
     @Override
@@ -51,7 +65,16 @@ public class UserPrincipal implements UserDetails {
         return true;
     }
 
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // 요청마다 DB 를 읽지 않도록 세션 값으로 만든 참조를 돌려준다. (User.reference)
     public User getUser() {
-        return user;
+        return User.reference(id, email, name);
     }
 }
@@ -1,5 +1,7 @@
 package com.daybreak.cleandar.security;
 
+import com.daybreak.cleandar.coherence.ChangeLog;
+import com.daybreak.cleandar.coherence.ChangeType;
 import com.daybreak.cleandar.domain.user.User;
 import com.daybreak.cleandar.domain.user.UserDto;
 import com.daybreak.cleandar.domain.user.UserRepository;
@@ -7,8 +9,9 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -18,16 +21,23 @@ import java.util.List;
 public class UserPrincipalDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final ChangeLog changeLog;
 
+    @Transactional
     public User create(UserDto.Request request) {
-        return userRepository.save(User.builder()
+        User user = userRepository.save(User.builder()
                 .email(request.getEmail())
-                .password(new BCryptPasswordEncoder().encode(request.getPassword()))
+                .password(passwordEncoder.encode(request.getPassword()))
                 .name(request.getName())
                 .build());
+        // 없는 이메일로 조회한 결과가 다른 인스턴스의 query cache 에 남아 있을 수 있다.
+        changeLog.append(ChangeType.USER, user.getId());
+        return user;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         User user = userRepository.findUserByEmail(email);
         if (user == null) {
@@ -36,6 +46,7 @@ public class UserPrincipalDetailsService implements UserDetailsService {
         return new UserPrincipal(user);
     }
 
+    @Transactional(readOnly = true)
     public List<UserDto.Response> searchByWord(String word) {
         ArrayList<UserDto.Response> users = new ArrayList<>();
         for (User user : userRepository.findAllByNameStartingWithOrEmailStartingWith(word, word)) {
@@ -0,0 +1,56 @@
+package com.daybreak.cleandar.session;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 만료된 세션을 batch-size 건씩 지운다. Spring Session 의 기본 정리(한 번의 DELETE)는 끈다(spring.session.jdbc.cleanup-cron=-).
+ * 트랜잭션 없이 chunk 마다 커밋하므로 한꺼번에 만료된 세션이 많아도 테이블을 오래 잠그지 않는다.
+ * 속성은 외래 키의 ON DELETE CASCADE 로 함께 지워진다.
+ */
+@Slf4j
+@Component
+public class ExpiredSessionCleaner {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String deleteChunk;
+    private final int batchSize;
+    private final Counter expired;
+
+    public ExpiredSessionCleaner(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+                                 @Value("${spring.session.jdbc.table-name:SPRING_SESSION}") String tableName,
+                                 @Value("${cleandar.session.cleanup-batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.deleteChunk = "DELETE FROM " + tableName + " WHERE EXPIRY_TIME < ? LIMIT ?";
+        this.batchSize = batchSize;
+        this.expired = meterRegistry.counter("cleandar.session.expired");
+    }
+
+    @Scheduled(fixedDelayString = "${cleandar.session.cleanup-interval:PT1M}", initialDelayString = "${cleandar.session.cleanup-interval:PT1M}")
+    public void scheduledCleanUp() {
+        try {
+            cleanUp(System.currentTimeMillis());
+        } catch (RuntimeException exception) {
+            log.warn("expired session cleanup failed", exception);
+        }
+    }
+
+    public int cleanUp(long now) {
+        int total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(deleteChunk, now, batchSize);
+            total += deleted;
+            expired.increment(deleted);
+        } while (deleted == batchSize);
+        if (total > 0) {
+            log.info("expired sessions deleted={}", total);
+        }
+        return total;
+    }
+}
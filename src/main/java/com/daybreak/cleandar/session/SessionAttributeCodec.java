@@ -0,0 +1,99 @@
+package com.daybreak.cleandar.session;
+
+import com.daybreak.cleandar.security.UserPrincipal;
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializingConverter;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+import java.io.*;
+import java.util.Arrays;
+
+/**
+ * 세션 속성을 SPRING_SESSION_ATTRIBUTES 에 저장할 바이트로 바꾼다.
+ * 요청마다 읽는 로그인 정보(SecurityContext + UserPrincipal)는 id, email, name 만 직접 쓰고, 나머지 속성은 자바 직렬화를 쓴다.
+ * 첫 바이트가 형식을 나타낸다.
+ */
+class SessionAttributeCodec {
+
+    private static final byte JAVA = 0;
+    private static final byte USER_PRINCIPAL = 1;
+
+    private final SerializingConverter serializer = new SerializingConverter();
+    private final DeserializingConverter deserializer;
+
+    SessionAttributeCodec(ClassLoader classLoader) {
+        this.deserializer = new DeserializingConverter(classLoader);
+    }
+
+    byte[] serialize(Object value) {
+        try {
+            UserPrincipal principal = principal(value);
+            if (principal != null) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+                DataOutputStream out = new DataOutputStream(bytes);
+                out.writeByte(USER_PRINCIPAL);
+                out.writeLong(principal.getId());
+                writeText(out, principal.getUsername());
+                writeText(out, principal.getName());
+                out.flush();
+                return bytes.toByteArray();
+            }
+
+            byte[] serialized = serializer.convert(value);
+            byte[] bytes = new byte[serialized.length + 1];
+            bytes[0] = JAVA;
+            System.arraycopy(serialized, 0, bytes, 1, serialized.length);
+            return bytes;
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    Object deserialize(byte[] bytes) {
+        if (bytes.length == 0) {
+            throw new IllegalArgumentException("empty session attribute");
+        }
+        switch (bytes[0]) {
+            case JAVA:
+                return deserializer.convert(Arrays.copyOfRange(bytes, 1, bytes.length));
+            case USER_PRINCIPAL:
+                try {
+                    DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 1, bytes.length - 1));
+                    UserPrincipal principal = new UserPrincipal(in.readLong(), readText(in), readText(in), null);
+                    return new SecurityContextImpl(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+                } catch (IOException exception) {
+                    throw new IllegalArgumentException("corrupt session principal", exception);
+                }
+            default:
+                throw new IllegalArgumentException("unknown session attribute format " + bytes[0]);
+        }
+    }
+
+    // 인증 요청의 details(원격 주소 등)는 쓰는 곳이 없으므로 버린다.
+    private static UserPrincipal principal(Object value) {
+        if (!(value instanceof SecurityContext)) {
+            return null;
+        }
+        Authentication authentication = ((SecurityContext) value).getAuthentication();
+        if (!(authentication instanceof UsernamePasswordAuthenticationToken) || !authentication.isAuthenticated()
+                || !(authentication.getPrincipal() instanceof UserPrincipal)) {
+            return null;
+        }
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+        return principal.getId() == null ? null : principal;
+    }
+
+    private static void writeText(DataOutputStream out, String text) throws IOException {
+        out.writeBoolean(text != null);
+        if (text != null) {
+            out.writeUTF(text);
+        }
+    }
+
+    private static String readText(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
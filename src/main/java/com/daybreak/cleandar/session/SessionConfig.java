@@ -0,0 +1,25 @@
+package com.daybreak.cleandar.session;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.support.GenericConversionService;
+import org.springframework.session.config.SessionRepositoryCustomizer;
+import org.springframework.session.jdbc.JdbcIndexedSessionRepository;
+
+/**
+ * 세션은 DB(SPRING_SESSION)에 두어 어느 인스턴스든 같은 세션을 읽는다. 스티키 라우팅 없이 배포 중 재시작해도 로그인이 유지된다.
+ * 만료된 세션은 ExpiredSessionCleaner 가 나눠서 지운다.
+ */
+@Configuration
+public class SessionConfig {
+
+    // ConversionService 를 빈으로 올리면 MVC 의 것과 겹치므로 저장소에 직접 넣는다.
+    @Bean
+    public SessionRepositoryCustomizer<JdbcIndexedSessionRepository> compactSessionAttributes() {
+        SessionAttributeCodec codec = new SessionAttributeCodec(getClass().getClassLoader());
+        GenericConversionService conversionService = new GenericConversionService();
+        conversionService.addConverter(Object.class, byte[].class, codec::serialize);
+        conversionService.addConverter(byte[].class, Object.class, codec::deserialize);
+        return repository -> repository.setConversionService(conversionService);
+    }
+}
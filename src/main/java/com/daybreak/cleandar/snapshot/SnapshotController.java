@@ -0,0 +1,57 @@
+package com.daybreak.cleandar.snapshot;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+/**
+ * 로컬에서만 부를 수 있다(WebSecurityConfig).
+ * <pre>
+ * curl -o cleandar.snapshot http://localhost:8080/admin/snapshot
+ * curl --data-binary @cleandar.snapshot -H 'Content-Type: application/octet-stream' http://localhost:8080/admin/snapshot
+ * </pre>
+ */
+@Controller
+@RequiredArgsConstructor
+@RequestMapping("/admin/snapshot")
+public class SnapshotController {
+
+    private static final DateTimeFormatter FILE_NAME = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+    private final SnapshotService snapshotService;
+
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> export() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"cleandar-" + LocalDateTime.now().format(FILE_NAME) + ".snapshot\"")
+                .body(snapshotService::export);
+    }
+
+    @PostMapping(consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @ResponseBody
+    public ResponseEntity<Map<String, Long>> restore(HttpServletRequest request) throws IOException {
+        try {
+            return ResponseEntity.ok(snapshotService.restore(request.getInputStream()));
+        } catch (IllegalStateException exception) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (IllegalArgumentException exception) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.daybreak.cleandar.snapshot;
+
+import com.daybreak.cleandar.snapshot.SnapshotTable.ColumnType;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * SnapshotWriter 가 쓴 형식을 읽는다. 행은 길이만큼 버퍼에 읽은 뒤 풀어서 values 에 채운다.
+ */
+class SnapshotReader {
+
+    private final DataInputStream in;
+
+    private SnapshotTable table;
+    private long[] previous;
+    private byte[] row = new byte[256];
+    private int position;
+    private int limit;
+
+    SnapshotReader(InputStream in) throws IOException {
+        this.in = new DataInputStream(in);
+        byte[] magic = new byte[SnapshotWriter.MAGIC.length];
+        this.in.readFully(magic);
+        if (!Arrays.equals(magic, SnapshotWriter.MAGIC)) {
+            throw new IllegalArgumentException("not a cleandar snapshot");
+        }
+        long version = readVarint();
+        if (version != SnapshotWriter.VERSION) {
+            throw new IllegalArgumentException("unsupported snapshot version " + version);
+        }
+    }
+
+    /**
+     * 다음 테이블로 넘어간다. 스냅샷이 끝났으면 null.
+     */
+    SnapshotTable nextTable() throws IOException {
+        int tag = in.readUnsignedByte();
+        if (tag == SnapshotWriter.END) {
+            return null;
+        }
+        if (tag >= SnapshotTable.values().length) {
+            throw new IllegalArgumentException("unknown snapshot table " + tag);
+        }
+        table = SnapshotTable.values()[tag];
+        long columns = readVarint();
+        if (columns != table.types().length) {
+            throw new IllegalArgumentException("column count mismatch for " + table.table() + ": " + columns);
+        }
+        previous = new long[table.types().length];
+        return table;
+    }
+
+    /**
+     * 현재 테이블의 다음 행을 values 에 채운다. 테이블이 끝났으면 false.
+     */
+    boolean readRow(Object[] values) throws IOException {
+        long length = readVarint();
+        if (length == 0) {
+            return false;
+        }
+        limit = (int) (length - 1);
+        if (row.length < limit) {
+            row = new byte[Math.max(limit, row.length * 2)];
+        }
+        in.readFully(row, 0, limit);
+        position = 0;
+
+        ColumnType[] types = table.types();
+        for (int i = 0; i < types.length; i++) {
+            switch (types[i]) {
+                case ID:
+                    values[i] = undelta(i, unzigzag(readRowVarint()));
+                    break;
+                case REF:
+                    Long ref = readNullable(i);
+                    values[i] = ref;
+                    break;
+                case TIME:
+                    Long micros = readNullable(i);
+                    values[i] = micros == null ? null : SnapshotTime.fromMicros(micros);
+                    break;
+                case TEXT:
+                    values[i] = readText();
+                    break;
+                default:
+                    throw new IllegalStateException("unknown column type " + types[i]);
+            }
+        }
+        if (position != limit) {
+            throw new IllegalArgumentException("corrupt row in " + table.table());
+        }
+        return true;
+    }
+
+    private Long readNullable(int column) {
+        long value = readRowVarint();
+        return value == 0 ? null : undelta(column, unzigzag(value - 1));
+    }
+
+    private String readText() {
+        long length = readRowVarint();
+        if (length == 0) {
+            return null;
+        }
+        int size = (int) (length - 1);
+        if (position + size > limit) {
+            throw new IllegalArgumentException("corrupt text in " + table.table());
+        }
+        String text = new String(row, position, size, StandardCharsets.UTF_8);
+        position += size;
+        return text;
+    }
+
+    private long undelta(int column, long delta) {
+        previous[column] += delta;
+        return previous[column];
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private long readRowVarint() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (position >= limit) {
+                throw new IllegalArgumentException("corrupt row in " + table.table());
+            }
+            byte b = row[position++];
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("varint too long");
+    }
+
+    private long readVarint() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("truncated snapshot");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("varint too long");
+    }
+}
@@ -0,0 +1,157 @@
+package com.daybreak.cleandar.snapshot;
+
+import com.daybreak.cleandar.cache.SecondLevelCacheEvictor;
+import com.daybreak.cleandar.domain.teamuser.TeamMembershipCache;
+import com.daybreak.cleandar.reminder.ReminderScheduler;
+import com.daybreak.cleandar.search.ScheduleSearchIndex;
+import com.daybreak.cleandar.view.RenderedFragmentCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.*;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * users, teams, teamsusers, schedules 전체를 SnapshotWriter 형식으로 내보내고 다시 불러온다.
+ * 내보낼 때는 fetch-size 단위로 커서를 읽고, 불러올 때는 batch-size 단위로 insert 하므로 데이터 크기와 상관없이 메모리를 일정하게 쓴다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SnapshotService {
+
+    private final DataSource dataSource;
+    private final PlatformTransactionManager transactionManager;
+    private final SecondLevelCacheEvictor secondLevelCacheEvictor;
+    private final TeamMembershipCache teamMembershipCache;
+    private final ScheduleSearchIndex scheduleSearchIndex;
+    private final ReminderScheduler reminderScheduler;
+    private final RenderedFragmentCache renderedFragmentCache;
+
+    @Value("${cleandar.snapshot.fetch-size:1000}")
+    private int fetchSize;
+
+    @Value("${cleandar.snapshot.batch-size:1000}")
+    private int batchSize;
+
+    /**
+     * 네 테이블을 한 트랜잭션(REPEATABLE READ)에서 읽어서 테이블 사이의 참조가 어긋나지 않게 한다.
+     */
+    public Map<String, Long> export(OutputStream outputStream) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(fetchSize);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+
+        long started = System.currentTimeMillis();
+        Map<String, Long> counts = transactionTemplate.execute(status -> {
+            try {
+                BufferedOutputStream out = new BufferedOutputStream(outputStream, 64 * 1024);
+                SnapshotWriter writer = new SnapshotWriter(out);
+                Map<String, Long> rows = new LinkedHashMap<>();
+                for (SnapshotTable table : SnapshotTable.values()) {
+                    long[] count = new long[1];
+                    writer.startTable(table);
+                    jdbcTemplate.query(table.selectSql(), rs -> {
+                        try {
+                            writer.writeRow(rs);
+                        } catch (IOException exception) {
+                            throw new UncheckedIOException(exception);
+                        }
+                        count[0]++;
+                    });
+                    writer.endTable();
+                    rows.put(table.table(), count[0]);
+                }
+                writer.finish();
+                return rows;
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        });
+        log.info("snapshot exported rows={} elapsedMs={}", counts, System.currentTimeMillis() - started);
+        return counts;
+    }
+
+    /**
+     * 빈 테이블에만 불러온다. 한 트랜잭션으로 불러오므로 중간에 실패하면 아무것도 남지 않는다.
+     */
+    public Map<String, Long> restore(InputStream inputStream) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        long started = System.currentTimeMillis();
+        Map<String, Long> counts = transactionTemplate.execute(status -> {
+            for (SnapshotTable table : SnapshotTable.values()) {
+                Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table.table(), Long.class);
+                if (rows != null && rows > 0) {
+                    throw new IllegalStateException("restore needs empty tables, " + table.table() + " has " + rows + " rows");
+                }
+            }
+
+            try {
+                SnapshotReader reader = new SnapshotReader(new BufferedInputStream(inputStream, 64 * 1024));
+                Map<String, Long> rows = new LinkedHashMap<>();
+                SnapshotTable table;
+                while ((table = reader.nextTable()) != null) {
+                    rows.put(table.table(), insert(jdbcTemplate, reader, table));
+                }
+                restartIdentities(jdbcTemplate);
+                return rows;
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        });
+
+        secondLevelCacheEvictor.everything();
+        teamMembershipCache.evictAll();
+        scheduleSearchIndex.evictAll();
+        renderedFragmentCache.evictAll();
+        reminderScheduler.reload();
+        log.info("snapshot restored rows={} elapsedMs={}", counts, System.currentTimeMillis() - started);
+        return counts;
+    }
+
+    private long insert(JdbcTemplate jdbcTemplate, SnapshotReader reader, SnapshotTable table) throws IOException {
+        String sql = table.insertSql();
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        long count = 0;
+        Object[] values = new Object[table.types().length];
+        while (reader.readRow(values)) {
+            batch.add(values.clone());
+            count++;
+            if (batch.size() == batchSize) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+        return count;
+    }
+
+    // id 를 직접 넣으면 H2 의 identity 는 따라오지 않는다. MariaDB 는 AUTO_INCREMENT 가 알아서 올라간다.
+    private void restartIdentities(JdbcTemplate jdbcTemplate) {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"H2".equals(product)) {
+            return;
+        }
+        for (SnapshotTable table : SnapshotTable.values()) {
+            Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table.table(), Long.class);
+            jdbcTemplate.execute("ALTER TABLE " + table.table() + " ALTER COLUMN id RESTART WITH " + (max + 1));
+        }
+    }
+}
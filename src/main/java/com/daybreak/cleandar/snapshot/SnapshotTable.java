@@ -0,0 +1,60 @@
+package com.daybreak.cleandar.snapshot;
+
+/**
+ * 스냅샷에 들어가는 테이블과 컬럼. 복원할 때 외래 키 순서를 지키도록 이 순서대로 쓰고 읽는다.
+ */
+enum SnapshotTable {
+
+    USERS("users",
+            new String[]{"id", "created_at", "updated_at", "email", "password", "name"},
+            new ColumnType[]{ColumnType.ID, ColumnType.TIME, ColumnType.TIME, ColumnType.TEXT, ColumnType.TEXT, ColumnType.TEXT}),
+    TEAMS("teams",
+            new String[]{"id", "created_at", "updated_at", "name", "leader_id"},
+            new ColumnType[]{ColumnType.ID, ColumnType.TIME, ColumnType.TIME, ColumnType.TEXT, ColumnType.REF}),
+    TEAM_USERS("teamsusers",
+            new String[]{"id", "teams_id", "users_id", "status"},
+            new ColumnType[]{ColumnType.ID, ColumnType.REF, ColumnType.REF, ColumnType.TEXT}),
+    SCHEDULES("schedules",
+            new String[]{"id", "created_at", "updated_at", "start", "end", "title", "description", "user_id"},
+            new ColumnType[]{ColumnType.ID, ColumnType.TIME, ColumnType.TIME, ColumnType.TIME, ColumnType.TIME, ColumnType.TEXT, ColumnType.TEXT, ColumnType.REF});
+
+    enum ColumnType {
+        // 오름차순 id. 앞 행과의 차이만 쓴다.
+        ID,
+        // 다른 테이블 id. null 이 될 수 있고 앞 행과의 차이를 쓴다.
+        REF,
+        // 마이크로초 단위 시각. null 이 될 수 있고 앞 행과의 차이를 쓴다.
+        TIME,
+        TEXT
+    }
+
+    private final String table;
+    private final String[] columns;
+    private final ColumnType[] types;
+
+    SnapshotTable(String table, String[] columns, ColumnType[] types) {
+        this.table = table;
+        this.columns = columns;
+        this.types = types;
+    }
+
+    String table() {
+        return table;
+    }
+
+    ColumnType[] types() {
+        return types;
+    }
+
+    String selectSql() {
+        return "SELECT " + String.join(", ", columns) + " FROM " + table + " ORDER BY id";
+    }
+
+    String insertSql() {
+        StringBuilder placeholders = new StringBuilder();
+        for (int i = 0; i < columns.length; i++) {
+            placeholders.append(i == 0 ? "?" : ", ?");
+        }
+        return "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES (" + placeholders + ")";
+    }
+}
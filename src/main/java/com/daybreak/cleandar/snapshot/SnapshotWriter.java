@@ -0,0 +1,124 @@
+package com.daybreak.cleandar.snapshot;
+
+import com.daybreak.cleandar.snapshot.SnapshotTable.ColumnType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+/**
+ * 스냅샷 형식
+ * <pre>
+ * "CLDS" 형식버전
+ * (테이블번호 컬럼수 (행길이 행)* 0)* 0xFF
+ * </pre>
+ * 숫자는 모두 varint 이고 id, 시각은 같은 컬럼의 앞 행 값과의 차이를 zigzag 로 쓴다. null 이 될 수 있는 값은 0 을 null 로 두고 1 을 더해 쓴다.
+ * 문자열은 (UTF-8 길이 + 1) 다음에 바이트가 온다. 행 하나씩 버퍼에 만들어 길이를 앞에 붙여 쓰므로 메모리는 행 크기만큼만 쓴다.
+ */
+class SnapshotWriter {
+
+    static final byte[] MAGIC = {'C', 'L', 'D', 'S'};
+    static final int VERSION = 1;
+    static final int END = 0xFF;
+
+    private final OutputStream out;
+    private final ByteArrayOutputStream row = new ByteArrayOutputStream(256);
+
+    private SnapshotTable table;
+    private long[] previous;
+
+    SnapshotWriter(OutputStream out) throws IOException {
+        this.out = out;
+        out.write(MAGIC);
+        writeVarint(out, VERSION);
+    }
+
+    void startTable(SnapshotTable table) throws IOException {
+        this.table = table;
+        this.previous = new long[table.types().length];
+        out.write(table.ordinal());
+        writeVarint(out, table.types().length);
+    }
+
+    void writeRow(ResultSet rs) throws SQLException, IOException {
+        row.reset();
+        ColumnType[] types = table.types();
+        for (int i = 0; i < types.length; i++) {
+            switch (types[i]) {
+                case ID:
+                    writeVarint(row, zigzag(delta(i, rs.getLong(i + 1))));
+                    break;
+                case REF:
+                    long ref = rs.getLong(i + 1);
+                    writeNullable(i, rs.wasNull() ? null : ref);
+                    break;
+                case TIME:
+                    LocalDateTime time = rs.getObject(i + 1, LocalDateTime.class);
+                    writeNullable(i, time == null ? null : SnapshotTime.toMicros(time));
+                    break;
+                case TEXT:
+                    writeText(rs.getString(i + 1));
+                    break;
+                default:
+                    throw new IllegalStateException("unknown column type " + types[i]);
+            }
+        }
+        writeVarint(out, row.size() + 1);
+        row.writeTo(out);
+    }
+
+    void endTable() throws IOException {
+        writeVarint(out, 0);
+        table = null;
+    }
+
+    void finish() throws IOException {
+        out.write(END);
+        out.flush();
+    }
+
+    private void writeNullable(int column, Long value) {
+        if (value == null) {
+            writeVarint(row, 0);
+        } else {
+            writeVarint(row, zigzag(delta(column, value)) + 1);
+        }
+    }
+
+    private void writeText(String value) {
+        if (value == null) {
+            writeVarint(row, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(row, bytes.length + 1L);
+        row.write(bytes, 0, bytes.length);
+    }
+
+    private long delta(int column, long value) {
+        long delta = value - previous[column];
+        previous[column] = value;
+        return delta;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static void writeVarint(OutputStream out, long value) {
+        try {
+            while ((value & ~0x7FL) != 0) {
+                out.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            out.write((int) value);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.daybreak.cleandar.startup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * AppCDS 아카이브를 만들 때 쓴다(./gradlew cdsArchive). 시작이 끝나면 바로 종료해서 JVM 이 그때까지 읽은 클래스를 아카이브에 남긴다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "cleandar.startup.exit-on-ready", havingValue = "true")
+public class ExitOnReadyListener implements ApplicationListener<ApplicationReadyEvent> {
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        log.info("exit on ready startedMs={}", event.getTimeTaken() == null ? -1 : event.getTimeTaken().toMillis());
+        System.exit(SpringApplication.exit(event.getApplicationContext()));
+    }
+}
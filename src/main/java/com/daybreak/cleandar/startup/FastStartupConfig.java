@@ -0,0 +1,32 @@
+package com.daybreak.cleandar.startup;
+
+import com.daybreak.cleandar.coherence.ChangeLogTailer;
+import com.daybreak.cleandar.outbox.OutboxWorker;
+import com.daybreak.cleandar.session.ExpiredSessionCleaner;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+import org.thymeleaf.ITemplateEngine;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+
+/**
+ * fast-startup 프로필에서는 빈을 처음 쓸 때 만든다(application-fast-startup.properties).
+ * 첫 요청이 늦어지지 않도록 DataSource, EntityManagerFactory, 템플릿 엔진은 시작할 때 바로 만든다.
+ * 스케줄러는 만들어진 빈만 보므로 OutboxWorker, ExpiredSessionCleaner, ChangeLogTailer 도 바로 만든다.
+ * EntityManagerFactory 는 deferred 모드라 백그라운드에서 준비되고, 그동안 나머지 컨텍스트와 Tomcat 이 뜬다.
+ */
+@Configuration
+@Profile("fast-startup")
+public class FastStartupConfig {
+
+    @Bean
+    public static LazyInitializationExcludeFilter eagerStartupBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(DataSource.class, EntityManagerFactory.class,
+                AbstractEntityManagerFactoryBean.class, ITemplateEngine.class, OutboxWorker.class,
+                ExpiredSessionCleaner.class, ChangeLogTailer.class);
+    }
+}
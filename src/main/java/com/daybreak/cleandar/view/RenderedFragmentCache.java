@@ -0,0 +1,100 @@
+package com.daybreak.cleandar.view;
+
+import com.daybreak.cleandar.domain.schedule.ScheduleDto;
+import com.daybreak.cleandar.domain.team.TeamDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 일정 카드와 팀원 목록처럼 자주 그리지만 잘 바뀌지 않는 조각을 렌더링한 HTML 로 들고 있는다.
+ * 항목은 id 로 찾고 버전이 다르면 다시 그린다. 일정은 updatedAt, 팀원 목록은 teams.members_version 을 버전으로 쓴다.
+ *
+ * CSRF 토큰이 들어가는 form 과 링크는 요청마다 달라지므로 캐시하는 조각에 넣지 않는다.
+ */
+@Component
+public class RenderedFragmentCache {
+
+    private static final String SCHEDULE = "schedule:";
+    private static final String TEAM = "team:";
+
+    private final ITemplateEngine templateEngine;
+    private final Counter hits;
+    private final Counter misses;
+
+    private final Map<String, Fragment> fragments = new ConcurrentHashMap<>();
+
+    @Value("${cleandar.fragment-cache.max-entries:10000}")
+    private int maxEntries;
+
+    public RenderedFragmentCache(ITemplateEngine templateEngine, MeterRegistry meterRegistry) {
+        this.templateEngine = templateEngine;
+        this.hits = meterRegistry.counter("cleandar.fragment.cache", "result", "hit");
+        this.misses = meterRegistry.counter("cleandar.fragment.cache", "result", "miss");
+    }
+
+    public String scheduleCard(ScheduleDto.Response schedule) {
+        return render(SCHEDULE + schedule.getId(), schedule.getVersion(), "fragments/schedule", "card", "schedule", schedule);
+    }
+
+    public String teamMembers(TeamDto.Detail team) {
+        return render(TEAM + team.getId(), String.valueOf(team.getMembersVersion()), "fragments/team", "members", "team", team);
+    }
+
+    public void evictSchedule(Long id) {
+        fragments.remove(SCHEDULE + id);
+    }
+
+    public void evictTeam(Long id) {
+        fragments.remove(TEAM + id);
+    }
+
+    // 스냅샷 복원처럼 id 와 버전이 처음부터 다시 매겨진 경우
+    public void evictAll() {
+        fragments.clear();
+    }
+
+    private String render(String key, String version, String template, String selector, String name, Object value) {
+        Fragment fragment = fragments.get(key);
+        if (fragment != null && fragment.version.equals(version)) {
+            hits.increment();
+            return fragment.html;
+        }
+
+        misses.increment();
+        Context context = new Context(LocaleContextHolder.getLocale(), Collections.singletonMap(name, value));
+        String html = templateEngine.process(template, Collections.singleton(selector), context);
+        if (fragments.size() >= maxEntries) {
+            shrink();
+        }
+        fragments.put(key, new Fragment(version, html));
+        return html;
+    }
+
+    private void shrink() {
+        Iterator<String> iterator = fragments.keySet().iterator();
+        for (int i = maxEntries / 10; i >= 0 && iterator.hasNext(); i--) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static class Fragment {
+        private final String version;
+        private final String html;
+
+        Fragment(String version, String html) {
+            this.version = version;
+            this.html = html;
+        }
+    }
+}
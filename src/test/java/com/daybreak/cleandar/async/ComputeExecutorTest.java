@@ -0,0 +1,145 @@
+package com.daybreak.cleandar.async;
+
+import com.daybreak.cleandar.builder.ScheduleBuilder;
+import com.daybreak.cleandar.builder.UserBuilder;
+import com.daybreak.cleandar.domain.schedule.ScheduleRepository;
+import com.daybreak.cleandar.domain.team.Team;
+import com.daybreak.cleandar.domain.team.TeamDto;
+import com.daybreak.cleandar.domain.team.TeamRepository;
+import com.daybreak.cleandar.domain.team.TeamService;
+import com.daybreak.cleandar.domain.teamuser.TeamUserRepository;
+import com.daybreak.cleandar.domain.user.User;
+import com.daybreak.cleandar.domain.user.UserRepository;
+import com.daybreak.cleandar.security.UserPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ComputeExecutorTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TeamRepository teamRepository;
+    @Autowired
+    private TeamUserRepository teamUserRepository;
+    @Autowired
+    private TeamService teamService;
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    private ComputeExecutor computeExecutor;
+
+    @AfterEach
+    void tearDown() {
+        if (computeExecutor != null) {
+            computeExecutor.destroy();
+        }
+        scheduleRepository.deleteAll();
+        teamUserRepository.deleteAll();
+        teamRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("candidates are computed off the request thread")
+    void candidates() throws Exception {
+        User leader = userRepository.save(new UserBuilder().withEmail("leader@compute.com").build());
+        Team team = teamService.create(TeamDto.Request.builder().name("compute-team").leader(leader).build());
+        scheduleRepository.save(new ScheduleBuilder().withUser(leader)
+                .withStartAndEnd(LocalDateTime.of(2022, 3, 7, 12, 0), LocalDateTime.of(2022, 3, 7, 13, 0)).build());
+
+        MvcResult result = mockMvc.perform(get("/schedules/candidates")
+                        .param("start", "2022-03-07T09:00").param("end", "2022-03-07T18:00")
+                        .param("teamId", String.valueOf(team.getId()))
+                        .with(user(new UserPrincipal(leader))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(view().name("teams/candidates"))
+                .andExpect(model().attributeExists("candidates"));
+    }
+
+    @Test
+    @DisplayName("reject requests over the per user limit")
+    void perUserLimit() throws InterruptedException {
+        computeExecutor = new ComputeExecutor(new SimpleMeterRegistry(), 4, 4, 1, Duration.ofSeconds(10));
+        CountDownLatch release = new CountDownLatch(1);
+
+        DeferredResult<String> first = computeExecutor.submit("busy@compute.com", () -> await(release));
+        DeferredResult<String> second = computeExecutor.submit("busy@compute.com", () -> "second");
+        DeferredResult<String> other = computeExecutor.submit("other@compute.com", () -> "other");
+
+        assertRejected(second, HttpStatus.TOO_MANY_REQUESTS);
+        waitFor(other);
+        Assertions.assertEquals("other", other.getResult());
+
+        release.countDown();
+        waitFor(first);
+        Assertions.assertEquals("done", first.getResult());
+        Assertions.assertEquals(0, computeExecutor.running("busy@compute.com"));
+    }
+
+    @Test
+    @DisplayName("reject requests when the queue is full")
+    void saturated() throws InterruptedException {
+        computeExecutor = new ComputeExecutor(new SimpleMeterRegistry(), 1, 1, 10, Duration.ofSeconds(10));
+        CountDownLatch release = new CountDownLatch(1);
+
+        DeferredResult<String> running = computeExecutor.submit("a@compute.com", () -> await(release));
+        DeferredResult<String> queued = computeExecutor.submit("b@compute.com", () -> "queued");
+        DeferredResult<String> rejected = computeExecutor.submit("c@compute.com", () -> "rejected");
+
+        assertRejected(rejected, HttpStatus.SERVICE_UNAVAILABLE);
+        Assertions.assertEquals(0, computeExecutor.running("c@compute.com"));
+
+        release.countDown();
+        waitFor(running);
+        waitFor(queued);
+        Assertions.assertEquals("queued", queued.getResult());
+    }
+
+    private static String await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        return "done";
+    }
+
+    private static void waitFor(DeferredResult<?> result) throws InterruptedException {
+        for (int i = 0; i < 100 && !result.hasResult(); i++) {
+            Thread.sleep(50);
+        }
+        Assertions.assertTrue(result.hasResult());
+    }
+
+    private static void assertRejected(DeferredResult<?> result, HttpStatus status) {
+        Assertions.assertTrue(result.hasResult());
+        Assertions.assertTrue(result.getResult() instanceof ResponseStatusException);
+        Assertions.assertEquals(status, ((ResponseStatusException) result.getResult()).getStatus());
+    }
+}
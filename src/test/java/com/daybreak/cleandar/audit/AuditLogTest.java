@@ -0,0 +1,118 @@
+package com.daybreak.cleandar.audit;
+
+import com.daybreak.cleandar.builder.UserBuilder;
+import com.daybreak.cleandar.domain.schedule.ScheduleDto;
+import com.daybreak.cleandar.domain.schedule.ScheduleRepository;
+import com.daybreak.cleandar.domain.schedule.ScheduleService;
+import com.daybreak.cleandar.domain.user.User;
+import com.daybreak.cleandar.domain.user.UserRepository;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+// 실행마다 빈 디렉터리에 쓰고, 파일이 자주 바뀌도록 max-file-size 를 작게 둔다.
+@SpringBootTest(properties = {
+        "cleandar.audit.dir=build/audit-test/${random.uuid}",
+        "cleandar.audit.max-file-size=1KB",
+        "cleandar.audit.buffer-size=64",
+        "cleandar.outbox.poll-interval=PT1H"
+})
+class AuditLogTest {
+
+    @Autowired
+    private AuditLog auditLog;
+    @Autowired
+    private ScheduleService scheduleService;
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User user;
+    private long startedAt;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new UserBuilder().withEmail("audit@example.com").build());
+        startedAt = System.currentTimeMillis();
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduleRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("committed schedule changes are written and can be queried by actor, entity and time")
+    void recordsScheduleChanges() throws IOException {
+        ScheduleDto.Response created = scheduleService.create(user, request(null));
+        scheduleService.update(user.getEmail(), request(created.getId()));
+        scheduleService.delete(user.getEmail(), created.getId());
+        transactionTemplate.executeWithoutResult(status -> {
+            scheduleService.create(user, request(null));
+            status.setRollbackOnly();
+        });
+        Assertions.assertTrue(auditLog.awaitDurable(Duration.ofSeconds(5)));
+
+        List<AuditEvent> events = AuditLogReader.query(auditLog.directory(), AuditLogReader.Query.builder()
+                .actorId(user.getId()).entity(AuditEvent.Entity.SCHEDULE).from(startedAt).build());
+        Assertions.assertEquals(3, events.size());
+        Assertions.assertEquals(AuditEvent.Action.CREATE, events.get(0).getAction());
+        Assertions.assertEquals(AuditEvent.Action.UPDATE, events.get(1).getAction());
+        Assertions.assertEquals(AuditEvent.Action.DELETE, events.get(2).getAction());
+        events.forEach(event -> Assertions.assertEquals(created.getId(), event.getEntityId()));
+
+        Assertions.assertTrue(AuditLogReader.query(auditLog.directory(), AuditLogReader.Query.builder()
+                .actorId(user.getId()).to(startedAt).build()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("events from many threads survive a full buffer and file rotation")
+    void concurrentWriters() throws Exception {
+        int threads = 4;
+        int perThread = 500;
+        Thread[] writers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            long actor = -1000L - t;
+            writers[t] = new Thread(() -> {
+                for (long i = 0; i < perThread; i++) {
+                    auditLog.record(actor, AuditEvent.Entity.TEAM, i, AuditEvent.Action.UPDATE);
+                }
+            });
+            writers[t].start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        Assertions.assertTrue(auditLog.awaitDurable(Duration.ofSeconds(10)));
+
+        Assertions.assertTrue(AuditLogReader.files(auditLog.directory()).size() > 1);
+        for (int t = 0; t < threads; t++) {
+            List<AuditEvent> events = AuditLogReader.query(auditLog.directory(), AuditLogReader.Query.builder()
+                    .actorId(-1000L - t).from(startedAt).build());
+            Assertions.assertEquals(perThread, events.size());
+            // 한 스레드가 넣은 순서는 유지된다.
+            for (int i = 0; i < perThread; i++) {
+                Assertions.assertEquals(i, events.get(i).getEntityId());
+            }
+        }
+    }
+
+    private static ScheduleDto.Request request(Long id) {
+        return ScheduleDto.Request.builder()
+                .id(id)
+                .start("2022-03-07T10:00")
+                .end("2022-03-07T11:00")
+                .title("audit")
+                .description("audit")
+                .build();
+    }
+}
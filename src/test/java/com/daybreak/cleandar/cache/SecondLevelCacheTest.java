@@ -0,0 +1,119 @@
+package com.daybreak.cleandar.cache;
+
+import com.daybreak.cleandar.builder.UserBuilder;
+import com.daybreak.cleandar.domain.team.Team;
+import com.daybreak.cleandar.domain.team.TeamDto;
+import com.daybreak.cleandar.domain.team.TeamRepository;
+import com.daybreak.cleandar.domain.team.TeamService;
+import com.daybreak.cleandar.domain.teamuser.TeamUser;
+import com.daybreak.cleandar.domain.teamuser.TeamUserRepository;
+import com.daybreak.cleandar.domain.user.User;
+import com.daybreak.cleandar.domain.user.UserDto;
+import com.daybreak.cleandar.domain.user.UserRepository;
+import com.daybreak.cleandar.security.UserPrincipalDetailsService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Collections;
+
+@SpringBootTest
+class SecondLevelCacheTest {
+
+    @Autowired
+    private TeamService teamService;
+    @Autowired
+    private UserPrincipalDetailsService userService;
+    @Autowired
+    private TeamRepository teamRepository;
+    @Autowired
+    private TeamUserRepository teamUserRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+    private User leader;
+    private Team team;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        leader = userRepository.save(new UserBuilder().withEmail("leader@l2.com").build());
+        team = teamService.create(TeamDto.Request.builder().name("l2-team").leader(leader).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        teamUserRepository.deleteAll();
+        teamRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("repeated entity and query lookups are served from cache")
+    void hit() {
+        teamRepository.findById(team.getId());
+        userRepository.findUserByEmail(leader.getEmail());
+        teamUserRepository.findByTeam(team);
+
+        statistics.clear();
+        Assertions.assertEquals("l2-team", teamRepository.findById(team.getId()).get().getName());
+        Assertions.assertEquals(leader.getId(), userRepository.findUserByEmail(leader.getEmail()).getId());
+        Assertions.assertEquals(1, teamUserRepository.findByTeam(team).size());
+
+        // User.schedules 는 캐시하지 않으므로 일정 컬렉션 조회만 남는다.
+        Assertions.assertEquals(0, statistics.getQueryExecutionCount());
+        Assertions.assertEquals(2, statistics.getQueryCacheHitCount());
+        for (Class<?> entity : new Class<?>[]{User.class, Team.class, TeamUser.class}) {
+            Assertions.assertEquals(0, statistics.getEntityStatistics(entity.getName()).getFetchCount());
+            Assertions.assertEquals(0, statistics.getEntityStatistics(entity.getName()).getLoadCount());
+            Assertions.assertTrue(statistics.getEntityStatistics(entity.getName()).getCacheHitCount() > 0);
+        }
+
+        FunctionCounter hits = meterRegistry.find("hibernate.second.level.cache.requests")
+                .tags("region", Team.class.getName(), "result", "hit").functionCounter();
+        Assertions.assertNotNull(hits);
+        Assertions.assertTrue(hits.count() > 0);
+    }
+
+    @Test
+    @DisplayName("user writes invalidate cached email lookups")
+    void userWrites() {
+        Assertions.assertNull(userRepository.findUserByEmail("new@l2.com"));
+        userService.create(UserDto.Request.builder().email("new@l2.com").password("qwer1234").name("new").build());
+        Assertions.assertNotNull(userRepository.findUserByEmail("new@l2.com"));
+
+        Assertions.assertNull(userRepository.findUserByEmail("bulk@l2.com"));
+        userRepository.insertAll(Collections.singletonList(new UserBuilder().withEmail("bulk@l2.com").build()));
+        Assertions.assertNotNull(userRepository.findUserByEmail("bulk@l2.com"));
+    }
+
+    @Test
+    @DisplayName("team writes invalidate cached teams and memberships")
+    void teamWrites() {
+        User member = userRepository.save(new UserBuilder().withEmail("member@l2.com").build());
+        Assertions.assertEquals(1, teamUserRepository.findByTeam(team).size());
+        Assertions.assertTrue(teamUserRepository.findTeamUserByUser(member).isEmpty());
+
+        teamService.invite(leader, team.getId(), Collections.singletonList(member.getId()));
+        Assertions.assertEquals(2, teamUserRepository.findByTeam(team).size());
+        Assertions.assertEquals(1, teamUserRepository.findTeamUserByUser(member).size());
+
+        teamService.update(leader, TeamDto.Request.builder().id(team.getId()).name("renamed").build());
+        Assertions.assertEquals("renamed", teamRepository.findById(team.getId()).get().getName());
+
+        teamService.delete(leader, team.getId());
+        Assertions.assertFalse(teamRepository.findById(team.getId()).isPresent());
+        Assertions.assertTrue(teamUserRepository.findByTeam(team).isEmpty());
+        Assertions.assertTrue(teamUserRepository.findTeamUserByUser(member).isEmpty());
+    }
+}
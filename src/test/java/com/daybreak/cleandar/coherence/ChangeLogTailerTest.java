@@ -0,0 +1,137 @@
+package com.daybreak.cleandar.coherence;
+
+import com.daybreak.cleandar.builder.TeamBuilder;
+import com.daybreak.cleandar.builder.UserBuilder;
+import com.daybreak.cleandar.domain.team.Team;
+import com.daybreak.cleandar.domain.team.TeamRepository;
+import com.daybreak.cleandar.domain.teamuser.TeamMembershipCache;
+import com.daybreak.cleandar.domain.teamuser.TeamUser;
+import com.daybreak.cleandar.domain.teamuser.TeamUserRepository;
+import com.daybreak.cleandar.domain.user.User;
+import com.daybreak.cleandar.domain.user.UserRepository;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+// 다른 인스턴스는 change_log 에 다른 node_id 로 직접 쓴 행으로 흉내 낸다. 스케줄러가 끼어들지 않도록 poll 은 직접 부른다.
+@SpringBootTest(properties = {
+        "cleandar.change-log.poll-interval=PT1H",
+        "cleandar.change-log.purge-interval=PT1H",
+        "cleandar.change-log.gap-timeout=PT0S",
+        "cleandar.outbox.poll-interval=PT1H"
+})
+class ChangeLogTailerTest {
+
+    private static final String OTHER_NODE = "other-node";
+
+    @Autowired
+    private ChangeLogTailer changeLogTailer;
+    @Autowired
+    private ChangeLog changeLog;
+    @Autowired
+    private TeamMembershipCache teamMembershipCache;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TeamRepository teamRepository;
+    @Autowired
+    private TeamUserRepository teamUserRepository;
+
+    private User leader;
+    private User member;
+    private Team team;
+
+    @BeforeEach
+    void setUp() {
+        leader = userRepository.save(new UserBuilder().withEmail("leader@change-log.com").build());
+        member = userRepository.save(new UserBuilder().withEmail("member@change-log.com").build());
+        team = teamRepository.save(new TeamBuilder().withName("change-log-team").build(leader));
+        changeLogTailer.poll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        teamUserRepository.deleteAll();
+        teamRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("membership written by another node is evicted after a poll")
+    void evictsForeignChanges() {
+        Assertions.assertFalse(teamMembershipCache.isMember(member.getId(), team.getId()));
+
+        jdbcTemplate.update("INSERT INTO teamsusers (teams_id, users_id, status) VALUES (?, ?, ?)", team.getId(), member.getId(), TeamUser.WAIT);
+        insertForeign(ChangeType.USER, member.getId());
+        Assertions.assertFalse(teamMembershipCache.isMember(member.getId(), team.getId()));
+
+        Assertions.assertEquals(1, changeLogTailer.poll());
+        Assertions.assertTrue(teamMembershipCache.isMember(member.getId(), team.getId()));
+        Assertions.assertEquals(0, changeLogTailer.poll());
+    }
+
+    @Test
+    @DisplayName("changes of this node are skipped and only written on commit")
+    void skipsOwnChanges() {
+        long before = changeLogTailer.cursor();
+        transactionTemplate.executeWithoutResult(status -> {
+            changeLog.append(ChangeType.TEAM, team.getId());
+            changeLog.append(ChangeType.TEAM, team.getId());
+            Assertions.assertEquals(0, countAfter(before));
+        });
+        Assertions.assertEquals(1, countAfter(before));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            changeLog.append(ChangeType.TEAM, team.getId());
+            status.setRollbackOnly();
+        });
+        Assertions.assertEquals(1, countAfter(before));
+
+        Assertions.assertEquals(0, changeLogTailer.poll());
+        Assertions.assertTrue(changeLogTailer.cursor() > before);
+    }
+
+    @Test
+    @DisplayName("cursor waits at an id gap and skips it after the gap timeout")
+    void holdsGap() {
+        long before = changeLogTailer.cursor();
+        // 롤백된 insert 도 IDENTITY 값은 써 버리므로 id 가 빈다.
+        transactionTemplate.executeWithoutResult(status -> {
+            insertForeign(ChangeType.SCHEDULE, 1L);
+            status.setRollbackOnly();
+        });
+        insertForeign(ChangeType.SCHEDULE, 2L);
+
+        Assertions.assertEquals(1, changeLogTailer.poll());
+        Assertions.assertEquals(before, changeLogTailer.cursor());
+
+        Assertions.assertEquals(1, changeLogTailer.poll());
+        Assertions.assertEquals(before + 2, changeLogTailer.cursor());
+    }
+
+    @Test
+    @DisplayName("purge removes rows older than the retention")
+    void purge() {
+        insertForeign(ChangeType.USER, leader.getId());
+        changeLogTailer.poll();
+        Assertions.assertTrue(changeLogTailer.purge(LocalDateTime.now().plusMinutes(1)) > 0);
+        Assertions.assertEquals(0, countAfter(0));
+    }
+
+    private void insertForeign(ChangeType type, Long id) {
+        jdbcTemplate.update(ChangeLog.INSERT, type.name(), id, OTHER_NODE, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    private int countAfter(long id) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM change_log WHERE id > ?", Integer.class, id);
+    }
+}
@@ -0,0 +1,58 @@
+package com.daybreak.cleandar.datasource;
+
+import com.daybreak.cleandar.builder.UserBuilder;
+import com.daybreak.cleandar.domain.team.TeamService;
+import com.daybreak.cleandar.domain.user.User;
+import com.daybreak.cleandar.domain.user.UserRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+
+// replica 도 같은 H2 를 보게 해서 스키마 없이 배선만 확인한다. 라우팅 자체는 ReadWriteRoutingDataSourceTest 에서 본다.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-config;DB_CLOSE_DELAY=-1",
+        "cleandar.datasource.replica.url=jdbc:h2:mem:routing-config;DB_CLOSE_DELAY=-1",
+        "spring.datasource.hikari.maximum-pool-size=3",
+        "spring.datasource.hikari.connection-timeout=4000"
+})
+class DataSourceRoutingConfigTest {
+
+    @Autowired
+    private TeamService teamService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private HikariDataSource primaryDataSource;
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private HikariDataSource replicaDataSource;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("read only service methods use replica pool")
+    void replicaPool() {
+        User user = userRepository.save(new UserBuilder().withEmail("routing@example.com").build());
+
+        Assertions.assertTrue(teamService.index(user).isEmpty());
+        Assertions.assertNotNull(replicaDataSource.getHikariPoolMXBean());
+        Assertions.assertTrue(replicaDataSource.getHikariPoolMXBean().getTotalConnections() > 0);
+    }
+
+    @Test
+    @DisplayName("both pools take spring.datasource.hikari settings")
+    void hikariSettings() {
+        for (HikariDataSource dataSource : new HikariDataSource[]{primaryDataSource, replicaDataSource}) {
+            Assertions.assertEquals(3, dataSource.getMaximumPoolSize());
+            Assertions.assertEquals(4000, dataSource.getConnectionTimeout());
+        }
+        Assertions.assertEquals(ReadWriteRoutingDataSource.PRIMARY, primaryDataSource.getPoolName());
+        Assertions.assertTrue(replicaDataSource.isReadOnly());
+    }
+}
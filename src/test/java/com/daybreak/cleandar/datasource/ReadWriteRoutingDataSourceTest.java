@@ -0,0 +1,127 @@
+package com.daybreak.cleandar.datasource;
+
+import org.junit.jupiter.api.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTemplate;
+    private TransactionTemplate readTemplate;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        writeTemplate = new TransactionTemplate(transactionManager);
+        readTemplate = new TransactionTemplate(transactionManager);
+        readTemplate.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("route read only transactions to replica")
+    void route() {
+        Assertions.assertEquals(ReadWriteRoutingDataSource.REPLICA, readTemplate.execute(status -> node()));
+        Assertions.assertEquals(ReadWriteRoutingDataSource.PRIMARY, writeTemplate.execute(status -> node()));
+        Assertions.assertEquals(ReadWriteRoutingDataSource.PRIMARY, node());
+    }
+
+    @Test
+    @DisplayName("read own writes from primary until lag window passes")
+    void readYourWrites() throws InterruptedException {
+        MockHttpSession writer = new MockHttpSession();
+        request(writer);
+        writeTemplate.execute(status -> node());
+        Assertions.assertEquals(ReadWriteRoutingDataSource.PRIMARY, readTemplate.execute(status -> node()));
+
+        request(new MockHttpSession());
+        Assertions.assertEquals(ReadWriteRoutingDataSource.REPLICA, readTemplate.execute(status -> node()));
+
+        request(writer);
+        Thread.sleep(300);
+        Assertions.assertEquals(ReadWriteRoutingDataSource.REPLICA, readTemplate.execute(status -> node()));
+    }
+
+    @Test
+    @DisplayName("rolled back writes do not pin reads to primary")
+    void rollback() {
+        request(new MockHttpSession());
+        writeTemplate.execute(status -> {
+            node();
+            status.setRollbackOnly();
+            return null;
+        });
+        Assertions.assertEquals(ReadWriteRoutingDataSource.REPLICA, readTemplate.execute(status -> node()));
+    }
+
+    @Test
+    @DisplayName("the window follows the session to another instance and to worker threads")
+    void sharedSession() throws InterruptedException {
+        MockHttpSession session = new MockHttpSession();
+        request(session);
+        writeTemplate.execute(status -> node());
+
+        // 세션 저장소를 같이 쓰는 다른 인스턴스
+        DataSource other = new LazyConnectionDataSourceProxy(routing());
+        TransactionTemplate otherRead = new TransactionTemplate(new DataSourceTransactionManager(other));
+        otherRead.setReadOnly(true);
+        JdbcTemplate otherJdbc = new JdbcTemplate(other);
+        Assertions.assertEquals(ReadWriteRoutingDataSource.PRIMARY,
+                otherRead.execute(status -> otherJdbc.queryForObject("SELECT name FROM node", String.class)));
+
+        AtomicReference<String> worker = new AtomicReference<>();
+        Thread thread = new Thread(ReadWriteRoutingDataSource.propagate(() -> worker.set(readTemplate.execute(status -> node()))));
+        thread.start();
+        thread.join();
+        Assertions.assertEquals(ReadWriteRoutingDataSource.PRIMARY, worker.get());
+    }
+
+    private static void request(MockHttpSession session) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setSession(session);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    private static ReadWriteRoutingDataSource routing() {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(Duration.ofMillis(200));
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(ReadWriteRoutingDataSource.PRIMARY, h2(ReadWriteRoutingDataSource.PRIMARY));
+        targets.put(ReadWriteRoutingDataSource.REPLICA, h2(ReadWriteRoutingDataSource.REPLICA));
+        routing.setTargetDataSources(targets);
+        routing.afterPropertiesSet();
+        return routing;
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static DataSource h2(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(20))");
+        jdbcTemplate.execute("DELETE FROM node");
+        jdbcTemplate.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
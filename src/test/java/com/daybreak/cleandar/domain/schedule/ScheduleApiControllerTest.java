@@ -0,0 +1,162 @@
+package com.daybreak.cleandar.domain.schedule;
+
+import com.daybreak.cleandar.builder.ScheduleBuilder;
+import com.daybreak.cleandar.builder.UserBuilder;
+import com.daybreak.cleandar.domain.team.Team;
+import com.daybreak.cleandar.domain.team.TeamDto;
+import com.daybreak.cleandar.domain.team.TeamRepository;
+import com.daybreak.cleandar.domain.team.TeamService;
+import com.daybreak.cleandar.domain.teamuser.TeamUserRepository;
+import com.daybreak.cleandar.domain.user.User;
+import com.daybreak.cleandar.domain.user.UserRepository;
+import com.daybreak.cleandar.security.UserPrincipal;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.util.unit.DataSize;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ScheduleApiControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+    @Autowired
+    private TeamRepository teamRepository;
+    @Autowired
+    private TeamUserRepository teamUserRepository;
+    @Autowired
+    private TeamService teamService;
+    @Autowired
+    private ScheduleApiController scheduleApiController;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private User owner;
+    private User other;
+    private Schedule later;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new UserBuilder().withEmail("owner@api.com").build());
+        other = userRepository.save(new UserBuilder().withEmail("other@api.com").build());
+        later = scheduleRepository.save(new ScheduleBuilder().withUser(owner)
+                .withStartAndEnd(LocalDateTime.of(2022, 3, 8, 10, 0), LocalDateTime.of(2022, 3, 8, 11, 0)).build());
+        scheduleRepository.save(new ScheduleBuilder().withUser(owner)
+                .withStartAndEnd(LocalDateTime.of(2022, 3, 7, 10, 0), LocalDateTime.of(2022, 3, 7, 11, 0)).build());
+        scheduleRepository.save(new ScheduleBuilder().withUser(other).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduleRepository.deleteAll();
+        teamUserRepository.deleteAll();
+        teamRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("list only the user's schedules as lean json")
+    void getSchedules() throws Exception {
+        mockMvc.perform(get("/api/v1/schedules").with(user(new UserPrincipal(owner))))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/json"))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].start").value("2022-03-07T10:00"))
+                .andExpect(jsonPath("$[1].id").value(later.getId()))
+                .andExpect(jsonPath("$[1].title").value("TEST"))
+                .andExpect(jsonPath("$[1].user").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("small lists go out in one piece, larger ones are streamed")
+    void responseBuffer() throws Exception {
+        mockMvc.perform(get("/api/v1/schedules").with(user(new UserPrincipal(owner))))
+                .andExpect(header().exists("Content-Length"));
+
+        Object controller = AopTestUtils.getTargetObject(scheduleApiController);
+        DataSize size = (DataSize) ReflectionTestUtils.getField(controller, "responseBufferSize");
+        ReflectionTestUtils.setField(controller, "responseBufferSize", DataSize.ofBytes(16));
+        try {
+            mockMvc.perform(get("/api/v1/schedules").with(user(new UserPrincipal(owner))))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist("Content-Length"))
+                    .andExpect(jsonPath("$", hasSize(2)));
+        } finally {
+            ReflectionTestUtils.setField(controller, "responseBufferSize", size);
+        }
+    }
+
+    @Test
+    @DisplayName("a failure before the buffer fills sends nothing, after it the array is cut off with 200")
+    void truncated() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(new ResponseBuffer(response, 64));
+        generator.writeStartArray();
+        generator.writeString("first");
+        generator.flush();
+        // close 하지 않고 끝나면 실패한 경우다.
+        Assertions.assertFalse(response.isCommitted());
+        Assertions.assertEquals("", response.getContentAsString());
+
+        for (int i = 0; i < 10; i++) {
+            generator.writeString("0123456789");
+        }
+        generator.flush();
+        Assertions.assertTrue(response.isCommitted());
+        Assertions.assertEquals(200, response.getStatus());
+        Assertions.assertTrue(response.getContentAsString().startsWith("[\"first\""));
+        Assertions.assertFalse(response.getContentAsString().endsWith("]"));
+    }
+
+    @Test
+    @DisplayName("other user's schedule is not found")
+    void getSchedule() throws Exception {
+        mockMvc.perform(get("/api/v1/schedules/{id}", later.getId()).with(user(new UserPrincipal(owner))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.end").value("2022-03-08T11:00"));
+        mockMvc.perform(get("/api/v1/schedules/{id}", later.getId()).with(user(new UserPrincipal(other))))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("api answers 401 instead of redirecting to the login page")
+    void unauthenticated() throws Exception {
+        mockMvc.perform(get("/api/v1/schedules")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/schedules")).andExpect(status().is3xxRedirection());
+    }
+
+    @Test
+    @DisplayName("teams and user search")
+    void teamsAndUsers() throws Exception {
+        Team team = teamService.create(TeamDto.Request.builder().name("api-team").leader(owner).build());
+
+        mockMvc.perform(get("/api/v1/teams").with(user(new UserPrincipal(owner))))
+                .andExpect(jsonPath("$[0].name").value("api-team"))
+                .andExpect(jsonPath("$[0].leaderId").value(owner.getId()));
+        mockMvc.perform(get("/api/v1/teams/{id}", team.getId()).with(user(new UserPrincipal(owner))))
+                .andExpect(jsonPath("$.members", hasSize(1)));
+        mockMvc.perform(get("/api/v1/teams/{id}", team.getId()).with(user(new UserPrincipal(other))))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/v1/users/search").param("word", "other@").with(user(new UserPrincipal(owner))))
+                .andExpect(jsonPath("$[0].email").value("other@api.com"));
+    }
+}
@@ -10,14 +10,17 @@ import com.daybreak.cleandar.domain.teamuser.TeamUser;
 import com.daybreak.cleandar.domain.teamuser.TeamUserRepository;
 import com.daybreak.cleandar.domain.user.User;
 import com.daybreak.cleandar.domain.user.UserRepository;
+import com.daybreak.cleandar.outbox.OutboxWorker;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 @SpringBootTest
@@ -39,6 +42,11 @@ public class ScheduleServiceTest {
     private User newUser;
     private Team team;
 
+    @Autowired
+    private OutboxWorker outboxWorker;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     static DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
 
     @Autowired
@@ -122,6 +130,34 @@ public class ScheduleServiceTest {
         Assertions.assertEquals(updateSchedule.getId(), schedule.getId());
     }
 
+    @Test
+    @Transactional
+    @DisplayName("apply schedule operations in batch")
+    public void apply() {
+        Schedule other = scheduleRepository.save(new ScheduleBuilder().withUser(newUser).build());
+        Schedule second = scheduleRepository.save(new ScheduleBuilder().withUser(user).build());
+
+        List<ScheduleDto.OperationResult> results = scheduleService.apply(user, Arrays.asList(
+                ScheduleDto.Operation.builder().op("create").start("2022-03-07T10:00").end("2022-03-07T11:00").title("created").build(),
+                ScheduleDto.Operation.builder().op("update").id(schedule.getId()).start("2022-03-08T10:00").end("2022-03-08T11:00").title("moved").build(),
+                ScheduleDto.Operation.builder().op("delete").id(other.getId()).build(),
+                ScheduleDto.Operation.builder().op("delete").id(-1L).build(),
+                ScheduleDto.Operation.builder().op("update").id(second.getId()).start("tomorrow").end("2022-03-08T11:00").build(),
+                ScheduleDto.Operation.builder().op("delete").id(second.getId()).build()));
+
+        Assertions.assertEquals(201, results.get(0).getStatus());
+        Assertions.assertEquals(200, results.get(1).getStatus());
+        Assertions.assertEquals(403, results.get(2).getStatus());
+        Assertions.assertEquals(404, results.get(3).getStatus());
+        Assertions.assertEquals(400, results.get(4).getStatus());
+        Assertions.assertEquals(200, results.get(5).getStatus());
+
+        Assertions.assertEquals("created", jdbcTemplate.queryForObject("SELECT title FROM schedules WHERE id = ?", String.class, results.get(0).getId()));
+        Assertions.assertEquals("moved", jdbcTemplate.queryForObject("SELECT title FROM schedules WHERE id = ?", String.class, schedule.getId()));
+        Assertions.assertTrue(scheduleRepository.existsById(other.getId()));
+        Assertions.assertFalse(scheduleRepository.existsById(second.getId()));
+    }
+
     @Test
     @Transactional
     @DisplayName("get all schedules")
@@ -160,6 +196,7 @@ public class ScheduleServiceTest {
                 .description("This is Test").build();
 
         scheduleService.createTeamSchedule(user, teamSchedule, team.getId());
+        outboxWorker.drain();
 
         List<Schedule> child = scheduleRepository.findByUser(user);
 
@@ -29,6 +29,8 @@ class TeamRepositoryTest {
 
     @AfterEach
     void tearDown() {
+        teamRepository.deleteAll();
+        userRepository.deleteAll();
     }
 
     @Test
@@ -1,21 +1,32 @@
 package com.daybreak.cleandar.domain.team;
 
+import com.daybreak.cleandar.audit.AuditEvent;
+import com.daybreak.cleandar.audit.AuditLog;
+import com.daybreak.cleandar.audit.AuditLogReader;
+import com.daybreak.cleandar.builder.ScheduleBuilder;
 import com.daybreak.cleandar.builder.TeamBuilder;
 import com.daybreak.cleandar.builder.TeamUserBuilder;
 import com.daybreak.cleandar.builder.UserBuilder;
+import com.daybreak.cleandar.domain.schedule.ScheduleRepository;
 import com.daybreak.cleandar.domain.teamuser.TeamUser;
 import com.daybreak.cleandar.domain.teamuser.TeamUserRepository;
 import com.daybreak.cleandar.domain.user.User;
 import com.daybreak.cleandar.domain.user.UserRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManagerFactory;
+import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
-@SpringBootTest
+// statement 수를 세는 동안 outbox 폴링이 끼어들지 않게 한다.
+@SpringBootTest(properties = "cleandar.outbox.poll-interval=PT1H")
 class TeamServiceTest {
 
     @Autowired
@@ -26,6 +37,12 @@ class TeamServiceTest {
     private UserRepository userRepository;
     @Autowired
     private TeamUserRepository teamUserRepository;
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private AuditLog auditLog;
 
     TeamBuilder teamBuilder = new TeamBuilder();
     UserBuilder userBuilder = new UserBuilder();
@@ -42,6 +59,7 @@ class TeamServiceTest {
 
     @AfterEach
     void tearDown() {
+        scheduleRepository.deleteAll();
         teamUserRepository.deleteAll();
         teamRepository.deleteAll();
         userRepository.deleteAll();
@@ -125,7 +143,7 @@ class TeamServiceTest {
         request.setId(team.getId());
         request.setName(newName);
 
-        Team updateTeam = teamService.update(request);
+        Team updateTeam = teamService.update(leader, request);
 
         Assertions.assertNotNull(updateTeam);
         Assertions.assertEquals(request.getId(), updateTeam.getId());
@@ -133,6 +151,22 @@ class TeamServiceTest {
         Assertions.assertEquals(request.getLeader().getId(), updateTeam.getLeader().getId());
     }
 
+    @Test
+    @DisplayName("team update is audited as the user who made it")
+    void updateAudited() throws IOException {
+        long startedAt = System.currentTimeMillis();
+        Team team = teamService.create(TeamDto.Request.builder().name("audited").leader(leader).build());
+
+        // 폼은 leader 를 보내지 않는다.
+        teamService.update(leader, TeamDto.Request.builder().id(team.getId()).name("audited again").build());
+
+        Assertions.assertTrue(auditLog.awaitDurable(Duration.ofSeconds(5)));
+        List<AuditEvent> events = AuditLogReader.query(auditLog.directory(), AuditLogReader.Query.builder()
+                .actorId(leader.getId()).entity(AuditEvent.Entity.TEAM).entityId(team.getId()).from(startedAt).build());
+        Assertions.assertEquals(2, events.size());
+        Assertions.assertEquals(AuditEvent.Action.UPDATE, events.get(1).getAction());
+    }
+
     @Test
     @Transactional
     @DisplayName("delete team")
@@ -146,4 +180,104 @@ class TeamServiceTest {
         Assertions.assertFalse(teamRepository.findById(team.getId()).isPresent());
         Assertions.assertEquals(0, teamUserRepository.findByTeam(team).size());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("delete team asynchronously")
+    void deleteAsync() throws InterruptedException {
+        Team team = teamService.create(TeamDto.Request.builder().name("team1").leader(leader).build());
+        List<User> members = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            members.add(userBuilder.withEmail("member" + i + "@example.com").withName("member" + i).build());
+        }
+        List<Long> userIds = new ArrayList<>();
+        for (User member : userRepository.saveAll(members)) {
+            userIds.add(member.getId());
+        }
+        teamService.invite(leader, team.getId(), userIds);
+
+        User member = userRepository.findUserByEmail("member0@example.com");
+        Assertions.assertFalse(teamService.deleteAsync(member, team.getId()));
+        Assertions.assertTrue(teamService.deleteAsync(leader, team.getId()));
+
+        for (int i = 0; i < 50 && teamRepository.existsById(team.getId()); i++) {
+            Thread.sleep(100);
+        }
+        Assertions.assertFalse(teamRepository.existsById(team.getId()));
+        Assertions.assertEquals(0, teamUserRepository.findByTeam(team).size());
+    }
+
+    @Test
+    @DisplayName("invite team members")
+    void invite() {
+        Team team = teamService.create(TeamDto.Request.builder().name("team1").leader(leader).build());
+        User member = userRepository.save(userBuilder.withEmail("member@example.com").withName("member").build());
+        User invitee = userRepository.save(userBuilder.withEmail("invitee@example.com").withName("invitee").build());
+        teamUserRepository.save(teamUserBuilder.withTeamAndUser(team, member).build());
+
+        List<Long> userIds = new ArrayList<>();
+        userIds.add(leader.getId());
+        userIds.add(member.getId());
+        userIds.add(invitee.getId());
+        userIds.add(invitee.getId());
+        userIds.add(-1L);
+
+        List<Long> invited = teamService.invite(leader, team.getId(), userIds);
+
+        Assertions.assertEquals(1, invited.size());
+        Assertions.assertEquals(invitee.getId(), invited.get(0));
+        Assertions.assertEquals(3, teamUserRepository.findByTeam(team).size());
+        Assertions.assertNull(teamService.invite(member, team.getId(), userIds));
+    }
+
+    @Test
+    @DisplayName("team pages issue a bounded number of statements")
+    void boundedStatements() {
+        ScheduleBuilder scheduleBuilder = new ScheduleBuilder();
+        Team team = teamRepository.save(teamBuilder.withName("big-team").build(leader));
+        List<User> members = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            members.add(userBuilder.withEmail("member" + i + "@example.com").withName("member" + i).build());
+        }
+        members = userRepository.saveAll(members);
+        List<TeamUser> teamUsers = new ArrayList<>();
+        teamUsers.add(teamUserBuilder.withTeamAndUser(team, leader).build());
+        for (User member : members) {
+            scheduleRepository.save(scheduleBuilder.withUser(member).build());
+            teamUsers.add(teamUserBuilder.withTeamAndUser(team, member).build());
+        }
+        teamUserRepository.saveAll(teamUsers);
+        for (int i = 0; i < 30; i++) {
+            Team other = teamRepository.save(teamBuilder.withName("team" + i).build(members.get(i)));
+            teamUserRepository.save(teamUserBuilder.withTeamAndUser(other, leader).build());
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        TeamDto.Detail detail = teamService.detail(team.getId());
+        Assertions.assertEquals(301, detail.getMembers().size());
+        Assertions.assertTrue(statistics.getPrepareStatementCount() <= 3, "detail statements: " + statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        List<Team> teams = teamService.index(leader);
+        teams.forEach(each -> each.getLeader().getName());
+        Assertions.assertEquals(31, teams.size());
+        Assertions.assertTrue(statistics.getPrepareStatementCount() <= 3, "index statements: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("read paths skip flush and dirty checking")
+    void readOnly() {
+        Team team = teamService.create(TeamDto.Request.builder().name("read-only").leader(leader).build());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        teamService.index(leader);
+        teamService.detail(team.getId());
+        teamService.show(team.getId());
+        Assertions.assertEquals(0, statistics.getFlushCount());
+
+        statistics.clear();
+        teamService.update(leader, TeamDto.Request.builder().id(team.getId()).name("read-write").build());
+        Assertions.assertEquals(1, statistics.getFlushCount());
+    }
+}
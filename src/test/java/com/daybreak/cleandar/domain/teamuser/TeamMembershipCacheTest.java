@@ -0,0 +1,100 @@
+package com.daybreak.cleandar.domain.teamuser;
+
+import com.daybreak.cleandar.builder.UserBuilder;
+import com.daybreak.cleandar.domain.team.Team;
+import com.daybreak.cleandar.domain.team.TeamDto;
+import com.daybreak.cleandar.domain.team.TeamRepository;
+import com.daybreak.cleandar.domain.team.TeamService;
+import com.daybreak.cleandar.domain.user.User;
+import com.daybreak.cleandar.domain.user.UserRepository;
+import com.daybreak.cleandar.security.TeamAuthorization;
+import com.daybreak.cleandar.security.UserPrincipal;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Collections;
+
+@SpringBootTest
+class TeamMembershipCacheTest {
+
+    @Autowired
+    private TeamMembershipCache teamMembershipCache;
+    @Autowired
+    private TeamAuthorization teamAuthorization;
+    @Autowired
+    private TeamService teamService;
+    @Autowired
+    private TeamRepository teamRepository;
+    @Autowired
+    private TeamUserRepository teamUserRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private UserBuilder userBuilder = new UserBuilder();
+
+    private User leader;
+    private User member;
+    private Team team;
+
+    @BeforeEach
+    void setUp() {
+        leader = userRepository.save(userBuilder.withEmail("leader@cache.com").build());
+        member = userRepository.save(userBuilder.withEmail("member@cache.com").build());
+        team = teamService.create(TeamDto.Request.builder().name("cache-team").leader(leader).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        teamUserRepository.deleteAll();
+        teamRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("warm membership check does not hit the database")
+    void warmPath() {
+        Assertions.assertTrue(teamMembershipCache.isMember(leader.getId(), team.getId()));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertTrue(teamMembershipCache.isMember(leader.getId(), team.getId()));
+            Assertions.assertFalse(teamMembershipCache.isMember(leader.getId(), team.getId() + 1));
+        }
+        Assertions.assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("invite and delete invalidate cached memberships")
+    void invalidation() {
+        Assertions.assertFalse(teamMembershipCache.isMember(member.getId(), team.getId()));
+
+        teamService.invite(leader, team.getId(), Collections.singletonList(member.getId()));
+        Assertions.assertTrue(teamMembershipCache.isMember(member.getId(), team.getId()));
+
+        teamService.delete(leader, team.getId());
+        Assertions.assertFalse(teamMembershipCache.isMember(leader.getId(), team.getId()));
+        Assertions.assertFalse(teamMembershipCache.isMember(member.getId(), team.getId()));
+    }
+
+    @Test
+    @DisplayName("authorize team access by membership")
+    void authorize() {
+        UserPrincipal principal = new UserPrincipal(member);
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(principal, null, Collections.emptyList());
+
+        Assertions.assertFalse(teamAuthorization.isMember(authentication, team.getId()));
+
+        teamUserRepository.save(TeamUser.builder().team(team).user(member).build());
+
+        Assertions.assertTrue(teamAuthorization.isMember(authentication, team.getId()));
+        Assertions.assertFalse(teamAuthorization.isMember(authentication, null));
+    }
+}
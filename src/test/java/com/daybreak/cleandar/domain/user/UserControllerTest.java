@@ -0,0 +1,105 @@
+package com.daybreak.cleandar.domain.user;
+
+import com.daybreak.cleandar.builder.TeamBuilder;
+import com.daybreak.cleandar.builder.UserBuilder;
+import com.daybreak.cleandar.domain.team.Team;
+import com.daybreak.cleandar.domain.team.TeamRepository;
+import com.daybreak.cleandar.domain.teamuser.TeamUserRepository;
+import com.daybreak.cleandar.security.UserPrincipal;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class UserControllerTest {
+
+    private static final String TWO_ROWS = "[{\"email\":\"kim@bulk.com\",\"password\":\"qwer1234\",\"name\":\"kim\"},"
+            + "{\"email\":\"lee@bulk.com\",\"password\":\"qwer1234\",\"name\":\"lee\"}]";
+
+    @Value("${cleandar.provisioning.max-rows}")
+    private int maxRows;
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TeamRepository teamRepository;
+    @Autowired
+    private TeamUserRepository teamUserRepository;
+
+    private User leader;
+    private Team team;
+
+    @BeforeEach
+    void setUp() {
+        leader = userRepository.save(new UserBuilder().withEmail("leader@bulk.com").build());
+        team = teamRepository.save(new TeamBuilder().withName("bulk-team").build(leader));
+    }
+
+    @AfterEach
+    void tearDown() {
+        teamUserRepository.deleteAll();
+        teamRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("bulk provisioning without a team is only accepted from local callers")
+    void localOnlyWithoutTeam() throws Exception {
+        mockMvc.perform(post("/users/bulk").with(user(new UserPrincipal(leader))).with(csrf()).with(remote())
+                        .contentType(MediaType.APPLICATION_JSON).content(TWO_ROWS))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(post("/users/bulk").with(user(new UserPrincipal(leader))).with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON).content(TWO_ROWS))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2));
+    }
+
+    @Test
+    @DisplayName("team leaders provision into their team from anywhere, up to max-rows")
+    void leaderWithTeam() throws Exception {
+        mockMvc.perform(post("/users/bulk").param("teamId", team.getId().toString())
+                        .with(user(new UserPrincipal(leader))).with(csrf()).with(remote())
+                        .contentType(MediaType.APPLICATION_JSON).content(rows(maxRows + 1)))
+                .andExpect(status().isBadRequest());
+        Assertions.assertNull(userRepository.findUserByEmail("user0@bulk.com"));
+
+        mockMvc.perform(post("/users/bulk").param("teamId", team.getId().toString())
+                        .with(user(new UserPrincipal(leader))).with(csrf()).with(remote())
+                        .contentType(MediaType.APPLICATION_JSON).content(TWO_ROWS))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.attached").value(2));
+    }
+
+    // 행 수 검사는 비밀번호 해싱보다 먼저라서 max-rows + 1 행을 보내도 금방 거절된다.
+    private static String rows(int count) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"email\":\"user").append(i).append("@bulk.com\",\"password\":\"qwer1234\",\"name\":\"user\"}");
+        }
+        return json.append(']').toString();
+    }
+
+    private static RequestPostProcessor remote() {
+        return request -> {
+            request.setRemoteAddr("10.0.0.1");
+            return request;
+        };
+    }
+}
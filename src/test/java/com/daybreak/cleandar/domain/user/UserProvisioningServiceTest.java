@@ -0,0 +1,135 @@
+package com.daybreak.cleandar.domain.user;
+
+import com.daybreak.cleandar.audit.AuditEvent;
+import com.daybreak.cleandar.audit.AuditLog;
+import com.daybreak.cleandar.audit.AuditLogReader;
+import com.daybreak.cleandar.builder.TeamBuilder;
+import com.daybreak.cleandar.builder.UserBuilder;
+import com.daybreak.cleandar.domain.team.Team;
+import com.daybreak.cleandar.domain.team.TeamRepository;
+import com.daybreak.cleandar.domain.teamuser.TeamUserRepository;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@SpringBootTest
+class UserProvisioningServiceTest {
+
+    @Autowired
+    private UserProvisioningService provisioningService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TeamRepository teamRepository;
+    @Autowired
+    private TeamUserRepository teamUserRepository;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private AuditLog auditLog;
+
+    private User leader;
+    private Team team;
+
+    @BeforeEach
+    void setUp() {
+        leader = userRepository.save(new UserBuilder().withEmail("leader@provision.com").build());
+        team = teamRepository.save(new TeamBuilder().withName("provision-team").build(leader));
+    }
+
+    @AfterEach
+    void tearDown() {
+        teamUserRepository.deleteAll();
+        teamRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("bulk provision users into team")
+    void provision() {
+        List<UserDto.Request> requests = new ArrayList<>();
+        requests.add(request("kim@provision.com", "kim"));
+        requests.add(request("lee@provision.com", "lee"));
+        requests.add(request("not-an-email", "park"));
+        requests.add(request("kim@provision.com", "kim2"));
+        requests.add(request(leader.getEmail(), "leader"));
+        requests.add(request("choi@provision.com", "choi"));
+
+        UserDto.ProvisionResult result = provisioningService.provision(leader, requests, team.getId());
+
+        Assertions.assertEquals(6, result.getRequested());
+        Assertions.assertEquals(3, result.getCreated());
+        Assertions.assertEquals(3, result.getAttached());
+        Assertions.assertEquals(3, result.getErrors().size());
+        Assertions.assertEquals(3, result.getErrors().get(0).getRow());
+        Assertions.assertEquals(4, result.getErrors().get(1).getRow());
+        Assertions.assertEquals(5, result.getErrors().get(2).getRow());
+
+        User kim = userRepository.findUserByEmail("kim@provision.com");
+        Assertions.assertTrue(passwordEncoder.matches("qwer1234", kim.getPassword()));
+        Assertions.assertEquals(3, teamUserRepository.findByTeam(team).size());
+    }
+
+    @Test
+    @DisplayName("attaching provisioned users to a team is logged for other nodes and the audit log")
+    void provisionIntoTeamIsLogged() throws IOException {
+        long startedAt = System.currentTimeMillis();
+        List<UserDto.Request> requests = new ArrayList<>();
+        requests.add(request("kim@provision.com", "kim"));
+        requests.add(request("lee@provision.com", "lee"));
+
+        provisioningService.provision(leader, requests, team.getId());
+
+        Long kim = userRepository.findUserByEmail("kim@provision.com").getId();
+        Long lee = userRepository.findUserByEmail("lee@provision.com").getId();
+        Assertions.assertEquals(Long.valueOf(1), jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM change_log WHERE change_type = 'TEAM' AND entity_id = ?", Long.class, team.getId()));
+        Assertions.assertEquals(Long.valueOf(2), jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM change_log WHERE change_type = 'USER' AND entity_id IN (?, ?)", Long.class, kim, lee));
+
+        Assertions.assertTrue(auditLog.awaitDurable(Duration.ofSeconds(5)));
+        List<AuditEvent> events = AuditLogReader.query(auditLog.directory(), AuditLogReader.Query.builder()
+                .actorId(leader.getId()).entity(AuditEvent.Entity.TEAM).from(startedAt).build());
+        Assertions.assertEquals(1, events.size());
+        Assertions.assertEquals(AuditEvent.Action.INVITE, events.get(0).getAction());
+        Assertions.assertEquals(team.getId(), events.get(0).getEntityId());
+    }
+
+    @Test
+    @DisplayName("reject team attach by non leader")
+    void provisionByNonLeader() {
+        User member = userRepository.save(new UserBuilder().withEmail("member@provision.com").build());
+        List<UserDto.Request> requests = new ArrayList<>();
+        requests.add(request("kim@provision.com", "kim"));
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> provisioningService.provision(member, requests, team.getId()));
+        Assertions.assertNull(userRepository.findUserByEmail("kim@provision.com"));
+    }
+
+    @Test
+    @DisplayName("read users from csv")
+    void readCsv() throws IOException {
+        String csv = "email,password,name\nkim@provision.com,qwer1234,kim\n\nlee@provision.com,qwer1234,lee\n";
+
+        List<UserDto.Request> requests = provisioningService.readCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        Assertions.assertEquals(2, requests.size());
+        Assertions.assertEquals("lee@provision.com", requests.get(1).getEmail());
+        Assertions.assertEquals("lee", requests.get(1).getName());
+    }
+
+    private UserDto.Request request(String email, String name) {
+        return UserDto.Request.builder().email(email).password("qwer1234").name(name).build();
+    }
+}
@@ -0,0 +1,99 @@
+package com.daybreak.cleandar.metrics;
+
+import com.daybreak.cleandar.builder.UserBuilder;
+import com.daybreak.cleandar.domain.user.User;
+import com.daybreak.cleandar.domain.user.UserRepository;
+import com.daybreak.cleandar.security.UserPrincipal;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class LatencyRecorderTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private LatencyRecorder latencyRecorder;
+
+    private User user;
+    private Map<LatencyRecorder.Kind, SlowInvocations> slowest;
+    private SlowInvocations repositories;
+
+    // 같은 window 안에서 앞선 테스트의 느린 호출이 목록을 채우지 않도록 이 테스트 동안만 넉넉한 목록으로 바꿔 둔다.
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        user = userRepository.save(new UserBuilder().withEmail("latency@example.com").build());
+        slowest = (Map<LatencyRecorder.Kind, SlowInvocations>) ReflectionTestUtils.getField(latencyRecorder, "slowest");
+        repositories = slowest.put(LatencyRecorder.Kind.REPOSITORY, new SlowInvocations((Integer) ReflectionTestUtils.getField(latencyRecorder, "slots"), 10000));
+    }
+
+    @AfterEach
+    void tearDown() {
+        slowest.put(LatencyRecorder.Kind.REPOSITORY, repositories);
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("histogram percentiles stay within the bucket precision")
+    void percentiles() {
+        LatencyHistogram histogram = new LatencyHistogram(6);
+        for (long micros = 1; micros <= 10000; micros++) {
+            histogram.record(micros, 100);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot(100);
+        Assertions.assertEquals(10000, snapshot.count());
+        Assertions.assertEquals(10000, snapshot.max());
+        Assertions.assertEquals(5000, snapshot.percentile(0.5), 5000 * 0.125);
+        Assertions.assertEquals(9900, snapshot.percentile(0.99), 9900 * 0.125);
+
+        Assertions.assertEquals(10000, histogram.snapshot(105).count());
+        Assertions.assertEquals(0, histogram.snapshot(106).count());
+        histogram.record(7, 106);
+        Assertions.assertEquals(7, histogram.snapshot(106).max());
+    }
+
+    @Test
+    @DisplayName("slowest invocations keep the top entries of the recent window")
+    void slowest() {
+        SlowInvocations slowest = new SlowInvocations(2, 3);
+        for (long micros = 1; micros <= 10; micros++) {
+            if (slowest.qualifies(micros, 0)) {
+                slowest.offer(new SlowInvocations.Invocation("query", micros, 0, String.valueOf(micros)), 0);
+            }
+        }
+        Assertions.assertFalse(slowest.qualifies(7, 0));
+        Assertions.assertTrue(slowest.qualifies(1, 1));
+        Assertions.assertEquals(10, slowest.snapshot(1).get(0).getMicros());
+        Assertions.assertEquals(3, slowest.snapshot(1).size());
+        Assertions.assertTrue(slowest.snapshot(2).isEmpty());
+    }
+
+    @Test
+    @DisplayName("repository calls and endpoints are reported on the admin endpoint")
+    void report() throws Exception {
+        userRepository.findUserByEmail("latency@example.com");
+        mockMvc.perform(get("/api/v1/teams").with(user(new UserPrincipal(user)))).andExpect(status().isOk());
+
+        mockMvc.perform(get("/admin/latency"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.repositories[*].name", hasItem("UserRepository.findUserByEmail")))
+                .andExpect(jsonPath("$.endpoints[*].name", hasItem("GET /api/v1/teams")))
+                .andExpect(jsonPath("$.slowestRepositories[*].parameters", hasItem("\"latency@example.com\"")));
+    }
+}
@@ -0,0 +1,59 @@
+package com.daybreak.cleandar.metrics;
+
+import org.junit.jupiter.api.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
+
+class RequestTimingTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestTiming.unbind();
+    }
+
+    @Test
+    @DisplayName("work on another thread is added to the request when it finishes")
+    void merge() {
+        RequestTiming timing = new RequestTiming();
+        RequestTiming.bind(timing);
+        timing.recordStatement("select 1", 1);
+
+        Supplier<String> task = RequestTiming.propagate(() -> {
+            Assertions.assertNotSame(timing, RequestTiming.current());
+            RequestTiming.current().recordStatement("select 2", 2);
+            RequestTiming.current().recordStatement("select 2", 2);
+            return "done";
+        });
+        Assertions.assertEquals("done", CompletableFuture.supplyAsync(task).join());
+
+        timing.completed();
+        Assertions.assertEquals(3, timing.getSqlCount());
+        Assertions.assertEquals(2, timing.topStatements(1).get(0).getValue());
+    }
+
+    @Test
+    @DisplayName("work that outlives the request does not touch it")
+    void lateWork() throws InterruptedException {
+        RequestTiming timing = new RequestTiming();
+        RequestTiming.bind(timing);
+        CountDownLatch completed = new CountDownLatch(1);
+
+        Supplier<Void> task = RequestTiming.propagate(() -> {
+            RequestTiming.current().recordStatement("select 1", 1);
+            try {
+                completed.await();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        });
+        CompletableFuture<Void> future = CompletableFuture.supplyAsync(task);
+
+        timing.completed();
+        completed.countDown();
+        future.join();
+        Assertions.assertEquals(0, timing.getSqlCount());
+    }
+}
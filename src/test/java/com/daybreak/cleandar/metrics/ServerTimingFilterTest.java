@@ -0,0 +1,99 @@
+package com.daybreak.cleandar.metrics;
+
+import com.daybreak.cleandar.builder.UserBuilder;
+import com.daybreak.cleandar.domain.team.TeamDto;
+import com.daybreak.cleandar.domain.team.TeamRepository;
+import com.daybreak.cleandar.domain.team.TeamService;
+import com.daybreak.cleandar.domain.teamuser.TeamUserRepository;
+import com.daybreak.cleandar.domain.user.User;
+import com.daybreak.cleandar.domain.user.UserRepository;
+import com.daybreak.cleandar.security.UserPrincipal;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ServerTimingFilterTest {
+
+    private static final Pattern SQL = Pattern.compile("sql;dur=[0-9.]+;desc=\"(\\d+) statements\"");
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TeamRepository teamRepository;
+    @Autowired
+    private TeamUserRepository teamUserRepository;
+    @Autowired
+    private TeamService teamService;
+    @Autowired
+    private ServerTimingFilter serverTimingFilter;
+
+    private User leader;
+
+    @BeforeEach
+    void setUp() {
+        leader = userRepository.save(new UserBuilder().withEmail("leader@timing.com").build());
+        teamService.create(TeamDto.Request.builder().name("timing-team").leader(leader).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        teamUserRepository.deleteAll();
+        teamRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("rendered page carries a Server-Timing breakdown")
+    void serverTiming() throws Exception {
+        MvcResult result = mockMvc.perform(get("/teams").with(user(new UserPrincipal(leader))))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("timing-team")))
+                .andReturn();
+
+        String serverTiming = result.getResponse().getHeader("Server-Timing");
+        Assertions.assertNotNull(serverTiming);
+        Assertions.assertTrue(serverTiming.contains("controller;dur="));
+        Assertions.assertTrue(serverTiming.contains("service;dur="));
+        Assertions.assertTrue(serverTiming.contains("render;dur="));
+
+        Matcher matcher = SQL.matcher(serverTiming);
+        Assertions.assertTrue(matcher.find(), serverTiming);
+        Assertions.assertTrue(Integer.parseInt(matcher.group(1)) > 0, serverTiming);
+    }
+
+    @Test
+    @DisplayName("streamed admin response reaches the client while it is still being written")
+    void streamingNotBuffered() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/admin/snapshot");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicBoolean committedWhileWriting = new AtomicBoolean();
+
+        serverTimingFilter.doFilter(request, response, (req, res) -> {
+            res.getOutputStream().write(new byte[]{1, 2, 3});
+            res.flushBuffer();
+            committedWhileWriting.set(response.isCommitted() && response.getContentAsByteArray().length == 3);
+        });
+
+        Assertions.assertTrue(committedWhileWriting.get());
+        Assertions.assertNull(response.getHeader("Server-Timing"));
+    }
+}
@@ -0,0 +1,67 @@
+package com.daybreak.cleandar.metrics;
+
+import com.daybreak.cleandar.domain.team.TeamService;
+import com.daybreak.cleandar.security.UserPrincipalDetailsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMetrics
+@AutoConfigureMockMvc
+class ServiceMetricsAspectTest {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private TeamService teamService;
+    @Autowired
+    private UserPrincipalDetailsService userService;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("service methods and password hashing are timed")
+    void timers() {
+        teamService.show(Long.MAX_VALUE);
+        userService.searchByWord("nobody");
+        passwordEncoder.matches("qwer1234", passwordEncoder.encode("qwer1234"));
+
+        Timer show = meterRegistry.find("cleandar.service").tag("class", "TeamService").tag("method", "show").timer();
+        Timer search = meterRegistry.find("cleandar.service").tag("class", "UserPrincipalDetailsService").tag("method", "searchByWord").timer();
+        Timer encode = meterRegistry.find("cleandar.password").tag("operation", "encode").timer();
+
+        Assertions.assertNotNull(show);
+        Assertions.assertTrue(show.count() > 0);
+        Assertions.assertNotNull(search);
+        Assertions.assertTrue(search.count() > 0);
+        Assertions.assertTrue(encode.count() > 0);
+    }
+
+    @Test
+    @DisplayName("prometheus endpoint is readable from localhost")
+    void prometheus() throws Exception {
+        teamService.show(Long.MAX_VALUE);
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("cleandar_service_seconds_bucket")))
+                .andExpect(content().string(containsString("hikaricp_connections")))
+                .andExpect(content().string(containsString("hibernate_statements")));
+    }
+}
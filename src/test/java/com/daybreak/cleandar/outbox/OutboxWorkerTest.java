@@ -0,0 +1,164 @@
+package com.daybreak.cleandar.outbox;
+
+import com.daybreak.cleandar.builder.ScheduleBuilder;
+import com.daybreak.cleandar.builder.TeamBuilder;
+import com.daybreak.cleandar.builder.TeamUserBuilder;
+import com.daybreak.cleandar.builder.UserBuilder;
+import com.daybreak.cleandar.domain.schedule.ScheduleDto;
+import com.daybreak.cleandar.domain.schedule.ScheduleRepository;
+import com.daybreak.cleandar.domain.schedule.ScheduleService;
+import com.daybreak.cleandar.domain.team.Team;
+import com.daybreak.cleandar.domain.team.TeamRepository;
+import com.daybreak.cleandar.domain.teamuser.TeamUserRepository;
+import com.daybreak.cleandar.domain.user.User;
+import com.daybreak.cleandar.domain.user.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+// 스케줄러가 끼어들지 않도록 poll 간격을 길게 두고 drain 을 직접 부른다.
+@SpringBootTest(properties = {
+        "cleandar.outbox.poll-interval=PT1H",
+        "cleandar.outbox.backoff=PT0S",
+        "cleandar.outbox.max-attempts=3"
+})
+class OutboxWorkerTest {
+
+    private static final String BROKEN = "broken";
+
+    @Autowired
+    private OutboxWorker outboxWorker;
+    @Autowired
+    private OutboxPublisher outboxPublisher;
+    @Autowired
+    private OutboxRepository outboxRepository;
+    @Autowired
+    private ScheduleService scheduleService;
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TeamRepository teamRepository;
+    @Autowired
+    private TeamUserRepository teamUserRepository;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User leader;
+    private Team team;
+
+    @BeforeEach
+    void setUp() {
+        leader = userRepository.save(new UserBuilder().withEmail("leader@outbox.com").build());
+        User member = userRepository.save(new UserBuilder().withEmail("member@outbox.com").build());
+        team = teamRepository.save(new TeamBuilder().withName("outbox-team").build(leader));
+        teamUserRepository.saveAll(Arrays.asList(
+                new TeamUserBuilder().withTeamAndUser(team, leader).build(),
+                new TeamUserBuilder().withTeamAndUser(team, member).build()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxRepository.deleteAll();
+        scheduleRepository.deleteAll();
+        teamUserRepository.deleteAll();
+        teamRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("team schedule is fanned out by the worker exactly once")
+    void fanOut() {
+        scheduleService.createTeamSchedule(leader, request(), team.getId());
+        Assertions.assertEquals(0, scheduleRepository.count());
+        Assertions.assertEquals(1, outboxRepository.countByStatus(OutboxMessage.PENDING));
+
+        Assertions.assertEquals(1, outboxWorker.drain());
+        Assertions.assertEquals(2, scheduleRepository.count());
+        Assertions.assertEquals(1, outboxRepository.countByStatus(OutboxMessage.DONE));
+
+        Assertions.assertEquals(0, outboxWorker.drain());
+        Assertions.assertEquals(2, scheduleRepository.count());
+        Assertions.assertEquals(0, meterRegistry.get("cleandar.outbox.pending").gauge().value());
+    }
+
+    @Test
+    @DisplayName("failed message rolls back its writes and is retried until max attempts")
+    void retry() {
+        outboxPublisher.publish(BROKEN, leader.getId(), request());
+
+        outboxWorker.drain();
+        OutboxMessage message = outboxRepository.findAll().get(0);
+        Assertions.assertEquals(OutboxMessage.PENDING, message.getStatus());
+        Assertions.assertEquals(1, message.getAttempts());
+        Assertions.assertEquals(0, scheduleRepository.count());
+        Assertions.assertEquals(1, meterRegistry.get("cleandar.outbox.pending").gauge().value());
+
+        outboxWorker.drain();
+        outboxWorker.drain();
+        message = outboxRepository.findAll().get(0);
+        Assertions.assertEquals(OutboxMessage.FAILED, message.getStatus());
+        Assertions.assertEquals(3, message.getAttempts());
+        Assertions.assertTrue(message.getLastError().contains("member 2 failed"));
+        Assertions.assertEquals(0, scheduleRepository.count());
+        Assertions.assertEquals(0, meterRegistry.get("cleandar.outbox.pending").gauge().value());
+    }
+
+    @Test
+    @DisplayName("purge removes finished rows older than the retention and keeps pending ones")
+    void purge() {
+        scheduleService.createTeamSchedule(leader, request(), team.getId());
+        outboxWorker.drain();
+        outboxPublisher.publish(BROKEN, leader.getId(), request());
+        outboxWorker.drain();
+        outboxWorker.drain();
+        outboxWorker.drain();
+        outboxPublisher.publish(BROKEN, leader.getId(), request());
+        Assertions.assertEquals(1, outboxRepository.countByStatus(OutboxMessage.DONE));
+        Assertions.assertEquals(1, outboxRepository.countByStatus(OutboxMessage.FAILED));
+
+        Assertions.assertEquals(0, outboxWorker.purge(LocalDateTime.now().minusMinutes(1)));
+        Assertions.assertEquals(2, outboxWorker.purge(LocalDateTime.now().plusMinutes(1)));
+        Assertions.assertEquals(0, outboxRepository.countByStatus(OutboxMessage.DONE));
+        Assertions.assertEquals(0, outboxRepository.countByStatus(OutboxMessage.FAILED));
+        Assertions.assertEquals(1, outboxRepository.countByStatus(OutboxMessage.PENDING));
+    }
+
+    private static ScheduleDto.Request request() {
+        return ScheduleDto.Request.builder()
+                .start("2022-03-07T10:00")
+                .end("2022-03-07T11:00")
+                .title("weekly")
+                .description("team schedule")
+                .build();
+    }
+
+    // 첫 번째 일정을 저장한 뒤 실패한다.
+    @TestConfiguration
+    static class BrokenHandlerConfig {
+
+        @Bean
+        OutboxHandler brokenHandler(UserRepository userRepository, ScheduleRepository scheduleRepository) {
+            return new OutboxHandler() {
+                @Override
+                public String type() {
+                    return BROKEN;
+                }
+
+                @Override
+                public void handle(OutboxMessage message) {
+                    User user = userRepository.findById(message.getAggregateId()).orElseThrow(IllegalArgumentException::new);
+                    scheduleRepository.save(new ScheduleBuilder().withUser(user).build());
+                    throw new IllegalStateException("member 2 failed");
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.daybreak.cleandar.reminder;
+
+import com.daybreak.cleandar.builder.ScheduleBuilder;
+import com.daybreak.cleandar.builder.UserBuilder;
+import com.daybreak.cleandar.domain.schedule.ScheduleDto;
+import com.daybreak.cleandar.domain.schedule.ScheduleRepository;
+import com.daybreak.cleandar.domain.schedule.ScheduleService;
+import com.daybreak.cleandar.domain.user.User;
+import com.daybreak.cleandar.domain.user.UserRepository;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+@SpringBootTest(properties = "cleandar.reminder.lead-time=PT1M")
+class ReminderSchedulerTest {
+
+    private static final List<Reminder> SENT = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private ReminderScheduler reminderScheduler;
+    @Autowired
+    private ScheduleService scheduleService;
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ReminderLease reminderLease;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        SENT.clear();
+        user = userRepository.save(new UserBuilder().withEmail("reminder@example.com").build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduleRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("notify lead time before start")
+    void fire() throws InterruptedException {
+        LocalDateTime start = LocalDateTime.now().plusMinutes(1).plusSeconds(2).truncatedTo(ChronoUnit.SECONDS);
+        Long id = scheduleService.create(user, request(null, start)).getId();
+        Assertions.assertTrue(reminderScheduler.isScheduled(id));
+
+        for (int i = 0; i < 50 && SENT.isEmpty(); i++) {
+            Thread.sleep(100);
+        }
+        Assertions.assertEquals(1, SENT.size());
+        Assertions.assertEquals(id, SENT.get(0).getScheduleId());
+        Assertions.assertFalse(reminderScheduler.isScheduled(id));
+    }
+
+    @Test
+    @DisplayName("follow update and delete without reading the table")
+    void changes() throws InterruptedException {
+        LocalDateTime start = LocalDateTime.now().plusMinutes(1).plusSeconds(2).truncatedTo(ChronoUnit.SECONDS);
+        Long id = scheduleService.create(user, request(null, start)).getId();
+
+        scheduleService.update(user.getEmail(), request(id, start.plusHours(1)));
+        Thread.sleep(3000);
+        Assertions.assertTrue(SENT.isEmpty());
+        Assertions.assertTrue(reminderScheduler.isScheduled(id));
+
+        scheduleService.update(user.getEmail(), request(id, start.plusDays(2)));
+        Assertions.assertFalse(reminderScheduler.isScheduled(id));
+
+        scheduleService.update(user.getEmail(), request(id, start.plusHours(2)));
+        scheduleService.delete(user.getEmail(), id);
+        Assertions.assertFalse(reminderScheduler.isScheduled(id));
+    }
+
+    @Test
+    @DisplayName("load the next window from the table")
+    void load() {
+        LocalDateTime start = reminderScheduler.loadedUntil().plusMinutes(5);
+        Long id = scheduleRepository.save(new ScheduleBuilder().withUser(user).withStartAndEnd(start, start.plusHours(1)).build()).getId();
+        Assertions.assertFalse(reminderScheduler.isScheduled(id));
+
+        reminderScheduler.load(start.plusMinutes(1));
+        Assertions.assertTrue(reminderScheduler.isScheduled(id));
+    }
+
+    @Test
+    @DisplayName("reload forgets removed schedules and reads rows written behind its back")
+    void reload() throws InterruptedException {
+        LocalDateTime start = LocalDateTime.now().plusMinutes(30);
+        Long removed = scheduleService.create(user, request(null, start)).getId();
+        scheduleRepository.deleteById(removed);
+        Long inserted = scheduleRepository.save(new ScheduleBuilder().withUser(user).withStartAndEnd(start, start.plusHours(1)).build()).getId();
+        Assertions.assertTrue(reminderScheduler.isScheduled(removed));
+        Assertions.assertFalse(reminderScheduler.isScheduled(inserted));
+
+        reminderScheduler.reload();
+        for (int i = 0; i < 50 && !reminderScheduler.isScheduled(inserted); i++) {
+            Thread.sleep(100);
+        }
+        Assertions.assertTrue(reminderScheduler.isScheduled(inserted));
+        Assertions.assertFalse(reminderScheduler.isScheduled(removed));
+    }
+
+    @Test
+    @DisplayName("taking over the lease sends reminders the previous owner left behind")
+    void takeOver() throws InterruptedException {
+        for (int i = 0; i < 50 && !reminderLease.isHeld(); i++) {
+            Thread.sleep(100);
+        }
+        // 앞 주인은 30초 전까지 보내고 죽었다. 그 뒤에 알림 시각이 지난 일정은 이 인스턴스가 lease 없이 흘려보냈다.
+        LocalDateTime start = LocalDateTime.now().plusMinutes(1).minusSeconds(5);
+        Long missed = scheduleRepository.save(new ScheduleBuilder().withUser(user).withStartAndEnd(start, start.plusHours(1)).build()).getId();
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("UPDATE reminder_lease SET owner = ?, expires_at = ?, fired_until = ? WHERE name = ?",
+                "previous", now.minusSeconds(1), now.minusSeconds(30), ReminderLease.NAME);
+
+        reminderScheduler.renewLease();
+        reminderScheduler.renewLease();
+        for (int i = 0; i < 50 && SENT.isEmpty(); i++) {
+            Thread.sleep(100);
+        }
+        Assertions.assertTrue(reminderLease.isHeld());
+        Assertions.assertEquals(1, SENT.size());
+        Assertions.assertEquals(missed, SENT.get(0).getScheduleId());
+
+        reminderScheduler.renewLease();
+        LocalDateTime firedUntil = jdbcTemplate.queryForObject("SELECT fired_until FROM reminder_lease WHERE name = ?",
+                LocalDateTime.class, ReminderLease.NAME);
+        Assertions.assertFalse(firedUntil.isBefore(now.minusSeconds(1)));
+    }
+
+    private static ScheduleDto.Request request(Long id, LocalDateTime start) {
+        return ScheduleDto.Request.builder()
+                .id(id)
+                .start(start.toString())
+                .end(start.plusHours(1).toString())
+                .title("standup")
+                .description("daily")
+                .build();
+    }
+
+    @TestConfiguration
+    static class RecordingNotifierConfig {
+
+        @Bean
+        ReminderNotifier recordingNotifier() {
+            return SENT::add;
+        }
+    }
+}
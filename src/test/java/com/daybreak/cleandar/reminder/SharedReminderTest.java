@@ -0,0 +1,110 @@
+package com.daybreak.cleandar.reminder;
+
+import com.daybreak.cleandar.CleandarServerApplication;
+import com.daybreak.cleandar.builder.UserBuilder;
+import com.daybreak.cleandar.coherence.ChangeLogTailer;
+import com.daybreak.cleandar.domain.schedule.ScheduleDto;
+import com.daybreak.cleandar.domain.schedule.ScheduleService;
+import com.daybreak.cleandar.domain.user.User;
+import com.daybreak.cleandar.domain.user.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 같은 H2 를 쓰는 두 인스턴스에서 한 쪽의 일정 변경이 다른 쪽의 휠에 반영되고, 알림은 한 번만 나가는지 본다.
+ */
+class SharedReminderTest {
+
+    private final String url = "jdbc:h2:mem:reminder-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+    private final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        nodes.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    @DisplayName("changes on one node move reminders on the other and only the lease owner sends them")
+    void sharedReminders() throws InterruptedException {
+        ConfigurableApplicationContext first = node();
+        ConfigurableApplicationContext second = node();
+        ChangeLogTailer tailer = second.getBean(ChangeLogTailer.class);
+        ReminderScheduler reminders = second.getBean(ReminderScheduler.class);
+        ScheduleService scheduleService = first.getBean(ScheduleService.class);
+        User user = first.getBean(UserRepository.class).save(new UserBuilder().withEmail("shared@reminder.com").build());
+        tailer.poll();
+
+        LocalDateTime later = LocalDateTime.now().plusMinutes(30).truncatedTo(ChronoUnit.SECONDS);
+        // 첫 load 는 휠 스레드에서 돌므로 horizon 이 열릴 때까지 기다린다.
+        for (int i = 0; i < 50 && !reminders.loadedUntil().isAfter(later.plusHours(1)); i++) {
+            Thread.sleep(100);
+        }
+        Long id = scheduleService.create(user, request(null, later)).getId();
+        tailer.poll();
+        Assertions.assertTrue(reminders.isScheduled(id));
+
+        scheduleService.update(user.getEmail(), request(id, later.plusDays(2)));
+        tailer.poll();
+        Assertions.assertFalse(reminders.isScheduled(id));
+
+        scheduleService.update(user.getEmail(), request(id, later));
+        tailer.poll();
+        Assertions.assertTrue(reminders.isScheduled(id));
+        scheduleService.delete(user.getEmail(), id);
+        tailer.poll();
+        Assertions.assertFalse(reminders.isScheduled(id));
+
+        Assertions.assertTrue(first.getBean(ReminderLease.class).isHeld() ^ second.getBean(ReminderLease.class).isHeld());
+        LocalDateTime soon = LocalDateTime.now().plusMinutes(1).plusSeconds(2).truncatedTo(ChronoUnit.SECONDS);
+        scheduleService.create(user, request(null, soon));
+        tailer.poll();
+
+        for (int i = 0; i < 50 && fired() == 0; i++) {
+            Thread.sleep(100);
+        }
+        Thread.sleep(1500);
+        Assertions.assertEquals(1, fired());
+    }
+
+    private ConfigurableApplicationContext node() {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(CleandarServerApplication.class)
+                .logStartupInfo(false)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=" + url,
+                        // 먼저 뜬 인스턴스가 만든 테이블을 지우지 않는다.
+                        "spring.jpa.hibernate.ddl-auto=update",
+                        "spring.jpa.show-sql=false",
+                        "cleandar.reminder.lead-time=PT1M",
+                        "cleandar.change-log.poll-interval=PT1H")
+                .run();
+        nodes.add(context);
+        return context;
+    }
+
+    private double fired() {
+        double fired = 0;
+        for (ConfigurableApplicationContext node : nodes) {
+            fired += node.getBean(MeterRegistry.class).counter("cleandar.reminder.fired").count();
+        }
+        return fired;
+    }
+
+    private static ScheduleDto.Request request(Long id, LocalDateTime start) {
+        return ScheduleDto.Request.builder()
+                .id(id)
+                .start(start.toString())
+                .end(start.plusHours(1).toString())
+                .title("standup")
+                .description("daily")
+                .build();
+    }
+}
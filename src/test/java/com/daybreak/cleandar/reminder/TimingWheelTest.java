@@ -0,0 +1,75 @@
+package com.daybreak.cleandar.reminder;
+
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+class TimingWheelTest {
+
+    private static final long START = 1_700_000_000_000L;
+
+    // tick 10ms, 한 칸 10개 → 100ms, 1s, 10s 까지 담는다.
+    private final TimingWheel<String, String> wheel = new TimingWheel<>(10, 10, 3, START);
+    private final List<String> fired = new ArrayList<>();
+
+    @Test
+    @DisplayName("fire entries in expiration order across levels")
+    void order() {
+        wheel.schedule("c", START + 5_555, "c");
+        wheel.schedule("a", START + 15, "a");
+        wheel.schedule("b", START + 250, "b");
+
+        wheel.advance(START + 20, fired::add);
+        Assertions.assertEquals(Collections.singletonList("a"), fired);
+
+        wheel.advance(START + 5_550, fired::add);
+        Assertions.assertEquals(Arrays.asList("a", "b"), fired);
+
+        wheel.advance(START + 5_560, fired::add);
+        Assertions.assertEquals(Arrays.asList("a", "b", "c"), fired);
+        Assertions.assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("never fire before expiration")
+    void notEarly() {
+        wheel.schedule("a", START + 1_234, "a");
+
+        wheel.advance(START + 1_230, fired::add);
+        Assertions.assertTrue(fired.isEmpty());
+
+        wheel.advance(START + 1_240, fired::add);
+        Assertions.assertEquals(Collections.singletonList("a"), fired);
+    }
+
+    @Test
+    @DisplayName("cancel and reschedule by key")
+    void reschedule() {
+        wheel.schedule("a", START + 300, "a");
+        wheel.schedule("b", START + 300, "b");
+        wheel.schedule("a", START + 3_000, "a");
+        Assertions.assertTrue(wheel.cancel("b"));
+        Assertions.assertFalse(wheel.cancel("b"));
+
+        wheel.advance(START + 1_000, fired::add);
+        Assertions.assertTrue(fired.isEmpty());
+        Assertions.assertTrue(wheel.contains("a"));
+
+        wheel.advance(START + 3_010, fired::add);
+        Assertions.assertEquals(Collections.singletonList("a"), fired);
+    }
+
+    @Test
+    @DisplayName("reject past and beyond horizon")
+    void bounds() {
+        wheel.advance(START + 100, fired::add);
+
+        Assertions.assertFalse(wheel.schedule("past", START + 50, "past"));
+        Assertions.assertFalse(wheel.schedule("far", wheel.horizon(), "far"));
+        Assertions.assertTrue(wheel.schedule("edge", wheel.horizon() - 1, "edge"));
+        Assertions.assertEquals(1, wheel.size());
+    }
+}
@@ -0,0 +1,165 @@
+package com.daybreak.cleandar.search;
+
+import com.daybreak.cleandar.builder.UserBuilder;
+import com.daybreak.cleandar.domain.schedule.ScheduleDto;
+import com.daybreak.cleandar.domain.schedule.ScheduleRepository;
+import com.daybreak.cleandar.domain.schedule.ScheduleService;
+import com.daybreak.cleandar.domain.user.User;
+import com.daybreak.cleandar.domain.user.UserRepository;
+import com.daybreak.cleandar.security.UserPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "cleandar.outbox.poll-interval=PT1H")
+@AutoConfigureMockMvc
+class ScheduleSearchIndexTest {
+
+    @Autowired
+    private ScheduleService scheduleService;
+    @Autowired
+    private ScheduleSearchIndex scheduleSearchIndex;
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private MockMvc mockMvc;
+
+    private User user;
+    private Long weekly;
+    private Long review;
+    private Long lunch;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new UserBuilder().withEmail("search@example.com").build());
+        weekly = create("2022-03-07T10:00", "주간 회의", "회의실 A").getId();
+        review = create("2022-03-14T10:00", "코드 리뷰", "리뷰 끝나고 회의록 정리").getId();
+        lunch = create("2022-03-21T12:00", "Team lunch", "meeting room 2").getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduleRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("hangul is split into bigrams and words are kept whole")
+    void tokenize() {
+        Assertions.assertEquals(Arrays.asList("주간", "회의", "의실", "a1"), ScheduleTokenizer.index("주간 회의실, A1"));
+        Assertions.assertEquals(Arrays.asList("회"), ScheduleTokenizer.index("회"));
+        Assertions.assertTrue(ScheduleTokenizer.query("meet").get(0).prefix);
+        Assertions.assertFalse(ScheduleTokenizer.query("회의").get(0).prefix);
+    }
+
+    @Test
+    @DisplayName("keyword search ranks title matches first and filters by date")
+    void search() {
+        Assertions.assertEquals(Arrays.asList(weekly, review), ids(search("회의", null, null, "relevance")));
+        Assertions.assertEquals(Arrays.asList(review, weekly), ids(search("회의", null, null, "date")));
+        Assertions.assertEquals(Arrays.asList(review), ids(search("회의", LocalDateTime.parse("2022-03-10T00:00"), null, "relevance")));
+        Assertions.assertEquals(Arrays.asList(lunch), ids(search("MEET ro", null, null, "relevance")));
+        Assertions.assertEquals(Arrays.asList(weekly), ids(search("주간 회의", null, null, "relevance")));
+        Assertions.assertTrue(search("회의 lunch", null, null, "relevance").getItems().isEmpty());
+
+        ScheduleDto.SearchResult second = scheduleSearchIndex.search(user.getId(), "회", null, null, false, 1, 1);
+        Assertions.assertEquals(2, second.getTotal());
+        Assertions.assertEquals(Arrays.asList(review), ids(second));
+    }
+
+    @Test
+    @DisplayName("writes after the index is loaded are applied incrementally")
+    void incremental() {
+        search("회의", null, null, "relevance");
+        // 색인을 다시 읽지 않는다는 것을 보이기 위해 DB 만 바꾼 행은 검색되지 않아야 한다.
+        jdbcTemplate.update("UPDATE schedules SET title = ? WHERE id = ?", "회의 아님", lunch);
+
+        scheduleService.update(user.getEmail(), ScheduleDto.Request.builder().id(review)
+                .start("2022-03-14T10:00").end("2022-03-14T11:00").title("코드 리뷰").description("정리").build());
+        Long planning = create("2022-03-28T10:00", "분기 계획 회의", null).getId();
+        scheduleService.delete(user.getEmail(), weekly);
+
+        Assertions.assertEquals(Arrays.asList(planning), ids(search("회의", null, null, "relevance")));
+
+        scheduleSearchIndex.evictUser(user.getId());
+        Assertions.assertEquals(Arrays.asList(planning, lunch), ids(search("회의", null, null, "date")));
+    }
+
+    @Test
+    @DisplayName("a write committed while the index is loading is kept in the published index")
+    void writeDuringLoad() {
+        Long userId = user.getId();
+        ScheduleSearchIndex[] holder = new ScheduleSearchIndex[1];
+        // 색인을 다 읽은 직후, 발행되기 전에 다른 커밋이 들어온 것처럼 put 을 끼워 넣는다.
+        JdbcTemplate interleaving = new JdbcTemplate(jdbcTemplate.getDataSource()) {
+            @Override
+            public void query(PreparedStatementCreator creator, RowCallbackHandler handler) throws DataAccessException {
+                super.query(creator, handler);
+                holder[0].put(userId, Long.MAX_VALUE, LocalDateTime.parse("2022-03-28T10:00"), LocalDateTime.parse("2022-03-28T11:00"), "분기 계획 회의", null);
+            }
+        };
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ScheduleSearchIndex index = new ScheduleSearchIndex(interleaving, registry, 10);
+        ReflectionTestUtils.setField(index, "maxPageSize", 100);
+        holder[0] = index;
+
+        Assertions.assertEquals(Arrays.asList(Long.MAX_VALUE, review, weekly), ids(index.search(userId, "회의", null, null, true, 0, 10)));
+        Assertions.assertEquals(Arrays.asList(Long.MAX_VALUE, review, weekly), ids(index.search(userId, "회의", null, null, true, 0, 10)));
+        Assertions.assertEquals(1.0, registry.counter("cleandar.search.index.loads").count());
+    }
+
+    @Test
+    @DisplayName("search endpoint pages results and rejects bad parameters")
+    void endpoint() throws Exception {
+        mockMvc.perform(get("/api/v1/schedules/search").param("q", "회의").param("size", "1")
+                        .with(user(new UserPrincipal(user))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.items[0].id").value(weekly))
+                .andExpect(jsonPath("$.items[0].title").value("주간 회의"));
+
+        mockMvc.perform(get("/api/v1/schedules/search").param("q", "!!").with(user(new UserPrincipal(user))))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/schedules/search").param("q", "회의").param("sort", "title").with(user(new UserPrincipal(user))))
+                .andExpect(status().isBadRequest());
+    }
+
+    private ScheduleDto.Response create(String start, String title, String description) {
+        return scheduleService.create(user, ScheduleDto.Request.builder()
+                .start(start)
+                .end(LocalDateTime.parse(start).plusHours(1).toString())
+                .title(title)
+                .description(description)
+                .build());
+    }
+
+    private ScheduleDto.SearchResult search(String query, LocalDateTime from, LocalDateTime to, String sort) {
+        return scheduleService.search(user, query, from, to, sort, 0, 20);
+    }
+
+    private static List<Long> ids(ScheduleDto.SearchResult result) {
+        return result.getItems().stream().map(ScheduleDto.Summary::getId).collect(Collectors.toList());
+    }
+}
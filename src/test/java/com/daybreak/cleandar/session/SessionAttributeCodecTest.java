@@ -0,0 +1,45 @@
+package com.daybreak.cleandar.session;
+
+import com.daybreak.cleandar.security.UserPrincipal;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.web.csrf.DefaultCsrfToken;
+
+class SessionAttributeCodecTest {
+
+    private final SessionAttributeCodec codec = new SessionAttributeCodec(getClass().getClassLoader());
+
+    @Test
+    @DisplayName("login is stored as id, email and name only")
+    void principal() {
+        UserPrincipal principal = new UserPrincipal(7L, "member@session.com", "member", "{bcrypt}hash");
+        SecurityContext context = new SecurityContextImpl(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        byte[] bytes = codec.serialize(context);
+        SecurityContext restored = (SecurityContext) codec.deserialize(bytes);
+
+        Assertions.assertTrue(bytes.length < 64);
+        Assertions.assertTrue(restored.getAuthentication().isAuthenticated());
+        UserPrincipal restoredPrincipal = (UserPrincipal) restored.getAuthentication().getPrincipal();
+        Assertions.assertEquals(7L, restoredPrincipal.getId());
+        Assertions.assertEquals("member@session.com", restoredPrincipal.getUsername());
+        Assertions.assertEquals("member", restoredPrincipal.getName());
+        Assertions.assertNull(restoredPrincipal.getPassword());
+        Assertions.assertEquals(7L, restoredPrincipal.getUser().getId());
+    }
+
+    @Test
+    @DisplayName("other attributes fall back to java serialization")
+    void other() {
+        DefaultCsrfToken token = new DefaultCsrfToken("X-CSRF-TOKEN", "_csrf", "token");
+
+        DefaultCsrfToken restored = (DefaultCsrfToken) codec.deserialize(codec.serialize(token));
+
+        Assertions.assertEquals("token", restored.getToken());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> codec.deserialize(new byte[]{9}));
+    }
+}
@@ -0,0 +1,128 @@
+package com.daybreak.cleandar.session;
+
+import com.daybreak.cleandar.CleandarServerApplication;
+import com.daybreak.cleandar.domain.user.UserDto;
+import com.daybreak.cleandar.security.UserPrincipalDetailsService;
+import org.junit.jupiter.api.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 같은 H2 를 쓰는 두 인스턴스를 띄워 한 쪽에서 로그인한 세션을 다른 쪽에서 쓴다.
+ */
+class SharedSessionTest {
+
+    private static final Pattern CSRF = Pattern.compile("name=\"_csrf\" value=\"([^\"]+)\"");
+    private static final Pattern SESSION = Pattern.compile("SESSION=([^;]+)");
+
+    private final String url = "jdbc:h2:mem:shared-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+    private final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        nodes.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    @DisplayName("session created on one node is served by the other and survives a restart")
+    void sharedSession() throws IOException {
+        ConfigurableApplicationContext first = node();
+        ConfigurableApplicationContext second = node();
+        first.getBean(UserPrincipalDetailsService.class)
+                .create(UserDto.Request.builder().email("shared@session.com").password("password").name("shared").build());
+
+        String session = login(first, "shared@session.com", "password");
+
+        Assertions.assertEquals(200, get(second, "/api/v1/teams", session).getResponseCode());
+
+        first.close();
+        ConfigurableApplicationContext third = node();
+        Assertions.assertEquals(200, get(third, "/api/v1/teams", session).getResponseCode());
+
+        int deleted = second.getBean(ExpiredSessionCleaner.class).cleanUp(System.currentTimeMillis() + Duration.ofDays(1).toMillis());
+        Assertions.assertTrue(deleted >= 1);
+        Assertions.assertEquals(401, get(third, "/api/v1/teams", session).getResponseCode());
+    }
+
+    private ConfigurableApplicationContext node() {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(CleandarServerApplication.class)
+                .logStartupInfo(false)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=" + url,
+                        // 먼저 뜬 인스턴스가 만든 테이블을 지우지 않는다.
+                        "spring.jpa.hibernate.ddl-auto=update",
+                        "spring.jpa.show-sql=false")
+                .run();
+        nodes.add(context);
+        return context;
+    }
+
+    private static String login(ConfigurableApplicationContext node, String email, String password) throws IOException {
+        HttpURLConnection form = get(node, "/login", null);
+        String session = session(form);
+        Matcher csrf = CSRF.matcher(body(form));
+        Assertions.assertTrue(csrf.find());
+
+        HttpURLConnection login = open(node, "/login", session);
+        login.setRequestMethod("POST");
+        login.setDoOutput(true);
+        login.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
+        String parameters = "email=" + URLEncoder.encode(email, "UTF-8")
+                + "&password=" + URLEncoder.encode(password, "UTF-8")
+                + "&_csrf=" + URLEncoder.encode(csrf.group(1), "UTF-8");
+        try (OutputStream out = login.getOutputStream()) {
+            out.write(parameters.getBytes(StandardCharsets.UTF_8));
+        }
+        Assertions.assertEquals(302, login.getResponseCode());
+        Assertions.assertFalse(login.getHeaderField("Location").contains("error"));
+        // 로그인하면 세션 id 가 바뀐다.
+        return session(login);
+    }
+
+    private static HttpURLConnection get(ConfigurableApplicationContext node, String path, String session) throws IOException {
+        HttpURLConnection connection = open(node, path, session);
+        connection.getResponseCode();
+        return connection;
+    }
+
+    private static HttpURLConnection open(ConfigurableApplicationContext node, String path, String session) throws IOException {
+        int port = ((WebServerApplicationContext) node).getWebServer().getPort();
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + port + path).openConnection();
+        connection.setInstanceFollowRedirects(false);
+        if (session != null) {
+            connection.setRequestProperty("Cookie", "SESSION=" + session);
+        }
+        return connection;
+    }
+
+    private static String session(HttpURLConnection connection) {
+        String cookie = connection.getHeaderField("Set-Cookie");
+        Assertions.assertNotNull(cookie);
+        Matcher matcher = SESSION.matcher(cookie);
+        Assertions.assertTrue(matcher.find());
+        return matcher.group(1);
+    }
+
+    private static String body(HttpURLConnection connection) throws IOException {
+        try (InputStream in = connection.getInputStream()) {
+            return StreamUtils.copyToString(in, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.daybreak.cleandar.snapshot;
+
+import com.daybreak.cleandar.builder.ScheduleBuilder;
+import com.daybreak.cleandar.builder.UserBuilder;
+import com.daybreak.cleandar.domain.schedule.ScheduleRepository;
+import com.daybreak.cleandar.domain.user.User;
+import com.daybreak.cleandar.domain.user.UserRepository;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SnapshotControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    @AfterEach
+    void tearDown() {
+        scheduleRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("export streams through the filters and restores over http")
+    void exportAndRestore() throws Exception {
+        User user = userRepository.save(new UserBuilder().withEmail("user@snapshot-http.com").build());
+        for (int i = 0; i < 3; i++) {
+            scheduleRepository.save(new ScheduleBuilder().withUser(user).build());
+        }
+
+        MvcResult started = mockMvc.perform(get("/admin/snapshot"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult exported = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM))
+                .andExpect(header().doesNotExist("Server-Timing"))
+                .andReturn();
+        byte[] snapshot = exported.getResponse().getContentAsByteArray();
+
+        tearDown();
+        mockMvc.perform(post("/admin/snapshot").contentType(MediaType.APPLICATION_OCTET_STREAM).content(snapshot))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users").value(1))
+                .andExpect(jsonPath("$.schedules").value(3));
+        Assertions.assertEquals(3, scheduleRepository.count());
+
+        mockMvc.perform(post("/admin/snapshot").contentType(MediaType.APPLICATION_OCTET_STREAM).content(snapshot))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("only local callers reach the snapshot")
+    void localOnly() throws Exception {
+        mockMvc.perform(get("/admin/snapshot").with(request -> {
+                    request.setRemoteAddr("10.0.0.1");
+                    return request;
+                }))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().is3xxRedirection());
+    }
+}
@@ -0,0 +1,130 @@
+package com.daybreak.cleandar.snapshot;
+
+import com.daybreak.cleandar.builder.ScheduleBuilder;
+import com.daybreak.cleandar.builder.TeamBuilder;
+import com.daybreak.cleandar.builder.TeamUserBuilder;
+import com.daybreak.cleandar.builder.UserBuilder;
+import com.daybreak.cleandar.domain.schedule.Schedule;
+import com.daybreak.cleandar.domain.schedule.ScheduleRepository;
+import com.daybreak.cleandar.domain.team.Team;
+import com.daybreak.cleandar.domain.team.TeamRepository;
+import com.daybreak.cleandar.domain.teamuser.TeamUserRepository;
+import com.daybreak.cleandar.domain.user.User;
+import com.daybreak.cleandar.domain.user.UserRepository;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+@SpringBootTest
+class SnapshotServiceTest {
+
+    @Autowired
+    private SnapshotService snapshotService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TeamRepository teamRepository;
+    @Autowired
+    private TeamUserRepository teamUserRepository;
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    private int fetchSize;
+    private int batchSize;
+
+    // 공유 컨텍스트를 쓰면서 한 번에 읽고 insert 하는 행 수만 작게 두어 여러 배치로 나뉘게 한다.
+    @BeforeEach
+    void setUp() {
+        Object target = AopTestUtils.getTargetObject(snapshotService);
+        fetchSize = (Integer) ReflectionTestUtils.getField(target, "fetchSize");
+        batchSize = (Integer) ReflectionTestUtils.getField(target, "batchSize");
+        ReflectionTestUtils.setField(target, "fetchSize", 2);
+        ReflectionTestUtils.setField(target, "batchSize", 2);
+    }
+
+    @AfterEach
+    void restoreSizes() {
+        Object target = AopTestUtils.getTargetObject(snapshotService);
+        ReflectionTestUtils.setField(target, "fetchSize", fetchSize);
+        ReflectionTestUtils.setField(target, "batchSize", batchSize);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduleRepository.deleteAll();
+        teamUserRepository.deleteAll();
+        teamRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("restore brings back every row exported")
+    void roundTrip() {
+        User leader = userRepository.save(new UserBuilder().withEmail("leader@snapshot.com").build());
+        User member = userRepository.save(new UserBuilder().withEmail("member@snapshot.com").build());
+        Team team = teamRepository.save(new TeamBuilder().withName("snapshot-team").build(leader));
+        teamUserRepository.saveAll(Arrays.asList(
+                new TeamUserBuilder().withTeamAndUser(team, leader).build(),
+                new TeamUserBuilder().withTeamAndUser(team, member).build()));
+        for (int i = 0; i < 5; i++) {
+            scheduleRepository.save(new ScheduleBuilder().withUser(i % 2 == 0 ? leader : member)
+                    .withStartAndEnd(LocalDateTime.of(2022, 3, 7, 9 + i, 0, 0, 123456000), LocalDateTime.of(2022, 3, 7, 10 + i, 30)).build());
+        }
+        List<Map<String, Object>> schedules = rows("schedules");
+        List<Map<String, Object>> users = rows("users");
+        List<Map<String, Object>> teamUsers = rows("teamsusers");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Map<String, Long> exported = snapshotService.export(out);
+        Assertions.assertEquals(5L, exported.get("schedules"));
+        Assertions.assertEquals(2L, exported.get("users"));
+
+        tearDown();
+        Map<String, Long> restored = snapshotService.restore(new ByteArrayInputStream(out.toByteArray()));
+
+        Assertions.assertEquals(exported, restored);
+        Assertions.assertEquals(schedules, rows("schedules"));
+        Assertions.assertEquals(users, rows("users"));
+        Assertions.assertEquals(teamUsers, rows("teamsusers"));
+        Assertions.assertEquals("snapshot-team", teamRepository.findById(team.getId()).get().getName());
+
+        // 복원한 id 뒤로 새 id 가 이어진다.
+        Schedule created = scheduleRepository.save(new ScheduleBuilder().withUser(userRepository.findById(leader.getId()).get()).build());
+        Assertions.assertTrue(created.getId() > (Long) schedules.get(schedules.size() - 1).get("id"));
+    }
+
+    @Test
+    @DisplayName("restore refuses to load into tables with data")
+    void refuseNonEmpty() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        snapshotService.export(out);
+        userRepository.save(new UserBuilder().withEmail("existing@snapshot.com").build());
+
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> snapshotService.restore(new ByteArrayInputStream(out.toByteArray())));
+        Assertions.assertEquals(1, userRepository.count());
+    }
+
+    @Test
+    @DisplayName("reject data that is not a snapshot")
+    void corrupt() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> snapshotService.restore(new ByteArrayInputStream("not a snapshot".getBytes())));
+    }
+
+    private List<Map<String, Object>> rows(String table) {
+        return jdbcTemplate.queryForList("SELECT * FROM " + table + " ORDER BY id");
+    }
+}
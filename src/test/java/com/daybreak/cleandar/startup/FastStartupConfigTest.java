@@ -0,0 +1,37 @@
+package com.daybreak.cleandar.startup;
+
+import com.daybreak.cleandar.async.ComputeExecutor;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("fast-startup")
+class FastStartupConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private DefaultListableBeanFactory beanFactory;
+
+    @Test
+    @DisplayName("fast startup creates only critical beans eagerly")
+    void lazyBeans() throws Exception {
+        Assertions.assertNotNull(getClass().getResource("/META-INF/spring.components"));
+        Assertions.assertTrue(beanFactory.getBeanDefinition("computeExecutor").isLazyInit());
+        Assertions.assertFalse(beanFactory.getBeanDefinition(beanFactory.getBeanNamesForType(EntityManagerFactory.class)[0].replace("&", "")).isLazyInit());
+
+        mockMvc.perform(get("/login")).andExpect(status().isOk());
+        Assertions.assertNotNull(beanFactory.getBean(ComputeExecutor.class));
+    }
+}
@@ -0,0 +1,228 @@
+package com.daybreak.cleandar.tools;
+
+import com.daybreak.cleandar.CleandarServerApplication;
+import com.daybreak.cleandar.builder.ScheduleBuilder;
+import com.daybreak.cleandar.builder.TeamBuilder;
+import com.daybreak.cleandar.builder.UserBuilder;
+import com.daybreak.cleandar.domain.schedule.Schedule;
+import com.daybreak.cleandar.domain.team.Team;
+import com.daybreak.cleandar.domain.team.TeamRepository;
+import com.daybreak.cleandar.domain.teamuser.TeamUserRepository;
+import com.daybreak.cleandar.domain.user.User;
+import com.daybreak.cleandar.domain.user.UserRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 성능 측정용 데이터를 테스트 builder 로 만들어 H2 나 로컬 MariaDB 에 한꺼번에 넣는다.
+ *
+ * <pre>
+ * ./gradlew seed --args='--users=20000 --teams=2000 --schedules-per-user=100 --serve'
+ * ./gradlew seed --args='--users=50000 --spring.datasource.url=jdbc:mariadb://localhost:3306/cleandar
+ *                        --spring.datasource.username=cleandar --spring.datasource.password=cleandar'
+ * </pre>
+ *
+ * 모든 사용자는 user{n}@seed.cleandar.com / qwer1234 로 로그인할 수 있다.
+ * --serve 를 주면 같은 프로세스에서 8080 포트로 서버를 띄워 in-memory H2 에도 바로 부하를 줄 수 있다.
+ * 외부 DB 에 넣은 뒤 서버를 따로 띄울 때는 spring.jpa.hibernate.ddl-auto=update 로 띄워야 데이터가 지워지지 않는다.
+ */
+public class DatasetSeeder {
+
+    public static final String PASSWORD = "qwer1234";
+    public static final String EMAIL_FORMAT = "user%d@seed.cleandar.com";
+
+    private static final String INSERT_SCHEDULE = "INSERT INTO schedules (created_at, updated_at, start, end, title, description, user_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final int BATCH = 1000;
+
+    private final Options options;
+    private final Random random;
+    private final UserRepository userRepository;
+    private final TeamRepository teamRepository;
+    private final TeamUserRepository teamUserRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+
+    DatasetSeeder(Options options, ConfigurableApplicationContext context) {
+        this.options = options;
+        this.random = new Random(options.seed);
+        this.userRepository = context.getBean(UserRepository.class);
+        this.teamRepository = context.getBean(TeamRepository.class);
+        this.teamUserRepository = context.getBean(TeamUserRepository.class);
+        this.jdbcTemplate = context.getBean(JdbcTemplate.class);
+        this.transactionTemplate = context.getBean(TransactionTemplate.class);
+        this.passwordEncoder = context.getBean(PasswordEncoder.class);
+    }
+
+    public static void main(String[] args) {
+        Options options = Options.parse(args);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(CleandarServerApplication.class)
+                .web(options.serve ? WebApplicationType.SERVLET : WebApplicationType.NONE)
+                .properties("spring.jpa.hibernate.ddl-auto=update", "spring.jpa.show-sql=false")
+                .run(options.springArgs);
+
+        new DatasetSeeder(options, context).run();
+
+        if (!options.serve) {
+            context.close();
+        }
+    }
+
+    void run() {
+        long started = System.currentTimeMillis();
+        List<Long> userIds = seedUsers();
+        int memberships = seedTeams(userIds);
+        long schedules = seedSchedules(userIds);
+        System.out.printf("seeded users=%d teams=%d memberships=%d schedules=%d elapsedMs=%d%n",
+                userIds.size(), options.teams, memberships, schedules, System.currentTimeMillis() - started);
+    }
+
+    private List<Long> seedUsers() {
+        // BCrypt 는 느리므로 한 번만 해시해서 모든 사용자에게 같은 값을 넣는다.
+        String hash = passwordEncoder.encode(PASSWORD);
+        int offset = countUsers();
+        List<User> chunk = new ArrayList<>();
+        for (int i = 0; i < options.users; i++) {
+            int n = offset + i;
+            User user = new UserBuilder().withEmail(String.format(EMAIL_FORMAT, n)).withName(randomName(n)).build();
+            ReflectionTestUtils.setField(user, "password", hash);
+            chunk.add(user);
+            if (chunk.size() == BATCH) {
+                insertUsers(chunk);
+            }
+        }
+        insertUsers(chunk);
+        return jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id", Long.class);
+    }
+
+    private void insertUsers(List<User> chunk) {
+        if (!chunk.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> userRepository.insertAll(chunk));
+            chunk.clear();
+        }
+    }
+
+    private int countUsers() {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Integer.class);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * 팀 크기는 작은 팀이 대부분이고 큰 팀이 드문 파레토 분포를 따른다. 팀원은 연속된 사용자 구간에서 뽑는다.
+     */
+    private int seedTeams(List<Long> userIds) {
+        int memberships = 0;
+        for (int i = 0; i < options.teams; i++) {
+            int size = Math.min(teamSize(), Math.min(options.maxTeamSize, userIds.size()));
+            int from = random.nextInt(userIds.size() - size + 1);
+            List<Long> members = userIds.subList(from, from + size);
+
+            String name = "seed-team-" + random.nextInt(Integer.MAX_VALUE);
+            Team team = transactionTemplate.execute(status -> teamRepository.save(new TeamBuilder()
+                    .withName(name)
+                    .build(userRepository.getById(members.get(0)))));
+            for (int start = 0; start < members.size(); start += BATCH) {
+                List<Long> chunk = members.subList(start, Math.min(start + BATCH, members.size()));
+                transactionTemplate.executeWithoutResult(status -> teamUserRepository.insertAll(team.getId(), chunk));
+            }
+            memberships += members.size();
+        }
+        return memberships;
+    }
+
+    private int teamSize() {
+        double u = 1.0 - random.nextDouble();
+        return (int) Math.max(2, Math.round(options.minTeamSize / Math.pow(u, 1.0 / options.teamSizeAlpha)));
+    }
+
+    /**
+     * 사용자당 일정 수는 평균이 schedules-per-user 인 지수 분포이고,
+     * 시작 시각은 기준일 전후 days 일 안의 업무 시간(9~18시)에 몰린다.
+     */
+    private long seedSchedules(List<Long> userIds) {
+        LocalDateTime base = LocalDate.now().minusDays(options.days / 2).atStartOfDay();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        User owner = new UserBuilder().build();
+        List<Object[]> rows = new ArrayList<>();
+        long total = 0;
+
+        for (Long userId : userIds) {
+            int count = (int) Math.round(-options.schedulesPerUser * Math.log(1.0 - random.nextDouble()));
+            for (int i = 0; i < count; i++) {
+                int hour = random.nextInt(10) < 8 ? 9 + random.nextInt(9) : random.nextInt(24);
+                LocalDateTime start = base.plusDays(random.nextInt(options.days)).plusHours(hour).plusMinutes(30L * random.nextInt(2));
+                Schedule schedule = new ScheduleBuilder()
+                        .withStartAndEnd(start, start.plusMinutes(30L * (1 + random.nextInt(6))))
+                        .withUser(owner)
+                        .build();
+                rows.add(new Object[]{now, now, Timestamp.valueOf(schedule.getStart()), Timestamp.valueOf(schedule.getEnd()),
+                        schedule.getTitle(), schedule.getDescription(), userId});
+                if (rows.size() == BATCH) {
+                    total += insertSchedules(rows, owner);
+                }
+            }
+        }
+        return total + insertSchedules(rows, owner);
+    }
+
+    private int insertSchedules(List<Object[]> rows, User owner) {
+        int size = rows.size();
+        if (size > 0) {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SCHEDULE, rows));
+            rows.clear();
+            owner.getSchedules().clear();
+        }
+        return size;
+    }
+
+    private String randomName(int n) {
+        String[] names = {"kim", "lee", "park", "choi", "jung", "kang", "cho", "yoon", "jang", "lim"};
+        return names[random.nextInt(names.length)] + n;
+    }
+
+    static class Options {
+        int users = 10000;
+        int teams = 1000;
+        int minTeamSize = 3;
+        int maxTeamSize = 5000;
+        double teamSizeAlpha = 1.2;
+        int schedulesPerUser = 20;
+        int days = 90;
+        long seed = 42L;
+        boolean serve;
+        String[] springArgs = new String[0];
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            List<String> springArgs = new ArrayList<>();
+            for (String arg : args) {
+                String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+                String value = pair.length > 1 ? pair[1] : "true";
+                switch (pair[0]) {
+                    case "users": options.users = Integer.parseInt(value); break;
+                    case "teams": options.teams = Integer.parseInt(value); break;
+                    case "min-team-size": options.minTeamSize = Integer.parseInt(value); break;
+                    case "max-team-size": options.maxTeamSize = Integer.parseInt(value); break;
+                    case "team-size-alpha": options.teamSizeAlpha = Double.parseDouble(value); break;
+                    case "schedules-per-user": options.schedulesPerUser = Integer.parseInt(value); break;
+                    case "days": options.days = Integer.parseInt(value); break;
+                    case "seed": options.seed = Long.parseLong(value); break;
+                    case "serve": options.serve = Boolean.parseBoolean(value); break;
+                    default: springArgs.add(arg);
+                }
+            }
+            options.springArgs = springArgs.toArray(new String[0]);
+            return options;
+        }
+    }
+}
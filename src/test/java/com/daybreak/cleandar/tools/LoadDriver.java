@@ -0,0 +1,261 @@
+package com.daybreak.cleandar.tools;
+
+import java.io.*;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * DatasetSeeder 로 넣은 사용자로 로그인해서 실제 화면과 같은 요청을 섞어 보내고
+ * 요청 종류별 p50/p99 지연과 처리량을 출력한다. 외부 라이브러리 없이 HttpURLConnection 만 쓴다.
+ *
+ * <pre>
+ * ./gradlew loadTest --args='--base-url=http://localhost:8080 --users=10000 --threads=32 --duration=60 --warmup=10'
+ * </pre>
+ */
+public class LoadDriver {
+
+    private static final Pattern CSRF = Pattern.compile("name=\"_csrf\"\\s+value=\"([^\"]+)\"");
+    private static final Pattern TEAM_LINK = Pattern.compile("/teams/(\\d+)\"");
+    private static final String[] WORDS = {"k", "ki", "kim", "lee", "park1", "cho", "yoon2", "user1", "user12"};
+
+    private final Options options;
+    private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+    private volatile boolean measuring;
+
+    LoadDriver(Options options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new LoadDriver(Options.parse(args)).run();
+    }
+
+    void run() throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(options.warmup + options.duration);
+        ExecutorService executor = Executors.newFixedThreadPool(options.threads);
+        for (int i = 0; i < options.threads; i++) {
+            long seed = options.seed + i;
+            executor.submit(() -> drive(new Random(seed), deadline));
+        }
+
+        TimeUnit.SECONDS.sleep(options.warmup);
+        measuring = true;
+        long started = System.nanoTime();
+        executor.shutdown();
+        executor.awaitTermination(options.duration + 60L, TimeUnit.SECONDS);
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        report(seconds);
+    }
+
+    /**
+     * 가상 사용자 하나가 로그인 후 session 이 끝날 때까지 요청을 보낸다. 가끔 다시 로그인한다.
+     */
+    private void drive(Random random, long deadline) {
+        Session session = null;
+        while (System.nanoTime() < deadline) {
+            try {
+                if (session == null || random.nextInt(100) < options.loginPercent) {
+                    session = login(random);
+                    continue;
+                }
+                int dice = random.nextInt(100);
+                if (dice < 45) {
+                    session.get("schedules", "/schedules");
+                } else if (dice < 65 && !session.teamIds.isEmpty()) {
+                    session.get("teams/{id}", "/teams/" + pick(random, session.teamIds));
+                } else if (dice < 80 && !session.teamIds.isEmpty()) {
+                    LocalDateTime start = LocalDate.now().plusDays(random.nextInt(14) - 7L).atTime(9, 0);
+                    session.get("schedules/candidates", "/schedules/candidates?teamId=" + pick(random, session.teamIds)
+                            + "&start=" + start + "&end=" + start.plusDays(5).withHour(18));
+                } else {
+                    session.get("users/search", "/users/search?word=" + URLEncoder.encode(WORDS[random.nextInt(WORDS.length)], "UTF-8"));
+                }
+            } catch (IOException exception) {
+                session = null;
+            }
+        }
+    }
+
+    private Session login(Random random) throws IOException {
+        Session session = new Session();
+        String page = session.request("GET", "/login", null, null);
+        Matcher matcher = CSRF.matcher(page);
+        String token = matcher.find() ? matcher.group(1) : "";
+        String email = String.format(DatasetSeeder.EMAIL_FORMAT, random.nextInt(options.users));
+        String form = "email=" + URLEncoder.encode(email, "UTF-8")
+                + "&password=" + URLEncoder.encode(options.password, "UTF-8")
+                + "&_csrf=" + URLEncoder.encode(token, "UTF-8");
+
+        long started = System.nanoTime();
+        session.request("POST", "/login", form, "application/x-www-form-urlencoded");
+        boolean failed = session.location == null || session.location.contains("error");
+        record("login", System.nanoTime() - started, failed);
+        if (failed) {
+            throw new IOException("login failed for " + email);
+        }
+
+        Matcher teams = TEAM_LINK.matcher(session.request("GET", "/teams", null, null));
+        while (teams.find()) {
+            session.teamIds.add(Long.parseLong(teams.group(1)));
+        }
+        return session;
+    }
+
+    private static Long pick(Random random, List<Long> ids) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private void record(String name, long nanos, boolean failed) {
+        if (measuring) {
+            recorders.computeIfAbsent(name, key -> new Recorder()).add(nanos, failed);
+        }
+    }
+
+    private void report(double seconds) {
+        System.out.printf("%-22s %9s %7s %10s %10s %10s %10s%n", "request", "count", "errors", "req/s", "p50(ms)", "p99(ms)", "max(ms)");
+        long total = 0;
+        for (Map.Entry<String, Recorder> entry : new TreeMap<>(recorders).entrySet()) {
+            Recorder recorder = entry.getValue();
+            long[] sorted = recorder.sorted();
+            total += sorted.length;
+            System.out.printf("%-22s %9d %7d %10.1f %10.2f %10.2f %10.2f%n", entry.getKey(), sorted.length, recorder.errors,
+                    sorted.length / seconds, percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 1.0));
+        }
+        System.out.printf("total %d requests in %.1fs, %.1f req/s with %d threads%n", total, seconds, total / seconds, options.threads);
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+    private static class Recorder {
+        private long[] nanos = new long[1024];
+        private int size;
+        private int errors;
+
+        synchronized void add(long value, boolean failed) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = value;
+            if (failed) {
+                errors++;
+            }
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(nanos, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+
+    /**
+     * 쿠키는 세션 쿠키 하나만 있으면 되므로 CookieManager 대신 직접 들고 다닌다.
+     * Spring Session 을 쓰면 SESSION, 컨테이너 세션이면 JSESSIONID 다.
+     */
+    private class Session {
+        private final List<Long> teamIds = new ArrayList<>();
+        private String cookie;
+        private String location;
+        private int lastStatus;
+
+        void get(String name, String path) throws IOException {
+            long started = System.nanoTime();
+            int status = 0;
+            try {
+                request("GET", path, null, null);
+                status = lastStatus;
+            } finally {
+                record(name, System.nanoTime() - started, status < 200 || status >= 300);
+            }
+        }
+
+        String request(String method, String path, String body, String contentType) throws IOException {
+            HttpURLConnection connection = (HttpURLConnection) new URL(options.baseUrl + path).openConnection();
+            connection.setInstanceFollowRedirects(false);
+            connection.setRequestMethod(method);
+            connection.setConnectTimeout(5000);
+            connection.setReadTimeout(30000);
+            if (cookie != null) {
+                connection.setRequestProperty("Cookie", cookie);
+            }
+            if (body != null) {
+                connection.setDoOutput(true);
+                connection.setRequestProperty("Content-Type", contentType);
+                try (OutputStream out = connection.getOutputStream()) {
+                    out.write(body.getBytes(StandardCharsets.UTF_8));
+                }
+            }
+
+            lastStatus = connection.getResponseCode();
+            location = connection.getHeaderField("Location");
+            List<String> setCookies = connection.getHeaderFields().get("Set-Cookie");
+            if (setCookies != null) {
+                for (String setCookie : setCookies) {
+                    if (setCookie.startsWith("SESSION=") || setCookie.startsWith("JSESSIONID=")) {
+                        cookie = setCookie.split(";", 2)[0];
+                    }
+                }
+            }
+
+            InputStream in = lastStatus >= 400 ? connection.getErrorStream() : connection.getInputStream();
+            if (in == null) {
+                return "";
+            }
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+                StringBuilder builder = new StringBuilder();
+                char[] buffer = new char[8192];
+                int read;
+                while ((read = reader.read(buffer)) != -1) {
+                    builder.append(buffer, 0, read);
+                }
+                return builder.toString();
+            }
+        }
+    }
+
+    static class Options {
+        String baseUrl = "http://localhost:8080";
+        String password = DatasetSeeder.PASSWORD;
+        int users = 10000;
+        int threads = 16;
+        int duration = 60;
+        int warmup = 10;
+        int loginPercent = 2;
+        long seed = 7L;
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (String arg : args) {
+                String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+                String value = pair.length > 1 ? pair[1] : "";
+                switch (pair[0]) {
+                    case "base-url": options.baseUrl = value; break;
+                    case "password": options.password = value; break;
+                    case "users": options.users = Integer.parseInt(value); break;
+                    case "threads": options.threads = Integer.parseInt(value); break;
+                    case "duration": options.duration = Integer.parseInt(value); break;
+                    case "warmup": options.warmup = Integer.parseInt(value); break;
+                    case "login-percent": options.loginPercent = Integer.parseInt(value); break;
+                    case "seed": options.seed = Long.parseLong(value); break;
+                    default: throw new IllegalArgumentException("unknown option " + arg);
+                }
+            }
+            return options;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.daybreak.cleandar.tools;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 애플리케이션을 새 JVM 으로 여러 번 띄우고, 프로세스를 만든 시점부터 /login 이 처음 200 을 돌려줄 때까지 걸린 시간을 잰다.
+ * JVM 시작, 클래스 로딩, 스프링 컨텍스트, 첫 요청의 렌더링까지 모두 들어간다.
+ *
+ * <pre>
+ * ./gradlew startupTime --args='--runs=5'
+ * ./gradlew cdsArchive startupTime --args='--runs=5 --profile=fast-startup --cds=build/cds/cleandar.jsa'
+ * </pre>
+ */
+public class StartupProbe {
+
+    private static final String MAIN = "com.daybreak.cleandar.CleandarServerApplication";
+
+    private final Options options;
+
+    StartupProbe(Options options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new StartupProbe(Options.parse(args)).run();
+    }
+
+    void run() throws Exception {
+        List<Long> samples = new ArrayList<>();
+        for (int i = 0; i < options.runs; i++) {
+            long millis = probe();
+            samples.add(millis);
+            System.out.printf("run %d: %d ms%n", i + 1, millis);
+        }
+
+        Collections.sort(samples);
+        System.out.printf("%ntime to first request profile=%s cds=%s runs=%d min=%d ms median=%d ms max=%d ms%n",
+                options.profile.isEmpty() ? "default" : options.profile, options.cds.isEmpty() ? "off" : options.cds,
+                samples.size(), samples.get(0), samples.get(samples.size() / 2), samples.get(samples.size() - 1));
+    }
+
+    private long probe() throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        if (!options.cds.isEmpty()) {
+            command.add("-XX:SharedArchiveFile=" + options.cds);
+            command.add("-Xshare:auto");
+        }
+        command.add("-cp");
+        command.add(options.classpath);
+        command.add(MAIN);
+        command.add("--server.port=" + port);
+        if (!options.profile.isEmpty()) {
+            command.add("--spring.profiles.active=" + options.profile);
+        }
+
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(new File(options.log))).start();
+        try {
+            long deadline = started + TimeUnit.SECONDS.toNanos(options.timeout);
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("application exited with " + process.exitValue() + ", see " + options.log);
+                }
+                if (ok(new URL("http://localhost:" + port + "/login"))) {
+                    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+                }
+                TimeUnit.MILLISECONDS.sleep(10);
+            }
+            throw new IllegalStateException("no response within " + options.timeout + "s, see " + options.log);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static boolean ok(URL url) {
+        try {
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            connection.setConnectTimeout(200);
+            connection.setReadTimeout(30000);
+            try {
+                return connection.getResponseCode() == 200;
+            } finally {
+                connection.disconnect();
+            }
+        } catch (IOException notYet) {
+            return false;
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    static class Options {
+        String classpath = System.getProperty("cleandar.startup.classpath", System.getProperty("java.class.path"));
+        String profile = "";
+        String cds = "";
+        String log = "build/startup-probe.log";
+        int runs = 5;
+        int timeout = 120;
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (String arg : args) {
+                String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+                String value = pair.length > 1 ? pair[1] : "";
+                switch (pair[0]) {
+                    case "classpath": options.classpath = value; break;
+                    case "profile": options.profile = value; break;
+                    case "cds": options.cds = value; break;
+                    case "log": options.log = value; break;
+                    case "runs": options.runs = Integer.parseInt(value); break;
+                    case "timeout": options.timeout = Integer.parseInt(value); break;
+                    default: throw new IllegalArgumentException("unknown option " + arg);
+                }
+            }
+            return options;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.daybreak.cleandar.view;
+
+import com.daybreak.cleandar.builder.UserBuilder;
+import com.daybreak.cleandar.domain.schedule.ScheduleDto;
+import com.daybreak.cleandar.domain.team.Team;
+import com.daybreak.cleandar.domain.team.TeamDto;
+import com.daybreak.cleandar.domain.team.TeamRepository;
+import com.daybreak.cleandar.domain.team.TeamService;
+import com.daybreak.cleandar.domain.teamuser.TeamUserRepository;
+import com.daybreak.cleandar.domain.user.User;
+import com.daybreak.cleandar.domain.user.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+@SpringBootTest
+class RenderedFragmentCacheTest {
+
+    @Autowired
+    private RenderedFragmentCache renderedFragmentCache;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private TeamService teamService;
+    @Autowired
+    private TeamRepository teamRepository;
+    @Autowired
+    private TeamUserRepository teamUserRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("render schedule card once per version")
+    void scheduleCard() {
+        ScheduleDto.Response schedule = schedule(1001L, "2022-03-07T09:00", "v1");
+        double misses = misses();
+
+        String html = renderedFragmentCache.scheduleCard(schedule);
+        Assertions.assertTrue(html.contains("2022-03-07 09:00"));
+        Assertions.assertTrue(html.contains("<b>10:00</b>"));
+        Assertions.assertTrue(html.contains("&lt;script&gt;"));
+        Assertions.assertSame(html, renderedFragmentCache.scheduleCard(schedule));
+        Assertions.assertEquals(misses + 1, misses());
+
+        Assertions.assertNotEquals(html, renderedFragmentCache.scheduleCard(schedule(1001L, "2022-03-08T09:00", "v2")));
+        Assertions.assertEquals(misses + 2, misses());
+
+        renderedFragmentCache.evictSchedule(1001L);
+        renderedFragmentCache.scheduleCard(schedule(1001L, "2022-03-08T09:00", "v2"));
+        Assertions.assertEquals(misses + 3, misses());
+    }
+
+    @Test
+    @DisplayName("render team members once per members version")
+    void teamMembers() {
+        List<TeamDto.Member> members = new ArrayList<>();
+        members.add(new TeamDto.Member(1L, 10L, "kim", "kim@example.com", "ACCEPT"));
+        double misses = misses();
+
+        String html = renderedFragmentCache.teamMembers(new TeamDto.Detail(2001L, "team", null, members, 1L));
+        Assertions.assertTrue(html.contains("kim@example.com"));
+        Assertions.assertSame(html, renderedFragmentCache.teamMembers(new TeamDto.Detail(2001L, "team", null, new ArrayList<>(members), 1L)));
+        Assertions.assertEquals(misses + 1, misses());
+
+        members.add(new TeamDto.Member(2L, 20L, "lee", "lee@example.com", "WAIT"));
+        Assertions.assertTrue(renderedFragmentCache.teamMembers(new TeamDto.Detail(2001L, "team", null, members, 2L)).contains("lee@example.com"));
+        Assertions.assertEquals(misses + 2, misses());
+    }
+
+    @Test
+    @DisplayName("inviting members bumps the team members version")
+    void membersVersion() {
+        User leader = userRepository.save(new UserBuilder().withEmail("leader@fragment.com").build());
+        User member = userRepository.save(new UserBuilder().withEmail("member@fragment.com").build());
+        try {
+            Team team = teamService.create(TeamDto.Request.builder().name("fragment-team").leader(leader).build());
+            TeamDto.Detail created = teamService.detail(team.getId());
+            Assertions.assertFalse(renderedFragmentCache.teamMembers(created).contains("member@fragment.com"));
+
+            teamService.invite(leader, team.getId(), Collections.singletonList(member.getId()));
+            TeamDto.Detail invited = teamService.detail(team.getId());
+            Assertions.assertTrue(invited.getMembersVersion() > created.getMembersVersion());
+            Assertions.assertTrue(renderedFragmentCache.teamMembers(invited).contains("member@fragment.com"));
+        } finally {
+            teamUserRepository.deleteAll();
+            teamRepository.deleteAll();
+            userRepository.deleteAll();
+        }
+    }
+
+    private double misses() {
+        return meterRegistry.counter("cleandar.fragment.cache", "result", "miss").count();
+    }
+
+    private static ScheduleDto.Response schedule(Long id, String start, String version) {
+        String end = start.substring(0, 11) + "10:00";
+        return new ScheduleDto.Response(id, null, start, end, null, null, "title", "<script>", null, version);
+    }
+}